@@ -5,8 +5,6 @@ package fit;
 
 import java.lang.reflect.Field;
 import java.lang.reflect.Method;
-import java.util.ArrayList;
-import java.util.List;
 import java.util.regex.Matcher;
 import java.util.regex.Pattern;
 
@@ -15,8 +13,6 @@ import fit.exception.NoSuchFieldFitFailureException;
 import fit.exception.NoSuchMethodFitFailureException;
 import util.GracefulNamer;
 
-import static java.util.Arrays.asList;
-
 public abstract class Binding {
   private static final Pattern regexMethodPattern = Pattern.compile("(.+)(?:\\?\\?|!!)");
   private static final Pattern methodPattern = Pattern.compile("(.+)(?:\\(\\)|\\?|!)");
@@ -60,24 +56,16 @@ public abstract class Binding {
   }
 
   private static TypeAdapter makeAdapterForField(String name, Fixture fixture) {
-    Field field = null;
+    Field field;
+    ClassBindings bindings = ClassBindings.of(fixture.getTargetClass());
     if (GracefulNamer.isGracefulName(name)) {
       String simpleName = GracefulNamer.disgrace(name).toLowerCase();
-      field = findField(fixture, simpleName);
+      field = bindings.findFieldIgnoringCase(simpleName);
     } else {
       Matcher matcher = fieldPattern.matcher(name);
       matcher.find();
       String fieldName = matcher.group(1);
-      Class<?> clazz = fixture.getTargetClass();
-      try {
-        field = clazz.getField(fieldName);
-      }
-      catch (NoSuchFieldException e) {
-        try {
-          field = getField(clazz, fieldName);
-        } catch (NoSuchFieldException e2) {
-        }
-      }
+      field = bindings.getField(fieldName);
     }
 
     if (field == null)
@@ -85,19 +73,6 @@ public abstract class Binding {
     return TypeAdapter.on(fixture, field);
   }
 
-  private static Field getField(Class<?> clazz, String fieldName) throws NoSuchFieldException {
-    try {
-      return clazz.getDeclaredField(fieldName);
-    } catch (NoSuchFieldException e) {
-      Class<?> superClass = clazz.getSuperclass();
-      if (superClass == null) {
-        throw e;
-      } else {
-        return getField(superClass, fieldName);
-      }
-    }
-  }
-
   private static TypeAdapter makeAdapterForMethod(String name, Fixture fixture, Matcher matcher) {
     return makeAdapterForMethod(name, fixture, matcher, false);
   }
@@ -116,55 +91,14 @@ public abstract class Binding {
   }
 
   private static Method getMethod(String name, Fixture fixture, Matcher matcher) {
-    Method method = null;
+    ClassBindings bindings = ClassBindings.of(fixture.getTargetClass());
     if (GracefulNamer.isGracefulName(name)) {
       String simpleName = GracefulNamer.disgrace(name).toLowerCase();
-      method = findMethod(fixture, simpleName);
+      return bindings.findMethodIgnoringCase(simpleName);
     } else {
-      try {
-        String methodName = matcher.group(1);
-        Class<?> targetClass = fixture.getTargetClass();
-        method = targetClass.getMethod(methodName, new Class[]{});
-      }
-      catch (NoSuchMethodException e) {
-      }
-    }
-
-    return method;
-  }
-
-  private static Field findField(Fixture fixture, String simpleName) {
-    List<Field> fields = getAllDeclaredFields(fixture.getTargetClass());
-    Field field = null;
-    for (Field possibleField : fields) {
-      if (simpleName.equalsIgnoreCase(possibleField.getName())) {
-        field = possibleField;
-        break;
-      }
-    }
-    return field;
-  }
-
-  private static List<Field> getAllDeclaredFields(Class<?> clazz){
-    if (clazz.getSuperclass() != null) {
-      List<Field> fields = getAllDeclaredFields(clazz.getSuperclass());
-      fields.addAll(asList(clazz.getDeclaredFields()));
-      return fields;
-    } else {
-      return new ArrayList<>(asList(clazz.getDeclaredFields()));
-    }
-  }
-
-  private static Method findMethod(Fixture fixture, String simpleName) {
-    Method[] methods = fixture.getTargetClass().getMethods();
-    Method method = null;
-    for (Method possibleMethod : methods) {
-      if (simpleName.equalsIgnoreCase(possibleMethod.getName())) {
-        method = possibleMethod;
-        break;
-      }
+      String methodName = matcher.group(1);
+      return bindings.getMethod(methodName);
     }
-    return method;
   }
 
   public abstract void doCell(Fixture fixture, Parse cell) throws Throwable;
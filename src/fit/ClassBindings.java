@@ -0,0 +1,126 @@
+package fit;
+
+import java.lang.reflect.Field;
+import java.lang.reflect.Method;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+import static java.util.Arrays.asList;
+
+/**
+ * The fields and methods of a class that columns and cells are bound to, looked up once per class.
+ * Misses are remembered as well, so a table with an unknown column does not repeat the search either.
+ */
+final class ClassBindings {
+  private static final ClassValue<ClassBindings> BINDINGS = new ClassValue<ClassBindings>() {
+    @Override
+    protected ClassBindings computeValue(Class<?> type) {
+      return new ClassBindings(type);
+    }
+  };
+
+  private final Class<?> type;
+  private final ConcurrentMap<String, Optional<Field>> fields = new ConcurrentHashMap<>();
+  private final ConcurrentMap<String, Optional<Field>> fieldsIgnoringCase = new ConcurrentHashMap<>();
+  private final ConcurrentMap<String, Optional<Method>> methods = new ConcurrentHashMap<>();
+  private final ConcurrentMap<String, Optional<Method>> methodsIgnoringCase = new ConcurrentHashMap<>();
+  private volatile Optional<Method> parseMethod;
+
+  private ClassBindings(Class<?> type) {
+    this.type = type;
+  }
+
+  static ClassBindings of(Class<?> type) {
+    return BINDINGS.get(type);
+  }
+
+  /**
+   * @return the public field, or else the field declared by the class or one of its super classes.
+   */
+  Field getField(String name) {
+    return fields.computeIfAbsent(name, n -> Optional.ofNullable(lookupField(n))).orElse(null);
+  }
+
+  private Field lookupField(String name) {
+    try {
+      return type.getField(name);
+    } catch (NoSuchFieldException e) {
+      for (Class<?> clazz = type; clazz != null; clazz = clazz.getSuperclass()) {
+        try {
+          return clazz.getDeclaredField(name);
+        } catch (NoSuchFieldException e2) {
+          // try the super class
+        }
+      }
+      return null;
+    }
+  }
+
+  /**
+   * @return the first declared field with this name, ignoring case; fields of super classes come first.
+   */
+  Field findFieldIgnoringCase(String simpleName) {
+    return fieldsIgnoringCase.computeIfAbsent(simpleName.toLowerCase(), n -> {
+      for (Field field : getAllDeclaredFields(type)) {
+        if (n.equalsIgnoreCase(field.getName()))
+          return Optional.of(field);
+      }
+      return Optional.empty();
+    }).orElse(null);
+  }
+
+  private static List<Field> getAllDeclaredFields(Class<?> clazz) {
+    if (clazz.getSuperclass() != null) {
+      List<Field> fields = getAllDeclaredFields(clazz.getSuperclass());
+      fields.addAll(asList(clazz.getDeclaredFields()));
+      return fields;
+    } else {
+      return new ArrayList<>(asList(clazz.getDeclaredFields()));
+    }
+  }
+
+  /**
+   * @return the public method without parameters.
+   */
+  Method getMethod(String name) {
+    return methods.computeIfAbsent(name, n -> {
+      try {
+        return Optional.of(type.getMethod(n));
+      } catch (NoSuchMethodException e) {
+        return Optional.empty();
+      }
+    }).orElse(null);
+  }
+
+  /**
+   * @return the first public method with this name, ignoring case.
+   */
+  Method findMethodIgnoringCase(String simpleName) {
+    return methodsIgnoringCase.computeIfAbsent(simpleName.toLowerCase(), n -> {
+      for (Method method : type.getMethods()) {
+        if (n.equalsIgnoreCase(method.getName()))
+          return Optional.of(method);
+      }
+      return Optional.empty();
+    }).orElse(null);
+  }
+
+  /**
+   * @return the public <code>parse(String)</code> method.
+   */
+  Method getParseMethod() {
+    Optional<Method> result = parseMethod;
+    if (result == null) {
+      try {
+        result = Optional.of(type.getMethod("parse", String.class));
+      } catch (NoSuchMethodException e) {
+        result = Optional.empty();
+      }
+      parseMethod = result;
+    }
+    return result.orElse(null);
+  }
+}
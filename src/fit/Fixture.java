@@ -322,7 +322,11 @@ public class Fixture {
   }
 
   public String[] getArgs() {
-    return Arrays.copyOf(args, args.length);
+    return args == null ? null : Arrays.copyOf(args, args.length);
+  }
+
+  public void setArgs(String[] args) {
+    this.args = args == null ? null : Arrays.copyOf(args, args.length);
   }
 
   public static void setSymbol(String name, Object value) {
@@ -338,18 +342,13 @@ public class Fixture {
   }
 
   public static boolean hasParseMethod(Class<?> type) {
-    try {
-      type.getMethod("parse", new Class<?>[]
-        {String.class});
-      return true;
-    } catch (NoSuchMethodException e) {
-      return false;
-    }
+    return ClassBindings.of(type).getParseMethod() != null;
   }
 
   public static Object callParseMethod(Class<?> type, String s) throws Exception {
-    Method parseMethod = type.getMethod("parse", new Class<?>[]
-      {String.class});
+    Method parseMethod = ClassBindings.of(type).getParseMethod();
+    if (parseMethod == null)
+      throw new NoSuchMethodException(type.getName() + ".parse(java.lang.String)");
     Object o = parseMethod.invoke(null, new Object[]
       {s});
     return o;
@@ -7,6 +7,8 @@ package fit;
 // Released under the terms of the GNU General Public License version 2 or later.
 
 import java.io.PrintWriter;
+import java.util.ArrayDeque;
+import java.util.Deque;
 
 import fit.exception.FitParseException;
 
@@ -42,37 +44,156 @@ public class Parse {
   }
 
   public Parse(String text, String[] tags, int level, int offset) throws FitParseException {
-    String lc = text.toLowerCase();
-    int startTag = lc.indexOf("<" + tags[level]);
-    int endTag = lc.indexOf(">", startTag) + 1;
-//		int startEnd = lc.indexOf("</" + tags[level], endTag);
-    int startEnd = findMatchingEndTag(lc, endTag, tags[level], offset);
-    int endEnd = lc.indexOf(">", startEnd) + 1;
-    int startMore = lc.indexOf("<" + tags[level], endEnd);
-    if (startTag < 0 || endTag < 0 || startEnd < 0 || endEnd < 0) {
-      throw new FitParseException("Can't find tag: " + tags[level], offset);
+    new Scanner(text, tags, offset).scan(this, level);
+  }
+
+  private Parse() {
+  }
+
+  /**
+   * Splits a document into the tree of tables, rows and cells in a single pass:
+   * the text is lower-cased once, all positions are absolute and the sibling and
+   * child chains are built from an explicit work stack instead of by recursion.
+   */
+  private static final class Scanner {
+    private final String text;
+    private final String lc;
+    private final String[] tags;
+    private final int offset;
+
+    Scanner(String text, String[] tags, int offset) {
+      this.text = text;
+      this.lc = lowerCase(text);
+      this.tags = tags;
+      this.offset = offset;
+    }
+
+    void scan(Parse root, int level) throws FitParseException {
+      Deque<Section> work = new ArrayDeque<>();
+      work.push(new Section(root, 0, text.length(), level));
+      while (!work.isEmpty()) {
+        scan(work.pop(), work);
+      }
+    }
+
+    private void scan(Section section, Deque<Section> work) throws FitParseException {
+      Parse parse = section.parse;
+      int from = section.from;
+      int to = section.to;
+      int level = section.level;
+      String tag = tags[level];
+
+      int startTag = indexOf(lc, "<" + tag, from, to);
+      if (startTag < 0)
+        throw cantFind(tag, from);
+      int endTag = indexOf(lc, '>', startTag, to) + 1;
+      if (endTag == 0)
+        throw cantFind(tag, from);
+      int startEnd = findMatchingEndTag(tag, endTag, from, to);
+      int endEnd = indexOf(lc, '>', startEnd, to) + 1;
+      if (endEnd == 0)
+        throw cantFind(tag, from);
+      int startMore = indexOf(lc, "<" + tag, endEnd, to);
+
+      parse.leader = text.substring(from, startTag);
+      parse.tag = text.substring(startTag, endTag);
+      parse.end = text.substring(startEnd, endEnd);
+
+      // Siblings are pushed first, so the children of this element are done before them
+      if (startMore >= 0) {
+        parse.more = new Parse();
+        work.push(new Section(parse.more, endEnd, to, level));
+      } else {
+        parse.trailer = text.substring(endEnd, to);
+      }
+
+      if (level + 1 < tags.length) {
+        parse.parts = new Parse();
+        work.push(new Section(parse.parts, endTag, startEnd, level + 1));
+      } else if (indexOf(text, "<" + tags[0], endTag, startEnd) >= 0) { // Check for nested table
+        parse.body = "";
+        parse.parts = new Parse();
+        work.push(new Section(parse.parts, endTag, startEnd, 0));
+      } else {
+        parse.body = text.substring(endTag, startEnd);
+      }
     }
 
-    leader = text.substring(0, startTag);
-    tag = text.substring(startTag, endTag);
-    body = text.substring(endTag, startEnd);
-    end = text.substring(startEnd, endEnd);
-    trailer = text.substring(endEnd);
-
-    if (level + 1 < tags.length) {
-      parts = new Parse(body, tags, level + 1, offset + endTag);
-      body = null;
-    } else { // Check for nested table
-      int index = body.indexOf("<" + tags[0]);
-      if (index >= 0) {
-        parts = new Parse(body, tags, 0, offset + endTag);
-        body = "";
+    private int findMatchingEndTag(String tag, int matchFromHere, int from, int to) throws FitParseException {
+      String openTag = "<" + tag;
+      String closeTag = "</" + tag;
+      int fromHere = matchFromHere;
+      int count = 1;
+      int startEnd = 0;
+      // Positions of the next opening and closing tag are remembered until they have been passed
+      int embeddedTag = indexOf(lc, openTag, fromHere, to);
+      int embeddedTagEnd = indexOf(lc, closeTag, fromHere, to);
+      while (count > 0) {
+        if (embeddedTag >= 0 && embeddedTag < fromHere)
+          embeddedTag = indexOf(lc, openTag, fromHere, to);
+        if (embeddedTagEnd >= 0 && embeddedTagEnd < fromHere)
+          embeddedTagEnd = indexOf(lc, closeTag, fromHere, to);
+        if (embeddedTag < 0 && embeddedTagEnd < 0)
+          throw cantFind(tag, from);
+        if (embeddedTagEnd < 0 || (embeddedTag >= 0 && embeddedTag < embeddedTagEnd)) {
+          count++;
+          startEnd = embeddedTag;
+        } else {
+          count--;
+          startEnd = embeddedTagEnd;
+        }
+        fromHere = indexOf(lc, '>', startEnd, to) + 1;
+        if (fromHere == 0)
+          throw cantFind(tag, from);
+      }
+      return startEnd;
+    }
+
+    private FitParseException cantFind(String tag, int from) {
+      return new FitParseException("Can't find tag: " + tag, offset + from);
+    }
+
+    private static String lowerCase(String text) {
+      String lowerCase = text.toLowerCase();
+      if (lowerCase.length() == text.length())
+        return lowerCase;
+      // Some characters expand when lower-cased; keep positions aligned with the original text
+      char[] chars = text.toCharArray();
+      for (int i = 0; i < chars.length; i++)
+        chars[i] = Character.toLowerCase(chars[i]);
+      return new String(chars);
+    }
+
+    private static int indexOf(String s, char c, int from, int to) {
+      for (int i = from; i < to; i++) {
+        if (s.charAt(i) == c)
+          return i;
       }
+      return -1;
     }
 
-    if (startMore >= 0) {
-      more = new Parse(trailer, tags, level, offset + endEnd);
-      trailer = null;
+    private static int indexOf(String s, String pattern, int from, int to) {
+      char first = pattern.charAt(0);
+      int last = to - pattern.length();
+      for (int i = from; i <= last; i++) {
+        if (s.charAt(i) == first && s.regionMatches(i, pattern, 0, pattern.length()))
+          return i;
+      }
+      return -1;
+    }
+  }
+
+  private static final class Section {
+    private final Parse parse;
+    private final int from;
+    private final int to;
+    private final int level;
+
+    Section(Parse parse, int from, int to, int level) {
+      this.parse = parse;
+      this.from = from;
+      this.to = to;
+      this.level = level;
     }
   }
 
@@ -105,19 +226,31 @@ public class Parse {
   }
 
   public int size() {
-    return more == null ? 1 : more.size() + 1;
+    int size = 1;
+    for (Parse p = more; p != null; p = p.more)
+      size++;
+    return size;
   }
 
   public Parse last() {
-    return more == null ? this : more.last();
+    Parse last = this;
+    while (last.more != null)
+      last = last.more;
+    return last;
   }
 
   public Parse leaf() {
-    return parts == null ? this : parts.leaf();
+    Parse leaf = this;
+    while (leaf.parts != null)
+      leaf = leaf.parts;
+    return leaf;
   }
 
   public Parse at(int i) {
-    return i == 0 || more == null ? this : more.at(i - 1);
+    Parse p = this;
+    for (int n = i; n != 0 && p.more != null; n--)
+      p = p.more;
+    return p;
   }
 
   public Parse at(int i, int j) {
@@ -182,18 +315,18 @@ public class Parse {
   }
 
   public void print(PrintWriter out) {
-    out.print(leader);
-    out.print(tag);
-    if (parts != null) {
-      parts.print(out);
-    } else {
-      out.print(body);
-    }
-    out.print(end);
-    if (more != null) {
-      more.print(out);
-    } else {
-      out.print(trailer);
+    for (Parse p = this; p != null; p = p.more) {
+      out.print(p.leader);
+      out.print(p.tag);
+      if (p.parts != null) {
+        p.parts.print(out);
+      } else {
+        out.print(p.body);
+      }
+      out.print(p.end);
+      if (p.more == null) {
+        out.print(p.trailer);
+      }
     }
   }
 }
@@ -0,0 +1,29 @@
+package fit.decorator.performance;
+
+import fit.Parse;
+import fit.decorator.exceptions.InvalidInputException;
+import fit.decorator.util.Timer;
+
+/**
+ * <code>|Load|100|times|4|threads|10|warm up runs|</code>
+ */
+public class Load extends LoadBasedFixtureDecorator {
+
+  public Load() {
+    super();
+  }
+
+  Load(Timer stopWatch) {
+    super(stopWatch);
+  }
+
+  @Override
+  protected void setupDecorator(String[] arguments) throws InvalidInputException {
+    setupLoad(arguments, 3, "Times, threads and warm up runs must be specified");
+  }
+
+  @Override
+  protected void checkResults(Parse table) {
+    // Nothing to do
+  }
+}
@@ -0,0 +1,203 @@
+package fit.decorator.performance;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import fit.Counts;
+import fit.Fixture;
+import fit.Parse;
+import fit.decorator.exceptions.InvalidInputException;
+import fit.decorator.util.Table;
+import fit.decorator.util.Timer;
+
+/**
+ * Runs the encapsulated fixture a number of times on a number of threads, after a number of warm-up runs.
+ * <p>
+ * Each run uses its own fixture instance and its own copy of the table; the first measured run is done on the table
+ * itself, so that one ends up in the page. The results of all measured runs are counted. A run with wrong cells or
+ * exceptions counts as an error. The first argument cell is marked right when there are no errors and shows
+ * the percentiles of the time taken by a run, and the throughput.
+ * <p>
+ * The encapsulated fixture must not share state between instances (e.g. static fields or symbols).
+ */
+public abstract class LoadBasedFixtureDecorator extends TimeBasedFixtureDecorator {
+  public static final String TIMES = "times";
+  public static final String THREADS = "threads";
+  public static final String WARM_UP = "warmUp";
+  public static final String ERRORS = "errors";
+  public static final String THROUGHPUT = "throughput";
+  public static final String PERCENTILE_50 = "percentile50";
+  public static final String PERCENTILE_95 = "percentile95";
+  public static final String PERCENTILE_99 = "percentile99";
+
+  protected int times;
+  protected int threads;
+  protected int warmUp;
+  protected int errors;
+  protected double throughput;
+  // time taken by each measured run, in milliseconds, sorted
+  protected double[] runTimes = new double[0];
+  private boolean aborted;
+
+  public LoadBasedFixtureDecorator(Timer watch) {
+    super(watch);
+  }
+
+  LoadBasedFixtureDecorator() {
+    super();
+  }
+
+  /**
+   * Set up the number of runs, threads and warm-up runs from the first three arguments.
+   */
+  protected void setupLoad(String[] arguments, int numberOfArguments, String message) throws InvalidInputException {
+    if (arguments.length != numberOfArguments) {
+      throw new InvalidInputException(message);
+    }
+    times = Integer.parseInt(arguments[0]);
+    threads = Integer.parseInt(arguments[1]);
+    warmUp = Integer.parseInt(arguments[2]);
+    if (times < 1 || threads < 1 || warmUp < 0) {
+      throw new InvalidInputException("Times and threads must be positive, warm up can not be negative");
+    }
+    summary.put(TIMES, Long.valueOf(times));
+    summary.put(THREADS, Long.valueOf(threads));
+    summary.put(WARM_UP, Long.valueOf(warmUp));
+  }
+
+  @Override
+  protected void run(Fixture fixture, Parse table) {
+    // copied before the first run changes the table
+    Table original = new Table(new Table(table).copy());
+    ExecutorService executor = Executors.newFixedThreadPool(threads, r -> {
+      Thread thread = new Thread(r, "FitNesse load " + getClass().getSimpleName());
+      thread.setDaemon(true);
+      return thread;
+    });
+    try {
+      runAll(executor, warmUp, i -> runOnCopy(fixture, original));
+
+      Counts[] counts = new Counts[times];
+      double[] measured = new double[times];
+      AtomicInteger failedRuns = new AtomicInteger();
+      stopWatch.start();
+      runAll(executor, times, i -> {
+        long start = System.nanoTime();
+        Fixture run = null;
+        try {
+          run = i == 0 ? runOn(fixture, table) : runOnCopy(fixture, original);
+        } catch (RuntimeException e) {
+          failedRuns.incrementAndGet();
+        }
+        measured[i] = (System.nanoTime() - start) / 1000000.0;
+        counts[i] = run != null ? run.counts : null;
+      });
+      elapsedTime = stopWatch.elapsed();
+
+      errors = failedRuns.get();
+      for (int i = 1; i < times; i++) {
+        if (counts[i] != null)
+          fixture.counts.tally(counts[i]);
+      }
+      for (Counts c : counts) {
+        if (c != null && c.wrong + c.exceptions > 0)
+          errors++;
+      }
+      Arrays.sort(measured);
+      runTimes = measured;
+      throughput = times * 1000.0 / Math.max(elapsedTime, 1);
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+      aborted = true;
+      exception(table.parts.parts, e);
+    } catch (ExecutionException e) {
+      aborted = true;
+      exception(table.parts.parts, e.getCause());
+    } finally {
+      executor.shutdownNow();
+    }
+    summary.put(ACTUAL_TIME_TAKEN, Long.valueOf(elapsedTime));
+    summary.put(ERRORS, Long.valueOf(errors));
+    summary.put(THROUGHPUT, throughput);
+    summary.put(PERCENTILE_50, percentile(50));
+    summary.put(PERCENTILE_95, percentile(95));
+    summary.put(PERCENTILE_99, percentile(99));
+  }
+
+  private Fixture runOn(Fixture fixture, Parse table) {
+    fixture.doTable(table);
+    return fixture;
+  }
+
+  private Fixture runOnCopy(Fixture fixture, Table original) {
+    Fixture copy;
+    try {
+      copy = fixture.getClass().getDeclaredConstructor().newInstance();
+    } catch (ReflectiveOperationException e) {
+      throw new IllegalStateException("Can not create fixture " + fixture.getClass().getName(), e);
+    }
+    copy.setArgs(fixture.getArgs());
+    return runOn(copy, original.copy());
+  }
+
+  private interface Run {
+    void run(int i) throws Exception;
+  }
+
+  private static void runAll(ExecutorService executor, int count, Run run)
+    throws InterruptedException, ExecutionException {
+    List<Future<?>> futures = new ArrayList<>(count);
+    for (int i = 0; i < count; i++) {
+      final int index = i;
+      futures.add(executor.submit(() -> {
+        run.run(index);
+        return null;
+      }));
+    }
+    for (Future<?> future : futures) {
+      future.get();
+    }
+  }
+
+  /**
+   * @return the time (in milliseconds) within which this percentage of the measured runs finished.
+   */
+  protected double percentile(double percentage) {
+    if (runTimes.length == 0) {
+      return 0;
+    }
+    int rank = (int) Math.ceil(percentage / 100 * runTimes.length);
+    return round(runTimes[Math.min(Math.max(rank, 1), runTimes.length) - 1]);
+  }
+
+  protected static double round(double value) {
+    return Math.round(value * 100) / 100.0;
+  }
+
+  @Override
+  protected final void updateColumnsBasedOnResults(Parse table) {
+    if (aborted) {
+      return;
+    }
+    Parse timesColumn = table.parts.parts.more;
+    if (errors > 0) {
+      wrong(timesColumn, errors + " errors");
+    } else {
+      right(timesColumn);
+    }
+    timesColumn.addToBody(gray("<hr>50% " + percentile(50) + " ms, 95% " + percentile(95)
+      + " ms, 99% " + percentile(99) + " ms, " + round(throughput) + " per second"));
+    checkResults(table);
+  }
+
+  /**
+   * Mark the cells with the limits of this decorator.
+   */
+  protected abstract void checkResults(Parse table);
+}
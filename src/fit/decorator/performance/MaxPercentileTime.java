@@ -0,0 +1,40 @@
+package fit.decorator.performance;
+
+import fit.Parse;
+import fit.decorator.exceptions.InvalidInputException;
+import fit.decorator.util.Timer;
+
+/**
+ * <code>|MaxPercentileTime|100|times|4|threads|10|warm up runs|95|percentile|200|milliseconds|</code>
+ */
+public class MaxPercentileTime extends LoadBasedFixtureDecorator {
+  public static final String PERCENTILE = "percentile";
+  public static final String MAX_TIME = "maxTime";
+  protected double percentile;
+  protected long maxTime;
+
+  public MaxPercentileTime() {
+    super();
+  }
+
+  MaxPercentileTime(Timer stopWatch) {
+    super(stopWatch);
+  }
+
+  @Override
+  protected void setupDecorator(String[] arguments) throws InvalidInputException {
+    setupLoad(arguments, 5, "Times, threads, warm up runs, percentile and max time must be specified");
+    percentile = Double.parseDouble(arguments[3]);
+    if (percentile <= 0 || percentile > 100) {
+      throw new InvalidInputException("Percentile must be greater than 0 and at most 100");
+    }
+    summary.put(PERCENTILE, percentile);
+    maxTime = Long.parseLong(arguments[4]);
+    summary.put(MAX_TIME, Long.valueOf(maxTime));
+  }
+
+  @Override
+  protected void checkResults(Parse table) {
+    updateColumns(table.parts.parts.at(9), percentile(percentile), maxTime, true);
+  }
+}
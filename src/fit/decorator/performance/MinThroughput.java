@@ -0,0 +1,33 @@
+package fit.decorator.performance;
+
+import fit.Parse;
+import fit.decorator.exceptions.InvalidInputException;
+import fit.decorator.util.Timer;
+
+/**
+ * <code>|MinThroughput|100|times|4|threads|10|warm up runs|50|per second|</code>
+ */
+public class MinThroughput extends LoadBasedFixtureDecorator {
+  public static final String MIN_THROUGHPUT = "minThroughput";
+  protected double minThroughput;
+
+  public MinThroughput() {
+    super();
+  }
+
+  MinThroughput(Timer stopWatch) {
+    super(stopWatch);
+  }
+
+  @Override
+  protected void setupDecorator(String[] arguments) throws InvalidInputException {
+    setupLoad(arguments, 4, "Times, threads, warm up runs and minimum throughput must be specified");
+    minThroughput = Double.parseDouble(arguments[3]);
+    summary.put(MIN_THROUGHPUT, minThroughput);
+  }
+
+  @Override
+  protected void checkResults(Parse table) {
+    updateColumns(table.parts.parts.at(7), round(throughput), minThroughput, false);
+  }
+}
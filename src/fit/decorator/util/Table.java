@@ -166,6 +166,38 @@ public class Table {
     return table;
   }
 
+  /**
+   * @return a deep copy of the table, without the tables that follow it.
+   */
+  public Parse copy() {
+    return copyOf(table);
+  }
+
+  // Siblings are copied in a loop, only the nesting (table, row, cell) is recursive
+  private static Parse copy(Parse first) {
+    Parse head = null;
+    Parse previous = null;
+    for (Parse parse = first; parse != null; parse = parse.more) {
+      Parse copy = copyOf(parse);
+      if (previous == null) {
+        head = copy;
+      } else {
+        previous.more = copy;
+      }
+      previous = copy;
+    }
+    return head;
+  }
+
+  private static Parse copyOf(Parse parse) {
+    Parse copy = new Parse("td", parse.body, copy(parse.parts), null);
+    copy.leader = parse.leader;
+    copy.tag = parse.tag;
+    copy.end = parse.end;
+    copy.trailer = parse.trailer;
+    return copy;
+  }
+
   public Parse incrementColumnValuesByDelta(String columnName, Delta delta) throws InvalidInputException {
     int headerRowIndex = rowNumberContainingText(columnName);
     incrementColumnValues(columnName, delta, headerRowIndex);
@@ -18,6 +18,7 @@ public enum ConfigurationParameter {
   CONFIG_FILE("ConfigFile"),
   LOG_LEVEL("LogLevel"),
   LOG_DIRECTORY("LogDirectory"),
+  LOG_FORMAT("LogFormat"),
   CREDENTIALS("Credentials"),
   ROOT_PATH("RootPath"),
   ROOT_DIRECTORY("FitNesseRoot"),
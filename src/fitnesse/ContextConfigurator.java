@@ -32,6 +32,7 @@ import static fitnesse.ConfigurationParameter.CONFIG_FILE;
 import static fitnesse.ConfigurationParameter.CONTEXT_ROOT;
 import static fitnesse.ConfigurationParameter.CREDENTIALS;
 import static fitnesse.ConfigurationParameter.LOG_DIRECTORY;
+import static fitnesse.ConfigurationParameter.LOG_FORMAT;
 import static fitnesse.ConfigurationParameter.RECENT_CHANGES_CLASS;
 import static fitnesse.ConfigurationParameter.ROOT_DIRECTORY;
 import static fitnesse.ConfigurationParameter.THEME;
@@ -130,7 +131,7 @@ public class ContextConfigurator {
     PluginsLoader pluginsLoader = new PluginsLoader(componentFactory, classLoader);
 
     if (logger == null) {
-      logger = pluginsLoader.makeLogger(get(LOG_DIRECTORY));
+      logger = pluginsLoader.makeLogger(get(LOG_DIRECTORY), get(LOG_FORMAT));
     }
     if (authenticator == null) {
       authenticator = pluginsLoader.makeAuthenticator(get(CREDENTIALS));
@@ -35,14 +35,18 @@ public class FitNesse {
     RejectedExecutionHandler rejectionHandler = new RejectedExecutionHandler() {
       @Override
       public void rejectedExecution(Runnable r, ThreadPoolExecutor executor) {
+        context.metrics.requestRejected();
         LOG.log(Level.WARNING, "Could not handle request. Thread pool is exhausted.");
       }
     };
-    this.executorService = new ThreadPoolExecutor(5, 100, 10, TimeUnit.SECONDS, new SynchronousQueue<Runnable>(),
+    ThreadPoolExecutor requestPool = new ThreadPoolExecutor(5, 100, 10, TimeUnit.SECONDS, new SynchronousQueue<Runnable>(),
             new DaemonThreadFactory(), rejectionHandler);
+    this.executorService = requestPool;
+    context.metrics.setRequestPool(requestPool);
   }
 
   public void start(ServerSocket serverSocket) throws IOException {
+    context.metrics.registerMBean();
     theService = new SocketService(new FitNesseServer(context, executorService), false, serverSocket);
   }
 
@@ -54,6 +58,10 @@ public class FitNesse {
     if (!executorService.isShutdown()) {
       executorService.shutdown();
     }
+    if (context.logger != null) {
+      context.logger.close();
+    }
+    context.metrics.unregisterMBean();
   }
 
   public boolean isRunning() {
@@ -4,6 +4,7 @@ package fitnesse;
 
 import fitnesse.authentication.Authenticator;
 import fitnesse.components.Logger;
+import fitnesse.components.ServerMetrics;
 import fitnesse.html.template.PageFactory;
 import fitnesse.reporting.FormatterFactory;
 import fitnesse.responders.ResponderFactory;
@@ -55,6 +56,7 @@ public class FitNesseContext {
   public final VersionsController versionsController;
   public final RecentChanges recentChanges;
   public final Logger logger;
+  public final ServerMetrics metrics = new ServerMetrics();
   public final Authenticator authenticator;
   private final Properties properties;
 
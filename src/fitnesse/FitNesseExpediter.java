@@ -3,6 +3,7 @@
 package fitnesse;
 
 import fitnesse.components.LogData;
+import fitnesse.components.ServerMetrics;
 import fitnesse.http.*;
 import fitnesse.responders.ErrorResponder;
 import org.apache.commons.lang3.StringUtils;
@@ -13,6 +14,8 @@ import java.io.OutputStream;
 import java.net.InetSocketAddress;
 import java.net.Socket;
 import java.net.SocketException;
+import java.nio.channels.FileChannel;
+import java.nio.channels.SocketChannel;
 import java.util.GregorianCalendar;
 import java.util.concurrent.*;
 import java.util.logging.Level;
@@ -27,8 +30,11 @@ public class FitNesseExpediter implements ResponseSender, Runnable {
   private final FitNesseContext context;
   private final ExecutorService executorService;
   private final long requestParsingTimeLimit;
+  private final long startTime = System.currentTimeMillis();
+  private final ServerMetrics metrics;
   private Request request;
   private Response response;
+  private String responderName = "none";
 
   public FitNesseExpediter(Socket socket, FitNesseContext context, ExecutorService executorService) throws IOException {
     this(socket, context, executorService, 10000);
@@ -36,6 +42,7 @@ public class FitNesseExpediter implements ResponseSender, Runnable {
 
   public FitNesseExpediter(Socket socket, FitNesseContext context, ExecutorService executorService, long requestParsingTimeLimit) throws IOException {
     this.context = context;
+    this.metrics = context.metrics;
     this.socket = socket;
     this.executorService = executorService;
     input = socket.getInputStream();
@@ -45,6 +52,7 @@ public class FitNesseExpediter implements ResponseSender, Runnable {
 
   @Override
   public void run() {
+    metrics.requestStarted();
     try {
       // Storing them in instance fields, since we need info for logging when the connection is closed.
       request = makeRequest();
@@ -55,6 +63,8 @@ public class FitNesseExpediter implements ResponseSender, Runnable {
     } catch (Throwable e) { // NOSONAR
       // This catch is intentional, since it's the last point where we can catch exceptions that occur in this thread.
       LOG.log(Level.WARNING, "Unexpected exception", e);
+    } finally {
+      metrics.requestFinished();
     }
   }
 
@@ -62,6 +72,33 @@ public class FitNesseExpediter implements ResponseSender, Runnable {
   public void send(byte[] bytes) throws IOException {
     output.write(bytes);
     output.flush();
+    metrics.bytesSent(bytes.length);
+  }
+
+  @Override
+  public void send(byte[] bytes, int offset, int length) throws IOException {
+    output.write(bytes, offset, length);
+    metrics.bytesSent(length);
+  }
+
+  @Override
+  public void sendFile(FileChannel channel, long position, long count) throws IOException {
+    SocketChannel socketChannel = socket.getChannel();
+    if (socketChannel == null || !socketChannel.isBlocking()) {
+      // Plain java.net and SSL sockets: copy through a bounded buffer
+      ResponseSender.super.sendFile(channel, position, count);
+      output.flush();
+      return;
+    }
+    output.flush();
+    long end = position + count;
+    while (position < end) {
+      long sent = channel.transferTo(position, end - position, socketChannel);
+      if (sent <= 0 && position >= channel.size())
+        throw new IOException("File truncated while sending: " + (end - position) + " bytes missing");
+      position += sent;
+      metrics.bytesSent(sent);
+    }
   }
 
   @Override
@@ -83,12 +120,18 @@ public class FitNesseExpediter implements ResponseSender, Runnable {
   }
 
   private void sendResponse(Response response) throws IOException {
-    response.sendTo(this);
+    long start = System.nanoTime();
+    try {
+      response.sendTo(this);
+    } finally {
+      metrics.stageFinished(responderName, ServerMetrics.Stage.SEND, System.nanoTime() - start);
+    }
   }
 
   private Response makeResponse(final Request request) throws Exception {
     Response response;
     try {
+      long parseStart = System.nanoTime();
       try {
         executorService.submit(new Callable<Request>() {
           @Override
@@ -102,6 +145,8 @@ public class FitNesseExpediter implements ResponseSender, Runnable {
           throw (Exception) e.getCause();
         }
         throw e;
+      } finally {
+        metrics.requestParsed(System.nanoTime() - parseStart);
       }
 
       if (request.hasBeenParsed()) {
@@ -140,9 +185,23 @@ public class FitNesseExpediter implements ResponseSender, Runnable {
   public Response createGoodResponse(Request request) throws Exception {
     if (StringUtils.isBlank(request.getResource()) && StringUtils.isBlank(request.getQueryString()))
       request.setResource("FrontPage");
+    long start = System.nanoTime();
     Responder responder = context.responderFactory.makeResponder(request);
+    responderName = responder.getClass().getSimpleName();
+    start = stageFinished(ServerMetrics.Stage.MAKE_RESPONDER, start);
     responder = context.authenticator.authenticate(context, request, responder);
-    return responder.makeResponse(context, request);
+    start = stageFinished(ServerMetrics.Stage.AUTHENTICATE, start);
+    try {
+      return responder.makeResponse(context, request);
+    } finally {
+      stageFinished(ServerMetrics.Stage.MAKE_RESPONSE, start);
+    }
+  }
+
+  private long stageFinished(ServerMetrics.Stage stage, long start) {
+    long now = System.nanoTime();
+    metrics.stageFinished(responderName, stage, now - start);
+    return now;
   }
 
   private Response reportError(Request request, int status, String message) throws Exception {
@@ -154,17 +213,22 @@ public class FitNesseExpediter implements ResponseSender, Runnable {
   }
 
   public static LogData makeLogData(Socket socket, Request request, Response response) {
+    return makeLogData(socket, request, response, -1);
+  }
+
+  public static LogData makeLogData(Socket socket, Request request, Response response, long duration) {
     return new LogData(
         ((InetSocketAddress) socket.getRemoteSocketAddress()).getAddress().getHostAddress(),
         new GregorianCalendar(),
         request.getRequestLine(),
         response.getStatus(),
         response.getContentSize(),
-        request.getAuthorizationUsername());
+        request.getAuthorizationUsername(),
+        duration);
   }
 
   public void log(Socket s, Request request, Response response) {
     if (context.logger != null)
-      context.logger.log(makeLogData(s, request, response));
+      context.logger.log(makeLogData(s, request, response, System.currentTimeMillis() - startTime));
   }
 }
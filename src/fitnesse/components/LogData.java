@@ -11,13 +11,20 @@ public class LogData {
   public final int status;
   public final int size;
   public final String username;
+  /** Time (in milliseconds) it took to handle the request, -1 if unknown. */
+  public final long duration;
 
   public LogData(String host, Calendar time, String requestLine, int status, int size, String username) {
+    this(host, time, requestLine, status, size, username, -1);
+  }
+
+  public LogData(String host, Calendar time, String requestLine, int status, int size, String username, long duration) {
     this.host = host;
     this.time = time;
     this.requestLine = requestLine;
     this.status = status;
     this.size = size;
     this.username = username;
+    this.duration = duration;
   }
 }
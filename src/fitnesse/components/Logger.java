@@ -4,13 +4,58 @@
 package fitnesse.components;
 
 import java.io.*;
+import java.nio.charset.StandardCharsets;
 import java.text.DateFormat;
 import java.text.SimpleDateFormat;
+import java.time.ZonedDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
 import java.util.Calendar;
+import java.util.List;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.LockSupport;
 
+import org.json.JSONStringer;
+
+/**
+ * Access log. Request threads only queue their log data, a single writer thread formats the lines,
+ * writes them in batches and rotates the log file daily.
+ * <p>
+ * The hand-off is lock free. The queue holds at most {@value #MAX_QUEUED_ENTRIES} entries. Request threads never
+ * wait for the log: when the writer cannot keep up, further entries are dropped and the number dropped is reported
+ * on stderr.
+ */
 // TODO: Convert to java.util.logging.Formatter
 public class Logger {
-  private File directory;
+  public static final String COMMON_FORMAT = "common";
+  public static final String JSON_FORMAT = "json";
+
+  private static final int BATCH_SIZE = 256;
+  private static final long FLUSH_INTERVAL_NANOS = TimeUnit.SECONDS.toNanos(1);
+  private static final int BUFFER_SIZE = 64 * 1024;
+  static final int MAX_QUEUED_ENTRIES = 10_000;
+
+  private final File directory;
+  private final boolean json;
+  private final DateTimeFormatter logFormat;
+
+  private final Queue<LogData> entries = new ConcurrentLinkedQueue<>();
+  private final AtomicInteger queuedEntries = new AtomicInteger();
+  private final AtomicLong droppedEntries = new AtomicLong();
+  private final Queue<CountDownLatch> flushRequests = new ConcurrentLinkedQueue<>();
+  private final Thread writerThread;
+  private volatile boolean closed;
+
+  // Only used by the writer thread
+  private Writer writer;
+  private Calendar currentFileCreationDate;
+  private int unflushed;
+  private long lastFlush;
 
   public static SimpleDateFormat makeLogFormat() {
     //SimpleDateFormat is not thread safe,
@@ -23,12 +68,21 @@ public class Logger {
     return new SimpleDateFormat("yyyyMMddHHmmss");
   }
 
-  private PrintWriter writer;
-  private Calendar currentFileCreationDate;
-
   public Logger(String dirPath) {
+    this(dirPath, COMMON_FORMAT);
+  }
+
+  /**
+   * @param format {@link #COMMON_FORMAT} for lines in common log format, {@link #JSON_FORMAT} for a JSON object per line.
+   */
+  public Logger(String dirPath, String format) {
     directory = new File(dirPath);
     directory.mkdir();
+    json = JSON_FORMAT.equalsIgnoreCase(format);
+    logFormat = DateTimeFormatter.ofPattern("dd/MMM/yyyy:HH:mm:ss Z");
+    writerThread = new Thread(this::writeEntries, "FitNesse access log");
+    writerThread.setDaemon(true);
+    writerThread.start();
   }
 
   public File getDirectory() {
@@ -36,25 +90,138 @@ public class Logger {
   }
 
   String formatLogLine(LogData data) {
+    return json ? formatJsonLine(data) : formatCommonLine(data);
+  }
+
+  private String formatCommonLine(LogData data) {
     StringBuilder line = new StringBuilder();
     line.append(data.host).append(" - ");
     line.append(data.username == null ? "-" : data.username);
-    line.append(" [").append(format(makeLogFormat(), data.time)).append("] ");
+    line.append(" [").append(format(logFormat, data.time)).append("] ");
     line.append('"').append(data.requestLine).append("\" ");
     line.append(data.status).append(" ");
     line.append(data.size);
     return line.toString();
   }
 
+  private String formatJsonLine(LogData data) {
+    JSONStringer line = new JSONStringer();
+    line.object()
+      .key("host").value(data.host)
+      .key("user").value(data.username)
+      .key("time").value(toZonedDateTime(data.time).format(DateTimeFormatter.ISO_OFFSET_DATE_TIME))
+      .key("request").value(data.requestLine)
+      .key("status").value(data.status)
+      .key("bytes").value(data.size);
+    if (data.duration >= 0)
+      line.key("duration").value(data.duration);
+    line.endObject();
+    return line.toString();
+  }
+
   static String makeLogFileName(Calendar calendar) {
     return "fitnesse" + format(makeFileNameFormat(), calendar) + ".log";
   }
 
+  /**
+   * Queue the data for logging; this does not wait for the line to be written.
+   * The data is dropped when the queue is full.
+   */
   public void log(LogData data) {
-    if (needNewFile(data.time))
-      openNewFile(data);
-    writer.println(formatLogLine(data));
-    writer.flush();
+    if (closed)
+      return;
+    int queued = queuedEntries.incrementAndGet();
+    if (queued > MAX_QUEUED_ENTRIES) {
+      queuedEntries.decrementAndGet();
+      droppedEntries.incrementAndGet();
+      return;
+    }
+    entries.add(data);
+    // The writer only parks on an empty queue, and at most for the flush interval:
+    // wake it for the first entry, and for every full batch.
+    if (queued == 1 || queued % BATCH_SIZE == 0)
+      LockSupport.unpark(writerThread);
+  }
+
+  /**
+   * Wait until all data logged so far has been written to the log file.
+   */
+  public void flush() {
+    if (!writerThread.isAlive())
+      return;
+    CountDownLatch written = new CountDownLatch(1);
+    flushRequests.add(written);
+    LockSupport.unpark(writerThread);
+    try {
+      while (!written.await(100, TimeUnit.MILLISECONDS) && writerThread.isAlive()) {
+        // writer thread may have stopped after a concurrent close()
+      }
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+    }
+  }
+
+  public void close() {
+    if (closed)
+      return;
+    closed = true;
+    LockSupport.unpark(writerThread);
+    try {
+      writerThread.join();
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+    }
+  }
+
+  private void writeEntries() {
+    lastFlush = System.nanoTime();
+    while (true) {
+      boolean closing = closed;
+      List<CountDownLatch> pendingFlushes = takeFlushRequests();
+      writeQueuedEntries();
+      if (closing) {
+        closeFile();
+        pendingFlushes.addAll(takeFlushRequests());
+        pendingFlushes.forEach(CountDownLatch::countDown);
+        return;
+      }
+      if (!pendingFlushes.isEmpty() || (unflushed > 0 && System.nanoTime() - lastFlush >= FLUSH_INTERVAL_NANOS)) {
+        flushFile();
+      }
+      pendingFlushes.forEach(CountDownLatch::countDown);
+      if (entries.isEmpty() && flushRequests.isEmpty() && !closed) {
+        LockSupport.parkNanos(this, FLUSH_INTERVAL_NANOS);
+      }
+    }
+  }
+
+  private List<CountDownLatch> takeFlushRequests() {
+    List<CountDownLatch> requests = new ArrayList<>();
+    CountDownLatch request;
+    while ((request = flushRequests.poll()) != null)
+      requests.add(request);
+    return requests;
+  }
+
+  private void writeQueuedEntries() {
+    LogData data;
+    while ((data = entries.poll()) != null) {
+      queuedEntries.decrementAndGet();
+      try {
+        if (needNewFile(data.time))
+          openNewFile(data);
+        writer.write(formatLogLine(data));
+        writer.write(System.lineSeparator());
+        if (++unflushed >= BATCH_SIZE)
+          flushFile();
+      } catch (IOException e) {
+        System.err.println("Unable to write to log file");
+        e.printStackTrace(System.err);
+      }
+    }
+    long dropped = droppedEntries.getAndSet(0);
+    if (dropped > 0)
+      System.err.println("Access log could not keep up, " + dropped + " entries were not logged");
   }
 
   private boolean needNewFile(Calendar time) {
@@ -69,11 +236,9 @@ public class Logger {
   }
 
   private void openNewFile(LogData data) {
-    if (writer != null)
-      writer.close();
+    closeFile();
     currentFileCreationDate = data.time;
-    String filename = makeLogFileName(data.time);
-    File file = new File(directory, filename);
+    File file = new File(directory, makeLogFileName(data.time));
     OutputStream outputStream;
     try {
       outputStream = new FileOutputStream(file);
@@ -82,12 +247,33 @@ public class Logger {
       e.printStackTrace(System.err);
       outputStream = System.err;
     }
-    writer = new PrintWriter(outputStream);
+    writer = new BufferedWriter(new OutputStreamWriter(outputStream, StandardCharsets.UTF_8), BUFFER_SIZE);
   }
 
-  public void close() {
-    if (writer != null)
-      writer.close();
+  private void flushFile() {
+    if (writer != null) {
+      try {
+        writer.flush();
+      } catch (IOException e) {
+        System.err.println("Unable to flush log file");
+        e.printStackTrace(System.err);
+      }
+    }
+    unflushed = 0;
+    lastFlush = System.nanoTime();
+  }
+
+  private void closeFile() {
+    if (writer != null) {
+      try {
+        writer.close();
+      } catch (IOException e) {
+        System.err.println("Unable to close log file");
+        e.printStackTrace(System.err);
+      }
+      writer = null;
+    }
+    unflushed = 0;
   }
 
   private static String format(DateFormat format, Calendar calendar) {
@@ -96,6 +282,14 @@ public class Logger {
     return tmpFormat.format(calendar.getTime());
   }
 
+  private static String format(DateTimeFormatter format, Calendar calendar) {
+    return toZonedDateTime(calendar).format(format);
+  }
+
+  private static ZonedDateTime toZonedDateTime(Calendar calendar) {
+    return ZonedDateTime.ofInstant(calendar.toInstant(), calendar.getTimeZone().toZoneId());
+  }
+
   @Override
   public String toString() {
     return getDirectory().getAbsolutePath();
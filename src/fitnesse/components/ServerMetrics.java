@@ -0,0 +1,265 @@
+package fitnesse.components;
+
+import java.io.IOException;
+import java.lang.management.ManagementFactory;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+import javax.management.MBeanServer;
+import javax.management.ObjectName;
+
+import fitnesse.wiki.BaseWikitextPage;
+import fitnesse.wiki.DefinedVariables;
+
+/**
+ * Counters and latency histograms for the wiki server. Updating a metric only touches striped counters
+ * ({@link LongAdder}), so it can be done on every request.
+ * <p>
+ * Each {@link fitnesse.FitNesseContext} has its own metrics. They are exposed in Prometheus text format by
+ * {@link fitnesse.responders.MetricsResponder} and through JMX as <code>fitnesse:type=ServerMetrics</code>.
+ * Page parses and page definition cache lookups are counted by the wiki itself, for all contexts in the JVM.
+ */
+public class ServerMetrics implements ServerMetricsMBean {
+  private static final Logger LOG = Logger.getLogger(ServerMetrics.class.getName());
+  private static final String OBJECT_NAME = "fitnesse:type=ServerMetrics";
+
+  /** Upper bounds of the histogram buckets, in seconds. */
+  private static final double[] BUCKETS = { 0.001, 0.005, 0.01, 0.025, 0.05, 0.1, 0.25, 0.5, 1, 2.5, 5, 10 };
+
+  public enum Stage {
+    MAKE_RESPONDER, AUTHENTICATE, MAKE_RESPONSE, SEND;
+
+    String label() {
+      return name().toLowerCase();
+    }
+  }
+
+  private final Histogram requestParsing = new Histogram();
+  private final ConcurrentMap<String, Histogram> stages = new ConcurrentHashMap<>();
+  private final AtomicInteger requestsInFlight = new AtomicInteger();
+  private final LongAdder requests = new LongAdder();
+  private final LongAdder rejectedRequests = new LongAdder();
+  private final LongAdder bytesSent = new LongAdder();
+  private volatile ThreadPoolExecutor requestPool;
+  private boolean registered;
+
+  public void requestStarted() {
+    requests.increment();
+    requestsInFlight.incrementAndGet();
+  }
+
+  public void requestFinished() {
+    requestsInFlight.decrementAndGet();
+  }
+
+  public void requestRejected() {
+    rejectedRequests.increment();
+  }
+
+  public void requestParsed(long nanos) {
+    requestParsing.record(nanos);
+  }
+
+  public void stageFinished(String responder, Stage stage, long nanos) {
+    stages.computeIfAbsent(responder + '\u0000' + stage.label(), key -> new Histogram()).record(nanos);
+  }
+
+  public void bytesSent(long count) {
+    bytesSent.add(count);
+  }
+
+  public void setRequestPool(ThreadPoolExecutor requestPool) {
+    this.requestPool = requestPool;
+  }
+
+  /**
+   * Register this instance with the platform MBean server, unless metrics of another server are registered already.
+   */
+  public synchronized void registerMBean() {
+    if (registered)
+      return;
+    try {
+      MBeanServer server = ManagementFactory.getPlatformMBeanServer();
+      ObjectName name = new ObjectName(OBJECT_NAME);
+      if (!server.isRegistered(name)) {
+        server.registerMBean(this, name);
+        registered = true;
+      }
+    } catch (Exception e) {
+      LOG.log(Level.WARNING, "Unable to register server metrics with JMX", e);
+    }
+  }
+
+  public synchronized void unregisterMBean() {
+    if (!registered)
+      return;
+    try {
+      ManagementFactory.getPlatformMBeanServer().unregisterMBean(new ObjectName(OBJECT_NAME));
+    } catch (Exception e) {
+      LOG.log(Level.WARNING, "Unable to unregister server metrics from JMX", e);
+    }
+    registered = false;
+  }
+
+  @Override
+  public long getRequests() {
+    return requests.sum();
+  }
+
+  @Override
+  public int getRequestsInFlight() {
+    return requestsInFlight.get();
+  }
+
+  @Override
+  public long getRejectedRequests() {
+    return rejectedRequests.sum();
+  }
+
+  @Override
+  public long getBytesSent() {
+    return bytesSent.sum();
+  }
+
+  @Override
+  public long getPageParses() {
+    return BaseWikitextPage.getParseCount();
+  }
+
+  @Override
+  public long getVariableCacheHits() {
+    return DefinedVariables.getCacheHits();
+  }
+
+  @Override
+  public long getVariableCacheMisses() {
+    return DefinedVariables.getCacheMisses();
+  }
+
+  @Override
+  public int getActiveRequestThreads() {
+    ThreadPoolExecutor pool = requestPool;
+    return pool != null ? pool.getActiveCount() : 0;
+  }
+
+  @Override
+  public int getRequestThreads() {
+    ThreadPoolExecutor pool = requestPool;
+    return pool != null ? pool.getPoolSize() : 0;
+  }
+
+  @Override
+  public int getMaxRequestThreads() {
+    ThreadPoolExecutor pool = requestPool;
+    return pool != null ? pool.getMaximumPoolSize() : 0;
+  }
+
+  @Override
+  public double getMeanResponseMillis() {
+    long count = 0;
+    long nanos = 0;
+    for (Map.Entry<String, Histogram> stage : stages.entrySet()) {
+      if (stage.getKey().endsWith(Stage.MAKE_RESPONSE.label())) {
+        count += stage.getValue().count.sum();
+        nanos += stage.getValue().nanos.sum();
+      }
+    }
+    return count == 0 ? 0 : (double) nanos / count / TimeUnit.MILLISECONDS.toNanos(1);
+  }
+
+  /**
+   * Write all metrics in the Prometheus text exposition format (version 0.0.4).
+   */
+  public void writePrometheus(Appendable out) throws IOException {
+    writeHelp(out, "fitnesse_requests_total", "counter", "Requests accepted by the server.");
+    writeSample(out, "fitnesse_requests_total", "", getRequests());
+    writeHelp(out, "fitnesse_requests_in_flight", "gauge", "Requests currently being handled.");
+    writeSample(out, "fitnesse_requests_in_flight", "", getRequestsInFlight());
+    writeHelp(out, "fitnesse_requests_rejected_total", "counter", "Requests rejected because the request thread pool was exhausted.");
+    writeSample(out, "fitnesse_requests_rejected_total", "", getRejectedRequests());
+    writeHelp(out, "fitnesse_response_bytes_total", "counter", "Bytes sent in responses, including headers.");
+    writeSample(out, "fitnesse_response_bytes_total", "", getBytesSent());
+    writeHelp(out, "fitnesse_request_threads", "gauge", "Threads in the request thread pool.");
+    writeSample(out, "fitnesse_request_threads", "", getRequestThreads());
+    writeHelp(out, "fitnesse_request_threads_active", "gauge", "Threads in the request thread pool that are handling a request.");
+    writeSample(out, "fitnesse_request_threads_active", "", getActiveRequestThreads());
+    writeHelp(out, "fitnesse_request_threads_max", "gauge", "Maximum size of the request thread pool.");
+    writeSample(out, "fitnesse_request_threads_max", "", getMaxRequestThreads());
+    writeHelp(out, "fitnesse_page_parses_total", "counter", "Wiki pages parsed.");
+    writeSample(out, "fitnesse_page_parses_total", "", getPageParses());
+    writeHelp(out, "fitnesse_variable_cache_hits_total", "counter", "Page definition lookups served from the cache.");
+    writeSample(out, "fitnesse_variable_cache_hits_total", "", getVariableCacheHits());
+    writeHelp(out, "fitnesse_variable_cache_misses_total", "counter", "Page definition lookups that needed a parse.");
+    writeSample(out, "fitnesse_variable_cache_misses_total", "", getVariableCacheMisses());
+
+    writeHelp(out, "fitnesse_request_parse_seconds", "histogram", "Time spent reading and parsing requests.");
+    requestParsing.write(out, "fitnesse_request_parse_seconds", "");
+
+    writeHelp(out, "fitnesse_request_stage_seconds", "histogram", "Time spent per responder and request handling stage.");
+    Map<String, Histogram> sorted = new TreeMap<>(stages);
+    for (Map.Entry<String, Histogram> stage : sorted.entrySet()) {
+      String[] key = stage.getKey().split("\u0000", 2);
+      String labels = "responder=\"" + escape(key[0]) + "\",stage=\"" + key[1] + "\"";
+      stage.getValue().write(out, "fitnesse_request_stage_seconds", labels);
+    }
+  }
+
+  private static void writeHelp(Appendable out, String name, String type, String help) throws IOException {
+    out.append("# HELP ").append(name).append(' ').append(help).append('\n');
+    out.append("# TYPE ").append(name).append(' ').append(type).append('\n');
+  }
+
+  private static void writeSample(Appendable out, String name, String labels, Object value) throws IOException {
+    out.append(name);
+    if (!labels.isEmpty())
+      out.append('{').append(labels).append('}');
+    out.append(' ').append(String.valueOf(value)).append('\n');
+  }
+
+  private static String escape(String labelValue) {
+    return labelValue.replace("\\", "\\\\").replace("\"", "\\\"").replace("\n", "\\n");
+  }
+
+  private static class Histogram {
+    private final LongAdder[] buckets = new LongAdder[BUCKETS.length];
+    private final LongAdder count = new LongAdder();
+    private final LongAdder nanos = new LongAdder();
+
+    Histogram() {
+      for (int i = 0; i < buckets.length; i++)
+        buckets[i] = new LongAdder();
+    }
+
+    void record(long elapsedNanos) {
+      double seconds = elapsedNanos / 1e9;
+      for (int i = 0; i < BUCKETS.length; i++) {
+        if (seconds <= BUCKETS[i]) {
+          buckets[i].increment();
+          break;
+        }
+      }
+      count.increment();
+      nanos.add(elapsedNanos);
+    }
+
+    void write(Appendable out, String name, String labels) throws IOException {
+      String prefix = labels.isEmpty() ? "" : labels + ",";
+      long cumulative = 0;
+      for (int i = 0; i < BUCKETS.length; i++) {
+        cumulative += buckets[i].sum();
+        writeSample(out, name + "_bucket", prefix + "le=\"" + BUCKETS[i] + "\"", cumulative);
+      }
+      long total = count.sum();
+      writeSample(out, name + "_bucket", prefix + "le=\"+Inf\"", total);
+      writeSample(out, name + "_sum", labels, nanos.sum() / 1e9);
+      writeSample(out, name + "_count", labels, total);
+    }
+  }
+}
@@ -0,0 +1,28 @@
+package fitnesse.components;
+
+/**
+ * JMX view on {@link ServerMetrics}.
+ */
+public interface ServerMetricsMBean {
+  long getRequests();
+
+  int getRequestsInFlight();
+
+  long getRejectedRequests();
+
+  long getBytesSent();
+
+  long getPageParses();
+
+  long getVariableCacheHits();
+
+  long getVariableCacheMisses();
+
+  int getActiveRequestThreads();
+
+  int getRequestThreads();
+
+  int getMaxRequestThreads();
+
+  double getMeanResponseMillis();
+}
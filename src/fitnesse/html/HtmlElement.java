@@ -2,8 +2,18 @@
 // Released under the terms of the CPL Common Public License version 1.0.
 package fitnesse.html;
 
+import java.io.IOException;
+
 public abstract class HtmlElement {
   public static final String endl = System.getProperty("line.separator");
 
   public abstract String html();
+
+  /**
+   * Write the html for this element. Elements with children override this to avoid building
+   * the html of each child as a separate string.
+   */
+  public void writeTo(Appendable out) throws IOException {
+    out.append(html());
+  }
 }
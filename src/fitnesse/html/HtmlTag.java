@@ -2,6 +2,8 @@
 // Released under the terms of the CPL Common Public License version 1.0.
 package fitnesse.html;
 
+import java.io.IOException;
+import java.io.UncheckedIOException;
 import java.util.Iterator;
 import java.util.LinkedList;
 import java.util.List;
@@ -51,7 +53,31 @@ public class HtmlTag extends HtmlElement implements Iterable<HtmlElement> {
   }
 
   public String html(int depth) {
-    return new HtmlFormatter(depth).format();
+    StringBuilder html = new StringBuilder(64);
+    try {
+      writeTo(html, depth);
+    } catch (IOException e) {
+      throw new UncheckedIOException(e);
+    }
+    return html.toString();
+  }
+
+  @Override
+  public void writeTo(Appendable out) throws IOException {
+    writeTo(out, 0);
+  }
+
+  /**
+   * Write this tag, indented for its depth. {@link #html(int)} and the rendering of parent tags go through here,
+   * so this is the method to override to change how a tag is written.
+   */
+  public void writeTo(Appendable out, int depth) throws IOException {
+    new HtmlFormatter(out, depth).format();
+  }
+
+  private void writeInlineTo(Appendable out, int depth) throws IOException {
+    isInline = true;
+    writeTo(out, depth);
   }
 
   private boolean hasChildren() {
@@ -110,60 +136,54 @@ public class HtmlTag extends HtmlElement implements Iterable<HtmlElement> {
   }
 
   private class HtmlFormatter {
+    private final Appendable out;
     private final int depth;
     private boolean childTagWasMade;
     private boolean lastMadeChildWasNotTag;
     private boolean firstElement;
 
-    public HtmlFormatter(int depth) {
+    public HtmlFormatter(Appendable out, int depth) {
+      this.out = out;
       this.depth = depth;
     }
 
-    public String format() {
-      return makeTabs()
-        + makeTag() + makeAttributes() + makeTagEnd()
-        + makeChildren()
-        + makeEndTag()
-        + makeLineEnd();
+    public void format() throws IOException {
+      makeTabs();
+      out.append('<').append(tagName());
+      makeAttributes();
+      out.append(hasChildren() ? ">" : "/>");
+      makeChildren();
+      if (hasChildren())
+        out.append("</").append(tagName()).append('>');
+      if (!isInline)
+        out.append(endl);
     }
 
-    private String makeEndTag() {
-      return hasChildren() ? "</" + tagName() + ">" : "";
-    }
-
-    private String makeLineEnd() {
-      return isInline ? "" : endl;
-    }
-
-    private String makeChildren() {
-      String children = "";
+    private void makeChildren() throws IOException {
       if (hasChildren()) {
-        children = makeChildrenWithoutTrailingIndent();
-        if (childTagWasMade && !isInline) children += makeTabs();
+        makeChildrenWithoutTrailingIndent();
+        if (childTagWasMade && !isInline) makeTabs();
       }
-      return children;
     }
 
-    private String makeChildrenWithoutTrailingIndent() {
-      StringBuilder children = new StringBuilder(64);
+    private void makeChildrenWithoutTrailingIndent() throws IOException {
       childTagWasMade = false;
       lastMadeChildWasNotTag = false;
       firstElement = true;
       for (HtmlElement element : childTags) {
-        children.append(makeChildFromElement(element));
+        makeChildFromElement(element);
         firstElement = false;
       }
-      return children.toString();
     }
 
-    private String makeChildFromElement(HtmlElement element) {
+    private void makeChildFromElement(HtmlElement element) throws IOException {
       boolean childIsTag = element instanceof HtmlTag;
-      String child = childIsTag ?
-        makeChildFromTag((HtmlTag) element) :
-        element.html();
+      if (childIsTag)
+        makeChildFromTag((HtmlTag) element);
+      else
+        element.writeTo(out);
 
       prepareForNextElement(childIsTag);
-      return child;
     }
 
     private void prepareForNextElement(boolean childIsTag) {
@@ -171,33 +191,28 @@ public class HtmlTag extends HtmlElement implements Iterable<HtmlElement> {
       lastMadeChildWasNotTag = !childIsTag;
     }
 
-    private String makeChildFromTag(HtmlTag element) {
-      return (childShouldStartWithNewLine() ? endl : "")
-        + (isInline ? element.htmlInline(depth) : element.html(depth + 1));
+    private void makeChildFromTag(HtmlTag element) throws IOException {
+      if (childShouldStartWithNewLine())
+        out.append(endl);
+      if (isInline)
+        element.writeInlineTo(out, depth);
+      else
+        element.writeTo(out, depth + 1);
     }
 
     private boolean childShouldStartWithNewLine() {
       return (firstElement || lastMadeChildWasNotTag) && !isInline;
     }
 
-    private String makeTagEnd() {
-      return hasChildren() ? ">" : "/>";
-    }
-
-    private String makeAttributes() {
-      StringBuilder attributes = new StringBuilder();
+    private void makeAttributes() throws IOException {
       for (Attribute attribute : HtmlTag.this.attributes) {
-        attributes.append(" ").append(attribute.name).append("=\"").append(attribute.value).append("\"");
+        out.append(' ').append(attribute.name).append("=\"").append(attribute.value).append('"');
       }
-      return attributes.toString();
-    }
-
-    private String makeTag() {
-      return "<" + tagName();
     }
 
-    private String makeTabs() {
-      return isInline ? "" : makeIndent(depth);
+    private void makeTabs() throws IOException {
+      if (!isInline)
+        out.append(makeIndent(depth));
     }
   }
 }
@@ -2,20 +2,20 @@
 // Released under the terms of the CPL Common Public License version 1.0.
 package fitnesse.html;
 
+import java.io.IOException;
+
 public class TagGroup extends HtmlTag {
   public TagGroup() {
     super("group");
   }
 
   @Override
-  public String html(int depth) {
-    StringBuilder buffer = new StringBuilder();
+  public void writeTo(Appendable out, int depth) throws IOException {
     for (HtmlElement element : this) {
       if (element instanceof HtmlTag)
-        buffer.append(((HtmlTag) element).html(depth));
+        ((HtmlTag) element).writeTo(out, depth);
       else
-        buffer.append(element.html());
+        element.writeTo(out);
     }
-    return buffer.toString();
   }
 }
@@ -2,8 +2,12 @@
 // Released under the terms of the CPL Common Public License version 1.0.
 package fitnesse.html.template;
 
+import java.io.IOException;
 import java.io.StringWriter;
 import java.io.Writer;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.UUID;
 
 import fitnesse.http.Request;
 import org.apache.velocity.Template;
@@ -83,6 +87,30 @@ public class HtmlPage {
     template.merge(velocityContext, writer);
   }
 
+  /**
+   * Render the page like {@link #render(Writer, Request)}, but leave {@link StreamedContent} values to be
+   * written directly to a writer later on. The template is rendered right away, with a marker in their place,
+   * so errors in it show before anything has been sent. The content itself is never held as a string.
+   */
+  public StreamedPage renderStreamed(Request request) {
+    String markerPrefix = "<!--" + UUID.randomUUID() + ":";
+    Map<String, StreamedContent> streamed = new HashMap<>();
+    for (Object key : velocityContext.getKeys()) {
+      Object value = velocityContext.get((String) key);
+      if (value instanceof StreamedContent) {
+        streamed.put((String) key, (StreamedContent) value);
+        velocityContext.put((String) key, new Placeholder(markerPrefix + key + StreamedPage.MARKER_END));
+      }
+    }
+
+    StringWriter skeleton = new StringWriter();
+    try {
+      render(skeleton, request);
+    } finally {
+      streamed.forEach(velocityContext::put);
+    }
+    return new StreamedPage(skeleton.toString(), markerPrefix, streamed);
+  }
 
   public void setTitle(String title) {
     velocityContext.put("title", title);
@@ -106,4 +134,58 @@ public class HtmlPage {
   public void setBodyClass(String bodyClass) {
     velocityContext.put("bodyClass", bodyClass);
   }
+
+  public static class StreamedPage {
+    private static final String MARKER_END = "-->";
+
+    private final String html;
+    private final String markerPrefix;
+    private final Map<String, StreamedContent> streamed;
+
+    StreamedPage(String html, String markerPrefix, Map<String, StreamedContent> streamed) {
+      this.html = html;
+      this.markerPrefix = markerPrefix;
+      this.streamed = streamed;
+    }
+
+    /**
+     * Write the page, with the streamed content in place of its markers. A marker the template has altered
+     * (e.g. cut short) is written as is: by now the response has been committed, so failing is no option.
+     */
+    public void writeTo(Writer writer) throws IOException {
+      int start = 0;
+      int markerStart;
+      while ((markerStart = html.indexOf(markerPrefix, start)) >= 0) {
+        int keyStart = markerStart + markerPrefix.length();
+        int markerEnd = html.indexOf(MARKER_END, keyStart);
+        StreamedContent content = markerEnd < 0 ? null : streamed.get(html.substring(keyStart, markerEnd));
+        if (content == null) {
+          writer.write(html, start, keyStart - start);
+          start = keyStart;
+          continue;
+        }
+        writer.write(html, start, markerStart - start);
+        content.writeTo(writer);
+        start = markerEnd + MARKER_END.length();
+      }
+      writer.write(html, start, html.length() - start);
+    }
+  }
+
+  public static class Placeholder {
+    private final String marker;
+
+    private Placeholder(String marker) {
+      this.marker = marker;
+    }
+
+    public String render() {
+      return marker;
+    }
+
+    @Override
+    public String toString() {
+      return marker;
+    }
+  }
 }
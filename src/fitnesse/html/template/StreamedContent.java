@@ -0,0 +1,18 @@
+package fitnesse.html.template;
+
+import java.io.IOException;
+import java.io.Writer;
+
+/**
+ * Content for a page template that can be written straight to the response, instead of being rendered to a
+ * string first. See {@link HtmlPage#renderStreamed(fitnesse.http.Request)}.
+ */
+public interface StreamedContent {
+
+  /**
+   * The content as a string, this is what templates use (<code>$content.render()</code>).
+   */
+  String render();
+
+  void writeTo(Writer writer) throws IOException;
+}
@@ -24,6 +24,8 @@ class TraverseDirectiveTraverser implements TraversalListener<Object> {
       context.put("result", page);
       try {
         node.render(context, writer);
+        // Search results and imports can take a while: send each item as soon as it is rendered.
+        writer.flush();
       } catch (IOException e) {
         throw new TemplateRenderException(e);
       }
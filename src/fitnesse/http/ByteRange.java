@@ -0,0 +1,81 @@
+// Copyright (C) 2003-2009 by Object Mentor, Inc. All rights reserved.
+// Released under the terms of the CPL Common Public License version 1.0.
+package fitnesse.http;
+
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * A single byte range, as requested by a HTTP <code>Range</code> header (RFC 7233).
+ * Only one range per request is supported; requests for multiple ranges are served in full.
+ */
+public class ByteRange {
+  private static final Pattern RANGE_PATTERN = Pattern.compile("\\s*bytes\\s*=\\s*(\\d*)\\s*-\\s*(\\d*)\\s*");
+
+  /** Returned by {@link #parse(String, long)} when the range lies beyond the end of the content. */
+  public static final ByteRange UNSATISFIABLE = new ByteRange(-1, -1, 0);
+
+  private final long first;
+  private final long last;
+  private final long totalLength;
+
+  public ByteRange(long first, long last, long totalLength) {
+    this.first = first;
+    this.last = last;
+    this.totalLength = totalLength;
+  }
+
+  /**
+   * @return the requested range, {@link #UNSATISFIABLE}, or <code>null</code> if the header
+   * can not be honoured and the full content should be sent.
+   */
+  public static ByteRange parse(String header, long totalLength) {
+    if (header == null)
+      return null;
+    Matcher matcher = RANGE_PATTERN.matcher(header);
+    if (!matcher.matches())
+      return null;
+    String start = matcher.group(1);
+    String end = matcher.group(2);
+    try {
+      if (start.isEmpty()) {
+        if (end.isEmpty())
+          return null;
+        long suffixLength = Long.parseLong(end);
+        if (suffixLength == 0 || totalLength == 0)
+          return UNSATISFIABLE;
+        return new ByteRange(Math.max(0, totalLength - suffixLength), totalLength - 1, totalLength);
+      }
+      long first = Long.parseLong(start);
+      if (first >= totalLength)
+        return UNSATISFIABLE;
+      long last = end.isEmpty() ? totalLength - 1 : Long.parseLong(end);
+      if (last < first)
+        return null;
+      return new ByteRange(first, Math.min(last, totalLength - 1), totalLength);
+    } catch (NumberFormatException e) {
+      // Numbers that don't fit in a long: ignore the header
+      return null;
+    }
+  }
+
+  public long getFirst() {
+    return first;
+  }
+
+  public long getLast() {
+    return last;
+  }
+
+  public long getLength() {
+    return last - first + 1;
+  }
+
+  public String contentRange() {
+    return "bytes " + first + "-" + last + "/" + totalLength;
+  }
+
+  public static String unsatisfiedContentRange(long totalLength) {
+    return "bytes */" + totalLength;
+  }
+}
@@ -6,10 +6,37 @@ import java.io.Closeable;
 import java.io.IOException;
 import java.io.Writer;
 import java.nio.ByteBuffer;
+import java.nio.CharBuffer;
+import java.nio.charset.Charset;
+import java.nio.charset.CharsetEncoder;
+import java.nio.charset.CodingErrorAction;
 
+import util.FileUtil;
+
+/**
+ * Response sent in chunks while it is produced.
+ * <p>
+ * Text written through {@link #getWriter()} is encoded into a reusable chunk buffer, which is sent when it is full
+ * or when the writer (or this response) is flushed, so many small fragments end up in a few chunks.
+ * Producers flush at points where the client should see progress. Bytes and text passed to <code>add()</code> are
+ * sent right away, together with anything written before.
+ */
 public class ChunkedResponse extends Response implements Closeable {
+  static final int CHUNK_SIZE = 8 * 1024;
+  // room for the size line in front of the payload: up to 8 hex digits and CRLF
+  private static final int SIZE_LINE_SPACE = 10;
+  private static final int PAYLOAD_END = SIZE_LINE_SPACE + CHUNK_SIZE;
+  private static final byte[] HEX_DIGITS = "0123456789abcdef".getBytes();
+
   private ResponseSender sender;
   private int bytesSent = 0;
+  // size line, payload and the CRLF that ends the chunk
+  private final byte[] chunk = new byte[PAYLOAD_END + 2];
+  private final ByteBuffer payload = ByteBuffer.wrap(chunk, 0, PAYLOAD_END);
+  private int payloadEnd = SIZE_LINE_SPACE;
+  private CharsetEncoder encoder;
+  // high surrogate at the end of the last text written, waiting for the rest of its character
+  private final CharBuffer pendingSurrogate = CharBuffer.allocate(2);
   private boolean dontChunk = false;
   private ChunkedDataProvider chunckedDataProvider;
   private boolean chunksClosed = false;
@@ -40,29 +67,115 @@ public class ChunkedResponse extends Response implements Closeable {
     return Integer.toHexString(value);
   }
 
-  public void add(String text) throws IOException {
-    if (text != null)
-      add(getEncodedBytes(text));
+  public synchronized void add(String text) throws IOException {
+    if (text != null) {
+      write(CharBuffer.wrap(text));
+      sendChunk();
+    }
   }
 
-  public void add(byte[] bytes) throws IOException {
+  public synchronized void add(byte[] bytes) throws IOException {
     if (bytes == null || bytes.length == 0)
       return;
-    if (dontChunk) {
+    checkChunksNotClosed();
+    if (bytes.length > PAYLOAD_END - payloadEnd)
+      sendChunk();
+    if (bytes.length <= CHUNK_SIZE) {
+      System.arraycopy(bytes, 0, chunk, payloadEnd, bytes.length);
+      payloadEnd += bytes.length;
+      sendChunk();
+    } else if (dontChunk) {
       sender.send(bytes);
     } else {
-      if (chunksClosed) {
-        throw new IllegalStateException("Cannot add bytes after closing chunks");
-      }
-      String sizeLine = asHex(bytes.length) + CRLF;
-      ByteBuffer chunk = ByteBuffer.allocate(sizeLine.length() + bytes.length + 2);
-      chunk.put(sizeLine.getBytes()).put(bytes).put(CRLF.getBytes());
-      sender.send(chunk.array());
+      sender.send((asHex(bytes.length) + CRLF).getBytes());
+      sender.send(bytes);
+      sender.send(CRLF.getBytes());
     }
     bytesSent += bytes.length;
   }
 
-  public void addTrailingHeader(String key, String value) throws IOException {
+  /**
+   * Send the text written so far, e.g. when the client should see the progress made.
+   */
+  public synchronized void flush() throws IOException {
+    sendChunk();
+  }
+
+  private synchronized void write(CharBuffer text) throws IOException {
+    if (!text.hasRemaining())
+      return;
+    checkChunksNotClosed();
+    if (encoder == null) {
+      encoder = Charset.forName(FileUtil.CHARENCODING).newEncoder()
+        .onMalformedInput(CodingErrorAction.REPLACE)
+        .onUnmappableCharacter(CodingErrorAction.REPLACE);
+    }
+    while (pendingSurrogate.position() > 0 && text.hasRemaining()) {
+      pendingSurrogate.put(text.get());
+      pendingSurrogate.flip();
+      encode(pendingSurrogate);
+      pendingSurrogate.compact();
+    }
+    encode(text);
+    if (text.hasRemaining()) {
+      pendingSurrogate.put(text.get());
+    }
+  }
+
+  private void encode(CharBuffer text) throws IOException {
+    payload.limit(PAYLOAD_END);
+    payload.position(payloadEnd);
+    while (encoder.encode(text, payload, false).isOverflow()) {
+      bytesSent += payload.position() - payloadEnd;
+      payloadEnd = payload.position();
+      sendChunk();
+      payload.position(payloadEnd);
+    }
+    bytesSent += payload.position() - payloadEnd;
+    payloadEnd = payload.position();
+  }
+
+  private void sendChunk() throws IOException {
+    int length = payloadEnd - SIZE_LINE_SPACE;
+    if (length == 0)
+      return;
+    if (dontChunk) {
+      sender.send(chunk, SIZE_LINE_SPACE, length);
+    } else {
+      int start = SIZE_LINE_SPACE - 2;
+      chunk[start] = '\r';
+      chunk[start + 1] = '\n';
+      for (int value = length; value != 0; value >>>= 4) {
+        chunk[--start] = HEX_DIGITS[value & 0xf];
+      }
+      chunk[payloadEnd] = '\r';
+      chunk[payloadEnd + 1] = '\n';
+      sender.send(chunk, start, payloadEnd + 2 - start);
+    }
+    payloadEnd = SIZE_LINE_SPACE;
+  }
+
+  private void sendPendingText() throws IOException {
+    if (pendingSurrogate.position() > 0) {
+      // the rest of the character never came, send a replacement like String.getBytes() does
+      pendingSurrogate.clear();
+      byte[] replacement = encoder.replacement();
+      if (replacement.length > PAYLOAD_END - payloadEnd)
+        sendChunk();
+      System.arraycopy(replacement, 0, chunk, payloadEnd, replacement.length);
+      payloadEnd += replacement.length;
+      bytesSent += replacement.length;
+    }
+    sendChunk();
+  }
+
+  private void checkChunksNotClosed() {
+    if (!dontChunk && chunksClosed) {
+      throw new IllegalStateException("Cannot add bytes after closing chunks");
+    }
+  }
+
+  public synchronized void addTrailingHeader(String key, String value) throws IOException {
     if (!dontChunk) {
       if (trailerClosed) {
         throw new IllegalStateException("Cannot add headers after closing trailer");
@@ -73,7 +186,8 @@ public class ChunkedResponse extends Response implements Closeable {
     }
   }
 
-  public void closeChunks() throws IOException {
+  public synchronized void closeChunks() throws IOException {
+    sendPendingText();
     if (!dontChunk) {
       if (!chunksClosed) {
         chunksClosed = true;
@@ -82,7 +196,7 @@ public class ChunkedResponse extends Response implements Closeable {
     }
   }
 
-  public void closeTrailer() throws IOException {
+  public synchronized void closeTrailer() throws IOException {
     if (!dontChunk) {
       if (!trailerClosed) {
         trailerClosed = true;
@@ -117,21 +231,28 @@ public class ChunkedResponse extends Response implements Closeable {
       @Override
       public void close() throws IOException {
         //sender.close();
+        ChunkedResponse.this.flush();
       }
 
       @Override
       public void flush() throws IOException {
-        // sender.flush(); -- flush is done on write
+        ChunkedResponse.this.flush();
       }
 
       @Override
       public void write(String str) throws IOException {
-        add(str);
+        if (str != null)
+          ChunkedResponse.this.write(CharBuffer.wrap(str));
+      }
+
+      @Override
+      public void write(String str, int off, int len) throws IOException {
+        ChunkedResponse.this.write(CharBuffer.wrap(str, off, off + len));
       }
 
       @Override
       public void write(char[] cbuf, int off, int len) throws IOException {
-        write(new String(cbuf, off, len));
+        ChunkedResponse.this.write(CharBuffer.wrap(cbuf, off, len));
       }
     };
   }
@@ -7,12 +7,13 @@ import java.io.FileInputStream;
 import java.io.FileNotFoundException;
 import java.io.IOException;
 import java.io.InputStream;
-
-import util.StreamReader;
+import java.nio.channels.FileChannel;
 
 public class InputStreamResponse extends Response {
-  private StreamReader reader;
-  private int contentSize = 0;
+  private InputStream input;
+  private File file;
+  private long contentSize = 0;
+  private long position = 0;
 
   public InputStreamResponse() {
     super("html");
@@ -22,34 +23,68 @@ public class InputStreamResponse extends Response {
   public void sendTo(ResponseSender sender) throws IOException {
     try {
       sender.send(makeHttpHeaders().getBytes());
-      while (!reader.isEof())
-        sender.send(reader.readBytes(1000));
+      if (file != null)
+        sendFile(sender);
+      else
+        sendStream(sender);
     } finally {
-      reader.close();
+      if (input != null)
+        input.close();
       sender.close();
     }
   }
 
+  private void sendFile(ResponseSender sender) throws IOException {
+    try (FileChannel channel = new FileInputStream(file).getChannel()) {
+      sender.sendFile(channel, position, contentSize);
+    }
+  }
+
+  private void sendStream(ResponseSender sender) throws IOException {
+    byte[] buffer = new byte[(int) Math.max(1, Math.min(contentSize, ResponseSender.FILE_BUFFER_SIZE))];
+    long remaining = contentSize;
+    while (remaining > 0) {
+      int read = input.read(buffer, 0, (int) Math.min(remaining, buffer.length));
+      if (read < 0)
+        break;
+      sender.send(buffer, 0, read);
+      remaining -= read;
+    }
+  }
+
   @Override
   protected void addContentHeaders() {
     super.addContentHeaders();
-    addHeader("Content-Length", getContentSize() + "");
+    addHeader("Content-Length", Long.toString(contentSize));
   }
 
   @Override
   public int getContentSize() {
-    return contentSize;
+    return (int) Math.min(contentSize, Integer.MAX_VALUE);
   }
 
   public void setBody(InputStream input, int size) {
-    reader = new StreamReader(input);
+    this.input = input;
     contentSize = size;
   }
 
   public void setBody(File file) throws FileNotFoundException {
-    FileInputStream input;
-    input = new FileInputStream(file);
-    int size = (int) file.length();
-    setBody(input, size);
+    if (!file.isFile())
+      throw new FileNotFoundException(file.getPath());
+    this.file = file;
+    position = 0;
+    contentSize = file.length();
+  }
+
+  /**
+   * Only send part of the file set by {@link #setBody(File)}, as a <code>206 Partial Content</code> response.
+   */
+  public void setRange(ByteRange range) {
+    if (file == null)
+      throw new IllegalStateException("Ranges can only be served from a file body");
+    position = range.getFirst();
+    contentSize = range.getLength();
+    setStatus(206);
+    addHeader("Content-Range", range.contentRange());
   }
 }
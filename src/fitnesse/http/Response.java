@@ -208,6 +208,7 @@ public abstract class Response {
       put(203, "Non-Authoritative Information");
       put(204, "No Content");
       put(205, "Reset Content");
+      put(206, "Partial Content");
       put(300, "Multiple Choices");
       put(301, "Moved Permanently");
       put(302, "Found");
@@ -3,14 +3,47 @@
 package fitnesse.http;
 
 import java.io.Closeable;
+import java.io.EOFException;
 import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.util.Arrays;
 
 public interface ResponseSender extends Closeable {
+  int FILE_BUFFER_SIZE = 64 * 1024;
+
   void send(byte[] bytes) throws IOException;
 
+  default void send(byte[] bytes, int offset, int length) throws IOException {
+    if (offset == 0 && length == bytes.length)
+      send(bytes);
+    else
+      send(Arrays.copyOfRange(bytes, offset, offset + length));
+  }
+
   default void sendLine(String line) throws IOException {
     send(line.getBytes());
     send(System.lineSeparator().getBytes());
   }
 
+  /**
+   * Send <code>count</code> bytes of a file, starting at <code>position</code>.
+   * This default copies through one bounded buffer. Senders that have access to a
+   * channel can override it to let the operating system do the transfer.
+   */
+  default void sendFile(FileChannel channel, long position, long count) throws IOException {
+    ByteBuffer buffer = ByteBuffer.allocate((int) Math.max(1, Math.min(count, FILE_BUFFER_SIZE)));
+    long remaining = count;
+    while (remaining > 0) {
+      buffer.clear();
+      if (remaining < buffer.capacity())
+        buffer.limit((int) remaining);
+      int read = channel.read(buffer, position);
+      if (read < 0)
+        throw new EOFException("File ended " + remaining + " bytes before the expected length");
+      send(buffer.array(), 0, read);
+      position += read;
+      remaining -= read;
+    }
+  }
 }
@@ -8,10 +8,13 @@ import fitnesse.testrunner.MultipleTestsRunner;
 import fitnesse.testrunner.SuiteContentsFinder;
 import fitnesse.testrunner.run.FileBasedTestRunFactory;
 import fitnesse.testrunner.run.PartitioningTestRunFactory;
+import fitnesse.testrunner.run.PerTestSystemTestRun;
 import fitnesse.testrunner.run.TestRun;
 import fitnesse.testsystems.ConsoleExecutionLogListener;
 import fitnesse.testsystems.TestExecutionException;
 import fitnesse.testsystems.TestSummary;
+import fitnesse.util.partitioner.EqualLengthListPartitioner;
+import fitnesse.wiki.PageCrawler;
 import fitnesse.wiki.WikiPage;
 import org.apache.commons.lang3.tuple.ImmutablePair;
 import org.apache.commons.lang3.tuple.Pair;
@@ -32,6 +35,10 @@ import java.util.Collections;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
 
 import static fitnesse.junit.JUnitHelper.createTestRunner;
 import static fitnesse.junit.JUnitHelper.getSuiteRootPage;
@@ -125,6 +132,22 @@ public class FitNesseRunner extends ParentRunner<WikiPage> {
     String value() default "";
     String systemProperty() default "";
   }
+  /**
+   * The <code>Parallel</code> annotation specifies the pages of the suite should be split in a number of groups
+   * that are run at the same time. Each group is run by its own test runner, starting its own test systems, and runs
+   * the suite set ups and tear downs it needs. Results are still reported per page.
+   * In debug mode the test systems of all groups run in this JVM, so fixtures must not share static state;
+   * use <code>@DebugMode(false)</code> to give each group a separate SUT.
+   * The default is no parallel groups: all pages are run one after the other.
+   */
+  @Retention(RetentionPolicy.RUNTIME)
+  @Target(ElementType.TYPE)
+  public @interface Parallel {
+
+    /** @return number of groups to run at the same time.*/
+    int value() default 0;
+    String systemProperty() default "";
+  }
   /**
    * The <code>FitnesseDir</code> annotation specifies the absolute or relative
    * path to the directory in which FitNesseRoot can be found. You can either specify
@@ -196,6 +219,7 @@ public class FitNesseRunner extends ParentRunner<WikiPage> {
   private String excludeSuiteFilter;
   private Pair<Integer, Integer> partition;
   private String partitionFile;
+  private int parallelGroups;
   private boolean debugMode;
   private boolean preventSystemExit;
   private FitNesseContext context;
@@ -257,6 +281,12 @@ public class FitNesseRunner extends ParentRunner<WikiPage> {
       errors.add(e);
     }
 
+    try {
+      this.parallelGroups = getParallelGroups(suiteClass);
+    } catch (Exception e) {
+      errors.add(e);
+    }
+
     try {
       this.debugMode = useDebugMode(suiteClass);
     } catch (Exception e) {
@@ -431,6 +461,22 @@ public class FitNesseRunner extends ParentRunner<WikiPage> {
       "In annotation @PartitionFile you have to specify either 'value' or 'systemProperty'");
   }
 
+  protected int getParallelGroups(Class<?> klass) throws InitializationError {
+    Parallel parallelAnnotation = klass.getAnnotation(Parallel.class);
+    if (parallelAnnotation == null) {
+      return 1;
+    }
+    if (parallelAnnotation.value() > 0) {
+      return parallelAnnotation.value();
+    }
+    if (!"".equals(parallelAnnotation.systemProperty())) {
+      String groups = System.getProperty(parallelAnnotation.systemProperty());
+      return groups == null ? 1 : Integer.parseInt(groups);
+    }
+    throw new InitializationError(
+      "In annotation @Parallel you have to specify either 'value' or 'systemProperty'");
+  }
+
   public int getPort(Class<?> klass) {
     Port portAnnotation = klass.getAnnotation(Port.class);
     if (null == portAnnotation) {
@@ -474,8 +520,13 @@ public class FitNesseRunner extends ParentRunner<WikiPage> {
 
   @Override
   public void run(final RunNotifier notifier) {
-    TestRun run = getTestRun();
-    runPages(run, notifier);
+    List<List<WikiPage>> groups = splitIntoGroups(getChildren());
+    if (groups.size() > 1) {
+      runPagesInParallel(groups, notifier);
+    } else {
+      TestRun run = getTestRun();
+      runPages(run, notifier);
+    }
   }
 
   @Override
@@ -489,22 +540,111 @@ public class FitNesseRunner extends ParentRunner<WikiPage> {
   }
 
   protected void runPages(TestRun run, final RunNotifier notifier) {
-    MultipleTestsRunner testRunner = createTestRunner(run, context, debugMode);
-    addTestSystemListeners(notifier, testRunner, suiteClass, getDescriptionFactory());
-    addExecutionLogListener(notifier, testRunner, suiteClass);
-    System.setProperty(SystemExitSecurityManager.PREVENT_SYSTEM_EXIT, String.valueOf(preventSystemExit));
     try {
-      executeTests(testRunner);
+      JavaFormatter testFormatter = createFormatter();
+      executeTests(run, notifier, testFormatter);
+      assertAtLeastOneTest(testFormatter.getTotalSummary());
     } catch (AssertionError | Exception e) {
-      Description description = getDescriptionFactory().createSuiteDescription(suiteClass);
-      notifier.fireTestFailure(new Failure(description, e));
+      fireSuiteFailure(notifier, e);
     }
   }
 
+  /**
+   * Runs each group of pages on its own test runner, all groups at the same time.
+   * The html report of each page is written as it completes, the summary once all groups are done.
+   */
+  protected void runPagesInParallel(List<List<WikiPage>> groups, final RunNotifier notifier) {
+    JavaFormatter suiteFormatter;
+    List<JavaFormatter> groupFormatters = new ArrayList<>(groups.size());
+    try {
+      suiteFormatter = createFormatter();
+      for (int i = 0; i < groups.size(); i++) {
+        JavaFormatter groupFormatter = createFormatter();
+        groupFormatter.setWriteSummaryOnClose(false);
+        groupFormatters.add(groupFormatter);
+      }
+    } catch (IOException e) {
+      fireSuiteFailure(notifier, e);
+      return;
+    }
+
+    ExecutorService executor = Executors.newFixedThreadPool(groups.size(), r -> {
+      Thread thread = new Thread(r, "FitNesse group " + suiteName);
+      thread.setDaemon(true);
+      return thread;
+    });
+    try {
+      List<Future<?>> futures = new ArrayList<>(groups.size());
+      for (int i = 0; i < groups.size(); i++) {
+        List<WikiPage> group = groups.get(i);
+        JavaFormatter groupFormatter = groupFormatters.get(i);
+        futures.add(executor.submit(() -> {
+          try {
+            executeTests(createGroupTestRun(group), notifier, groupFormatter);
+          } catch (AssertionError | Exception e) {
+            fireSuiteFailure(notifier, e);
+          }
+        }));
+      }
+      for (Future<?> future : futures) {
+        future.get();
+      }
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+      fireSuiteFailure(notifier, e);
+    } catch (ExecutionException e) {
+      fireSuiteFailure(notifier, e.getCause());
+    } finally {
+      executor.shutdownNow();
+    }
+
+    try {
+      for (JavaFormatter groupFormatter : groupFormatters) {
+        suiteFormatter.addResults(groupFormatter);
+      }
+      suiteFormatter.close();
+      assertAtLeastOneTest(suiteFormatter.getTotalSummary());
+    } catch (AssertionError | Exception e) {
+      fireSuiteFailure(notifier, e);
+    }
+  }
+
+  /**
+   * Splits the tests in near equal groups, keeping their order so pages using the same test system stay together.
+   * Suite set ups and tear downs are left out, each group's test run adds the ones it needs.
+   */
+  protected List<List<WikiPage>> splitIntoGroups(List<WikiPage> pages) {
+    List<WikiPage> tests = new ArrayList<>(pages);
+    tests.removeIf(WikiPage::isSuiteSetupOrTearDown);
+    int groupCount = Math.min(parallelGroups, tests.size());
+    if (groupCount < 2) {
+      return Collections.singletonList(pages);
+    }
+    return new EqualLengthListPartitioner<WikiPage>().split(tests, groupCount);
+  }
+
   protected TestRun createTestRun(List<WikiPage> pages) {
     return JUnitHelper.createTestRun(context, pages);
   }
 
+  /**
+   * The pages of a group were already selected by the suite's test run (e.g. its partition),
+   * so they are run as is. They are looked up again in a page tree of the group's own: pages of one tree
+   * share their parents, and parsing those is not safe from several threads.
+   */
+  protected TestRun createGroupTestRun(List<WikiPage> pages) {
+    PageCrawler crawler = context.getRootPage(createCustomProperties()).getPageCrawler();
+    List<WikiPage> groupPages = new ArrayList<>(pages.size());
+    for (WikiPage page : pages) {
+      WikiPage groupPage = crawler.getPage(page.getFullPath());
+      if (groupPage == null) {
+        throw new IllegalStateException("Page " + page.getFullPath() + " no longer exists");
+      }
+      groupPages.add(groupPage);
+    }
+    return new PerTestSystemTestRun(groupPages);
+  }
+
   protected void addTestSystemListeners(RunNotifier notifier, MultipleTestsRunner testRunner, Class<?> suiteClass,
                                         DescriptionFactory descriptionFactory) {
     testRunner.addTestSystemListener(new JUnitRunNotifierResultsListener(notifier, suiteClass, descriptionFactory));
@@ -572,17 +712,31 @@ public class FitNesseRunner extends ParentRunner<WikiPage> {
             ConfigurationParameter.OMITTING_UPDATES, true));
   }
 
-  private void executeTests(MultipleTestsRunner testRunner) throws IOException, TestExecutionException {
+  private JavaFormatter createFormatter() throws IOException {
     JavaFormatter testFormatter = new JavaFormatter(suiteName);
     testFormatter.setResultsRepository(new JavaFormatter.FolderResultsRepository(outputDir));
+    return testFormatter;
+  }
+
+  private void executeTests(TestRun run, RunNotifier notifier, JavaFormatter testFormatter) throws TestExecutionException {
+    MultipleTestsRunner testRunner = createTestRunner(run, context, debugMode);
+    addTestSystemListeners(notifier, testRunner, suiteClass, getDescriptionFactory());
+    addExecutionLogListener(notifier, testRunner, suiteClass);
+    System.setProperty(SystemExitSecurityManager.PREVENT_SYSTEM_EXIT, String.valueOf(preventSystemExit));
     testRunner.addTestSystemListener(testFormatter);
 
     testRunner.executeTestPages();
-    TestSummary summary = testFormatter.getTotalSummary();
+  }
 
+  private void assertAtLeastOneTest(TestSummary summary) {
     assertTrue(msgAtLeastOneTest(suiteName, summary), summary.getRight() > 0 || summary.getWrong() > 0 || summary.getExceptions() > 0);
   }
 
+  private void fireSuiteFailure(RunNotifier notifier, Throwable e) {
+    Description description = getDescriptionFactory().createSuiteDescription(suiteClass);
+    notifier.fireTestFailure(new Failure(description, e));
+  }
+
   private List<WikiPage> listOf(WikiPage page) {
     List<WikiPage> list = new ArrayList<>(1);
     list.add(page);
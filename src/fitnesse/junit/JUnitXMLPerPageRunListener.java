@@ -39,7 +39,8 @@ public class JUnitXMLPerPageRunListener extends RunListener {
   // default directory for maven-failsafe-plugin
   private static final String OUTPUT_PATH = "target/failsafe-reports/";
   private final JUnitXMLTestResultRecorder testResultRecorder;
-  private TimeMeasurement timeMeasurement;
+  // per thread, as pages of a suite can be run in parallel groups
+  private final ThreadLocal<TimeMeasurement> timeMeasurement = new ThreadLocal<>();
 
   /**
    * Creates new.
@@ -58,14 +59,14 @@ public class JUnitXMLPerPageRunListener extends RunListener {
 
   @Override
   public void testStarted(Description description) throws Exception {
-    timeMeasurement = new TimeMeasurement().start();
+    timeMeasurement.set(new TimeMeasurement().start());
     super.testStarted(description);
   }
 
   @Override
   public void testFinished(Description description) throws Exception {
     super.testFinished(description);
-    if (!timeMeasurement.isStopped()) {
+    if (!timeMeasurement.get().isStopped()) {
       testResultRecorder.recordTestResult(getTestName(description), 0, 0, 0, null, getExecutionTime());
     }
   }
@@ -86,7 +87,7 @@ public class JUnitXMLPerPageRunListener extends RunListener {
   @Override
   public void testIgnored(Description description) throws Exception {
     super.testIgnored(description);
-    if (!timeMeasurement.isStopped()) {
+    if (!timeMeasurement.get().isStopped()) {
       testResultRecorder.recordTestResult(getTestName(description), 1, 0, 0, null, getExecutionTime());
     }
   }
@@ -96,10 +97,11 @@ public class JUnitXMLPerPageRunListener extends RunListener {
    */
   protected long getExecutionTime() {
     long executionTime = 0;
-    if (timeMeasurement != null) {
-      executionTime = timeMeasurement.elapsed();
-      if (!timeMeasurement.isStopped()) {
-        timeMeasurement.stop();
+    TimeMeasurement measurement = timeMeasurement.get();
+    if (measurement != null) {
+      executionTime = measurement.elapsed();
+      if (!measurement.isStopped()) {
+        measurement.stop();
       }
     }
     return executionTime;
@@ -27,6 +27,7 @@ public class JavaFormatter extends BaseFormatter implements Closeable {
 
   private String mainPageName;
   private boolean isSuite = true;
+  private boolean writeSummaryOnClose = true;
 
 
   public interface ResultsRepository extends Closeable {
@@ -192,9 +193,23 @@ public class JavaFormatter extends BaseFormatter implements Closeable {
     this.mainPageName = suiteName;
   }
 
+  /**
+   * Adds the results of the pages reported to another formatter, e.g. one for a group of pages of the same suite.
+   */
+  void addResults(JavaFormatter other) {
+    visitedTestPages.addAll(other.visitedTestPages);
+    testSummaries.putAll(other.testSummaries);
+    totalSummary.add(other.totalSummary);
+    isSuite = isSuite && other.isSuite;
+  }
+
+  void setWriteSummaryOnClose(boolean writeSummaryOnClose) {
+    this.writeSummaryOnClose = writeSummaryOnClose;
+  }
+
   @Override
   public void close() throws IOException {
-    if (isSuite)
+    if (isSuite && writeSummaryOnClose)
       writeSummary(mainPageName);
   }
 
@@ -53,7 +53,11 @@ public class PluginsLoader {
   }
 
   public Logger makeLogger(String logDirectory) {
-    return logDirectory != null ? new Logger(logDirectory) : null;
+    return makeLogger(logDirectory, null);
+  }
+
+  public Logger makeLogger(String logDirectory, String logFormat) {
+    return logDirectory != null ? new Logger(logDirectory, logFormat) : null;
   }
 
   public Authenticator makeAuthenticator(String authenticationParameter) throws IOException, PluginException {
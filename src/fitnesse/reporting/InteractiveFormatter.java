@@ -35,6 +35,17 @@ public abstract class InteractiveFormatter extends BaseFormatter implements Test
     }
   }
 
+  /**
+   * Send the data written so far, so the progress of the run shows.
+   */
+  protected void flushData() {
+    try {
+      writer.flush();
+    } catch (IOException e) {
+      throw new RuntimeException(e);
+    }
+  }
+
   protected void updateSummaryDiv(String html) {
     writeData(JavascriptUtil.makeReplaceElementScript("test-summary", html).html());
   }
@@ -83,6 +94,7 @@ public abstract class InteractiveFormatter extends BaseFormatter implements Test
     wasInterrupted = true;
 
     writeData(String.format("<span class=\"error\">Could not complete testing: %s</span>", cause.toString()));
+    flushData();
   }
 
   @Override
@@ -119,10 +131,12 @@ public abstract class InteractiveFormatter extends BaseFormatter implements Test
   @Override
   public void unableToStartTestSystem(String testSystemName, Throwable cause) {
     writeData(String.format("<span class=\"error\">Unable to start test system '%s': %s</span>", testSystemName, cause.toString()));
+    flushData();
   }
 
   public void setTrackingId(String stopResponderId) {
     addStopLink(stopResponderId);
+    flushData();
   }
 
   protected void AddLogLink() {
@@ -92,6 +92,7 @@ public class SuiteHtmlFormatter extends InteractiveFormatter implements Closeabl
     String fullPathName = testPage.getFullPath();
 
     announceStartNewTest(getRelativeName(), fullPathName);
+    flushData();
   }
 
   private String getProgressHtml(String relativeName) {
@@ -155,6 +156,7 @@ public class SuiteHtmlFormatter extends InteractiveFormatter implements Closeabl
   @Override
   public void testOutputChunk(TestPage testPage, String output) {
     writeData(output);
+    flushData();
   }
 
 
@@ -165,6 +167,7 @@ public class SuiteHtmlFormatter extends InteractiveFormatter implements Closeabl
 
     processTestResults(getRelativeName(testPage), testSummary);
     latestTestTime = null;
+    flushData();
   }
 
   @Override
@@ -175,6 +178,7 @@ public class SuiteHtmlFormatter extends InteractiveFormatter implements Closeabl
       String tag = String.format("<h3>%s</h3>\n<ul id=\"%s\"></ul>", testSystemName, testSummariesId);
       HtmlTag insertScript = JavascriptUtil.makeAppendElementScript(TEST_SUMMARIES_ID, tag);
       writeData(insertScript.html());
+      flushData();
     }
   }
 
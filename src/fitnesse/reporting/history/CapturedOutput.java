@@ -0,0 +1,258 @@
+package fitnesse.reporting.history;
+
+import java.io.BufferedWriter;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStreamWriter;
+import java.io.SequenceInputStream;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Deque;
+import java.util.List;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+/**
+ * Output of a test system (standard output or standard error), with bounded memory use.
+ * <p>
+ * Only the first and the last lines are kept in memory; the lines in between are replaced by a marker.
+ * When lines are dropped and a directory has been set, the complete output is written to a log file in
+ * that directory instead. That file is rotated once it grows beyond half the configured size, so the most
+ * recent output is kept on disk.
+ * <p>
+ * The test history keeps the log files next to its result files. Their names start with the date of the
+ * result, so they are purged together with it.
+ * <p>
+ * Limits can be changed with the system properties <code>execution.log.head.lines</code>,
+ * <code>execution.log.tail.lines</code> and <code>execution.log.file.size</code> (in bytes, 0 to disable the file).
+ */
+public class CapturedOutput {
+  private static final Logger LOG = Logger.getLogger(CapturedOutput.class.getName());
+
+  public static final String HEAD_LINES_PROPERTY = "execution.log.head.lines";
+  public static final String TAIL_LINES_PROPERTY = "execution.log.tail.lines";
+  public static final String FILE_SIZE_PROPERTY = "execution.log.file.size";
+
+  private static final int DEFAULT_HEAD_LINES = 1000;
+  private static final int DEFAULT_TAIL_LINES = 1000;
+  private static final long DEFAULT_FILE_SIZE = 64L * 1024 * 1024;
+
+  private final String name;
+  private final int headLines;
+  private final int tailLines;
+  private final long fileSize;
+
+  private final StringBuilder head = new StringBuilder();
+  private final Deque<String> tail = new ArrayDeque<>();
+  private int headCount;
+  private long omitted;
+  private File directory;
+  private String fileNamePrefix;
+  private LogFile logFile;
+  private String logFileName;
+
+  public CapturedOutput(String name) {
+    this(name, Integer.getInteger(HEAD_LINES_PROPERTY, DEFAULT_HEAD_LINES),
+      Integer.getInteger(TAIL_LINES_PROPERTY, DEFAULT_TAIL_LINES),
+      Long.getLong(FILE_SIZE_PROPERTY, DEFAULT_FILE_SIZE));
+  }
+
+  /**
+   * @param name part of the name of the log file.
+   */
+  public CapturedOutput(String name, int headLines, int tailLines, long fileSize) {
+    this.name = name;
+    this.headLines = headLines;
+    this.tailLines = tailLines;
+    this.fileSize = fileSize;
+  }
+
+  public synchronized void addLine(String line) {
+    if (logFile != null) {
+      logFile.writeLine(line);
+    }
+    if (headCount < headLines) {
+      head.append(line).append('\n');
+      headCount++;
+      return;
+    }
+    tail.addLast(line);
+    if (tail.size() > tailLines) {
+      if (omitted == 0) {
+        startLogFile();
+      }
+      tail.removeFirst();
+      omitted++;
+    }
+  }
+
+  /**
+   * Append text as is, for output read back from a report.
+   */
+  public synchronized void append(String text) {
+    head.append(text);
+  }
+
+  /**
+   * @return number of lines not kept in memory.
+   */
+  public synchronized long getOmittedLines() {
+    return omitted;
+  }
+
+  /**
+   * Write the complete output to a file in the directory once lines are dropped. Without a directory,
+   * only the first and last lines are kept.
+   */
+  public synchronized void setLogDirectory(File directory, String fileNamePrefix) {
+    this.directory = directory;
+    this.fileNamePrefix = fileNamePrefix;
+  }
+
+  /**
+   * @return name of the file with the complete output, in the log directory, or <code>null</code> if there is none.
+   */
+  public synchronized String getLogFile() {
+    if (logFile != null) {
+      logFile.close();
+    }
+    return logFileName;
+  }
+
+  public synchronized void setLogFile(String logFileName) {
+    this.logFileName = logFileName;
+  }
+
+  /**
+   * Stop writing to the log file for now; it is reopened when more output arrives.
+   */
+  public synchronized void close() {
+    if (logFile != null) {
+      logFile.close();
+    }
+  }
+
+  @Override
+  public synchronized String toString() {
+    if (tail.isEmpty())
+      return head.toString();
+    StringBuilder output = new StringBuilder(head);
+    if (omitted > 0) {
+      output.append("... ").append(omitted).append(" lines omitted ...\n");
+    }
+    for (String line : tail)
+      output.append(line).append('\n');
+    return output.toString();
+  }
+
+  private void startLogFile() {
+    if (fileSize <= 0 || directory == null)
+      return;
+    try {
+      if (!directory.isDirectory() && !directory.mkdirs())
+        throw new IOException("Unable to create directory " + directory);
+      File file = File.createTempFile(fileNamePrefix + name + "_", ".log", directory);
+      logFile = new LogFile(file, fileSize / 2);
+      logFileName = file.getName();
+      // Lines up to now (head and tail, including the one being dropped) are still in memory
+      logFile.write(head);
+      for (String line : tail)
+        logFile.writeLine(line);
+    } catch (IOException e) {
+      LOG.log(Level.WARNING, "Unable to create execution log file", e);
+      logFile = null;
+    }
+  }
+
+  /**
+   * Read the complete output from a log file written by this class.
+   *
+   * @return the output, or <code>null</code> if the log file no longer exists.
+   */
+  public static InputStream openLogFile(File logFile) throws IOException {
+    List<InputStream> segments = new ArrayList<>(2);
+    for (File segment : LogFile.segments(logFile)) {
+      if (segment.isFile())
+        segments.add(new FileInputStream(segment));
+    }
+    if (segments.isEmpty())
+      return null;
+    return new SequenceInputStream(Collections.enumeration(segments));
+  }
+
+  public static long logFileLength(File logFile) {
+    long length = 0;
+    for (File segment : LogFile.segments(logFile))
+      length += segment.length();
+    return length;
+  }
+
+  /**
+   * A log file, and the previous segment (the file name with ".1" appended) once it has been rotated.
+   */
+  private static class LogFile {
+    private final File file;
+    private final File previous;
+    private final long segmentSize;
+    private Writer writer;
+    private long written;
+
+    LogFile(File file, long segmentSize) {
+      this.file = file;
+      this.previous = new File(file.getPath() + ".1");
+      this.segmentSize = segmentSize;
+    }
+
+    static File[] segments(File file) {
+      return new File[] { new File(file.getPath() + ".1"), file };
+    }
+
+    void writeLine(String line) {
+      write(line + '\n');
+    }
+
+    void write(CharSequence text) {
+      try {
+        if (writer == null) {
+          written = file.length();
+          writer = new BufferedWriter(new OutputStreamWriter(new FileOutputStream(file, true), StandardCharsets.UTF_8));
+        }
+        if (written >= segmentSize) {
+          rotate();
+        }
+        writer.append(text);
+        written += text.length();
+      } catch (IOException e) {
+        LOG.log(Level.WARNING, "Unable to write execution log file " + file, e);
+      }
+    }
+
+    private void rotate() throws IOException {
+      writer.close();
+      writer = null;
+      if (previous.exists() && !previous.delete())
+        throw new IOException("Unable to remove " + previous);
+      if (!file.renameTo(previous))
+        throw new IOException("Unable to rename " + file);
+      writer = new BufferedWriter(new OutputStreamWriter(new FileOutputStream(file), StandardCharsets.UTF_8));
+      written = 0;
+    }
+
+    void close() {
+      if (writer != null) {
+        try {
+          writer.close();
+        } catch (IOException e) {
+          LOG.log(Level.WARNING, "Unable to close execution log file " + file, e);
+        }
+        writer = null;
+      }
+    }
+  }
+}
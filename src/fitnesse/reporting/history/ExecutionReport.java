@@ -13,8 +13,10 @@ import org.w3c.dom.Element;
 import org.w3c.dom.NodeList;
 import org.xml.sax.SAXException;
 
+import java.io.File;
 import java.io.IOException;
 import java.text.ParseException;
+import java.text.SimpleDateFormat;
 import java.util.ArrayList;
 import java.util.Date;
 import java.util.List;
@@ -30,6 +32,8 @@ public abstract class ExecutionReport {
   public Date date;
   private long totalRunTimeInMillis = NO_RUN_TIME;
   private List<ExecutionLogReport> executionLogs = new ArrayList<>();
+  private File logDirectory;
+  private String logFileNamePrefix;
 
   protected ExecutionReport() {
     version = new FitNesseVersion().toString();
@@ -141,6 +145,8 @@ public abstract class ExecutionReport {
       String exitCode = XmlUtil.getTextValue(log, "exitCode");
       String stdOut = XmlUtil.getTextValue(log, "stdOut");
       String stdErr = XmlUtil.getTextValue(log, "stdErr");
+      String stdOutFile = XmlUtil.getTextValue(log, "stdOutFile");
+      String stdErrFile = XmlUtil.getTextValue(log, "stdErrFile");
 
       ExecutionLogReport report = new ExecutionLogReport(commandLine, testSystemName);
       if (StringUtils.isNotBlank(exitCode)) {
@@ -152,6 +158,8 @@ public abstract class ExecutionReport {
       if (stdErr != null) {
         report.setStdErr(stdErr);
       }
+      report.setStdOutFile(stdOutFile);
+      report.setStdErrFile(stdErrFile);
 
       NodeList exceptionNodes = log.getElementsByTagName("exception");
       if (exceptionNodes != null) {
@@ -201,8 +209,19 @@ public abstract class ExecutionReport {
     return new ArrayList<>(executionLogs);
   }
 
+  /**
+   * Keep the complete output of test systems, when it does not fit in the report, in files in the directory.
+   * The file names start with the date of the report, like the result file names in the test history.
+   */
+  public void setLogDirectory(File directory, long time) {
+    logDirectory = directory;
+    logFileNamePrefix = new SimpleDateFormat(PageHistory.TEST_RESULT_FILE_DATE_PATTERN).format(new Date(time)) + "_";
+    for (ExecutionLogReport log : executionLogs)
+      log.setLogDirectory(logDirectory, logFileNamePrefix);
+  }
+
   public void addExecutionContext(String command, String testSystemName) {
-    executionLogs.add(new ExecutionLogReport(command, testSystemName));
+    addExecutionLog(new ExecutionLogReport(command, testSystemName));
   }
 
   private ExecutionLogReport executionLogReport() {
@@ -211,11 +230,16 @@ public abstract class ExecutionReport {
       log = executionLogs.get(executionLogs.size() - 1);
     } else {
       log = new ExecutionLogReport("", "");
-      executionLogs.add(log);
+      addExecutionLog(log);
     }
     return log;
   }
 
+  private void addExecutionLog(ExecutionLogReport log) {
+    log.setLogDirectory(logDirectory, logFileNamePrefix);
+    executionLogs.add(log);
+  }
+
   public void addStdOut(String output) {
     executionLogReport().addStdOut(output);
   }
@@ -235,8 +259,8 @@ public abstract class ExecutionReport {
   public static class ExecutionLogReport {
     private final String command;
     private final String testSystemName;
-    private StringBuffer stdOut = new StringBuffer();
-    private StringBuffer stdErr = new StringBuffer();
+    private final CapturedOutput stdOut = new CapturedOutput("stdout");
+    private final CapturedOutput stdErr = new CapturedOutput("stderr");
     private int exitCode;
     private List<Throwable> exceptions = new ArrayList<>();
 
@@ -254,7 +278,7 @@ public abstract class ExecutionReport {
     }
 
     public void addStdOut(String output) {
-      stdOut.append(output).append("\n");
+      stdOut.addLine(output);
     }
 
     public void setStdOut(String output) {
@@ -266,7 +290,7 @@ public abstract class ExecutionReport {
     }
 
     public void addStdErr(String output) {
-      stdErr.append(output).append("\n");
+      stdErr.addLine(output);
     }
 
     public void setStdErr(String output) {
@@ -277,8 +301,41 @@ public abstract class ExecutionReport {
       return stdErr.toString();
     }
 
+    void setLogDirectory(File directory, String fileNamePrefix) {
+      stdOut.setLogDirectory(directory, fileNamePrefix);
+      stdErr.setLogDirectory(directory, fileNamePrefix);
+    }
+
+    /**
+     * @return name of the file with the complete standard output, if it did not fit in {@link #getStdOut()}.
+     */
+    public String getStdOutFile() {
+      return stdOut.getLogFile();
+    }
+
+    public void setStdOutFile(String file) {
+      stdOut.setLogFile(file);
+    }
+
+    /**
+     * @return name of the file with the complete standard error, if it did not fit in {@link #getStdErr()}.
+     */
+    public String getStdErrFile() {
+      return stdErr.getLogFile();
+    }
+
+    public void setStdErrFile(String file) {
+      stdErr.setLogFile(file);
+    }
+
     public void exitCode(int exitCode) {
       this.exitCode = exitCode;
+      close();
+    }
+
+    void close() {
+      stdOut.close();
+      stdErr.close();
     }
 
     public int getExitCode() {
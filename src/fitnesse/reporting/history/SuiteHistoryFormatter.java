@@ -43,8 +43,11 @@ public class SuiteHistoryFormatter extends BaseFormatter implements ExecutionLog
 
   @Override
   public void testSystemStarted(TestSystem testSystem) {
-    if (suiteTime == null)
+    if (suiteTime == null) {
       suiteTime = new TimeMeasurement().start();
+      if (PageType.fromWikiPage(getPage()) == PageType.SUITE)
+        suiteExecutionReport.setLogDirectory(writerFactory.getLogDirectory(context, getPage()), suiteTime.startedAt());
+    }
   }
 
   @Override
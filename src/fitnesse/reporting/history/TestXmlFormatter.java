@@ -25,6 +25,7 @@ import org.apache.velocity.Template;
 import org.apache.velocity.VelocityContext;
 
 import java.io.Closeable;
+import java.io.File;
 import java.io.IOException;
 import java.io.Writer;
 import java.util.Date;
@@ -48,6 +49,7 @@ public class TestXmlFormatter extends BaseFormatter implements ExecutionLogListe
     this.writerFactory = writerFactory;
     totalTimeMeasurement = new TimeMeasurement().start();
     testResponse = new TestExecutionReport(context.version, page.getFullPath().toString());
+    testResponse.setLogDirectory(writerFactory.getLogDirectory(context, page), totalTimeMeasurement.startedAt());
     resetTimer();
   }
 
@@ -235,6 +237,14 @@ public class TestXmlFormatter extends BaseFormatter implements ExecutionLogListe
 
   public interface WriterFactory {
     Writer getWriter(FitNesseContext context, WikiPage page, TestSummary counts, long time) throws IOException;
+
+    /**
+     * @return directory for the complete test system output, next to the results written, or <code>null</code>
+     * to keep only the output that fits in the results.
+     */
+    default File getLogDirectory(FitNesseContext context, WikiPage page) {
+      return null;
+    }
   }
 
 }
@@ -63,6 +63,18 @@ $(document)
         }
     });
 
+/**
+ * Table of contents and suite overview: deeper levels of big trees are fetched on demand
+ */
+$(document)
+    .on("click", "ul.lazy > li > a.more", function () {
+        var list = $(this).closest("ul.lazy");
+        $.getJSON(list.data("subtree"), function (data) {
+            list.replaceWith(data.html);
+        });
+        return false;
+    });
+
 /**
  * Modal dialogs
  */
@@ -0,0 +1,68 @@
+package fitnesse.responders;
+
+import java.util.Optional;
+
+import fitnesse.FitNesseContext;
+import fitnesse.authentication.SecureOperation;
+import fitnesse.authentication.SecureReadOperation;
+import fitnesse.http.Request;
+import fitnesse.http.Response;
+import fitnesse.wiki.WikiPage;
+import fitnesse.wiki.WikiSourcePage;
+import fitnesse.wikitext.shared.ContentsItemBuilder;
+import fitnesse.wikitext.shared.PropertySource;
+import org.json.JSONObject;
+
+/**
+ * Returns one level (and, within the eager item limit, the levels below) of a table of contents as JSON
+ * (<code>{"html": "&lt;ul ...&gt;...&lt;/ul&gt;"}</code>). The <code>!contents</code> options are passed as inputs,
+ * see {@link ContentsItemBuilder}.
+ */
+public class ContentsTreeResponder extends BasicResponder {
+
+  @Override
+  protected String contentFrom(FitNesseContext context, Request request, WikiPage requestedPage) {
+    WikiSourcePage page = new WikiSourcePage(requestedPage);
+    ContentsItemBuilder builder = new ContentsItemBuilder(new RequestOptions(request), getLevel(request), page);
+
+    JSONObject json = new JSONObject();
+    json.put("html", builder.buildLevel(page).html());
+    return json.toString();
+  }
+
+  private static int getLevel(Request request) {
+    try {
+      return Math.max(1, Integer.parseInt(request.getInput(ContentsItemBuilder.LEVEL_INPUT)));
+    } catch (NumberFormatException e) {
+      return 1;
+    }
+  }
+
+  @Override
+  protected String getContentType() {
+    return Response.Format.JSON.getContentType();
+  }
+
+  @Override
+  public SecureOperation getSecureOperation() {
+    return new SecureReadOperation();
+  }
+
+  private static class RequestOptions implements PropertySource {
+    private final Request request;
+
+    private RequestOptions(Request request) {
+      this.request = request;
+    }
+
+    @Override
+    public Optional<String> findProperty(String key) {
+      return Optional.ofNullable(request.getInput(key));
+    }
+
+    @Override
+    public boolean hasProperty(String key) {
+      return request.hasInput(key);
+    }
+  }
+}
@@ -0,0 +1,32 @@
+package fitnesse.responders;
+
+import fitnesse.FitNesseContext;
+import fitnesse.authentication.SecureOperation;
+import fitnesse.authentication.SecureReadOperation;
+import fitnesse.authentication.SecureResponder;
+import fitnesse.http.Request;
+import fitnesse.http.Response;
+import fitnesse.http.SimpleResponse;
+
+/**
+ * Serves the server metrics in Prometheus text format (<code>?metrics</code>).
+ */
+public class MetricsResponder implements SecureResponder {
+
+  @Override
+  public Response makeResponse(FitNesseContext context, Request request) throws Exception {
+    StringBuilder metrics = new StringBuilder(4096);
+    context.metrics.writePrometheus(metrics);
+
+    SimpleResponse response = new SimpleResponse();
+    response.setMaxAge(0);
+    response.setContentType("text/plain; version=0.0.4; charset=utf-8");
+    response.setContent(metrics.toString());
+    return response;
+  }
+
+  @Override
+  public SecureOperation getSecureOperation() {
+    return new SecureReadOperation();
+  }
+}
@@ -115,6 +115,8 @@ public class ResponderFactory {
     addResponder("overview", SuiteOverviewResponder.class);
     addResponder("compareVersions", VersionComparerResponder.class);
     addResponder("instruction", InstructionResponder.class);
+    addResponder("metrics", MetricsResponder.class);
+    addResponder("contentsTree", ContentsTreeResponder.class);
     filterMap = new HashMap<>();
   }
 
@@ -19,14 +19,23 @@ import org.w3c.dom.Document;
 import org.xml.sax.SAXException;
 
 import java.io.IOException;
+import java.io.InterruptedIOException;
 import java.net.MalformedURLException;
 import java.net.URL;
+import java.util.ArrayList;
 import java.util.Date;
 import java.util.HashSet;
 import java.util.LinkedList;
 import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
 
 public class WikiImporter implements XmlizerPageHandler, TraversalListener<WikiPage> {
+  public static final int DEFAULT_CONCURRENT_FETCHES = 4;
+
   private String remoteUsername;
   private String remotePassword;
 
@@ -45,6 +54,10 @@ public class WikiImporter implements XmlizerPageHandler, TraversalListener<WikiP
   private WikiPagePath contextPath;
   private boolean autoUpdateSetting = true;
   private Exception caughtException;
+  private int concurrentFetches = DEFAULT_CONCURRENT_FETCHES;
+  private ExecutorService fetchPool;
+  private List<PendingImport> pendingImports;
+  private PendingImport currentImport;
 
   public WikiImporter() {
     importerClient = new NullWikiImporterClient();
@@ -67,7 +80,7 @@ public class WikiImporter implements XmlizerPageHandler, TraversalListener<WikiP
     } catch (Exception e) {
       throw new WikiImporterException("Unable to process page tree", e);
     }
-    new PageXmlizer().deXmlizeSkippingRootLevel(remotePageTreeDocument, page, this);
+    importPages(remotePageTreeDocument, page);
 
     configureAutoUpdateSetting(page);
 
@@ -76,6 +89,45 @@ public class WikiImporter implements XmlizerPageHandler, TraversalListener<WikiP
       removeOrphans(page);
   }
 
+  /**
+   * Only pages modified remotely are fetched. Fetches run on a bounded pool, while the
+   * tree is walked; the fetched pages are imported afterwards, in tree order, through
+   * {@link #importRemotePageContent(WikiPage)}.
+   */
+  private void importPages(Document remotePageTreeDocument, WikiPage page) throws IOException {
+    fetchPool = Executors.newFixedThreadPool(concurrentFetches);
+    pendingImports = new ArrayList<>();
+    try {
+      new PageXmlizer().deXmlizeSkippingRootLevel(remotePageTreeDocument, page, this);
+      importPendingPages();
+    } finally {
+      fetchPool.shutdownNow();
+      fetchPool = null;
+      pendingImports = null;
+    }
+  }
+
+  private void importPendingPages() throws IOException {
+    WikiPagePath treeRemotePath = remotePath;
+    WikiPagePath treeRelativePath = relativePath;
+    WikiPagePath treeLocalPath = localPath;
+    try {
+      for (PendingImport pendingImport : pendingImports) {
+        // back at the position in the tree the page was found, for importRemotePageContent() and its overrides
+        remotePath = pendingImport.remotePath;
+        relativePath = pendingImport.relativePath;
+        localPath = pendingImport.localPath;
+        currentImport = pendingImport;
+        importRemotePageContent(pendingImport.localPage);
+      }
+    } finally {
+      remotePath = treeRemotePath;
+      relativePath = treeRelativePath;
+      localPath = treeLocalPath;
+      currentImport = null;
+    }
+  }
+
   private void removeOrphans(WikiPage context) {
     for (WikiPagePath orphan : orphans) {
       WikiPagePath path = orphan;
@@ -121,13 +173,24 @@ public class WikiImporter implements XmlizerPageHandler, TraversalListener<WikiP
     if (importProps != null) {
       Date lastRemoteModification = importProps.getLastRemoteModificationTime();
       if (lastModified.after(lastRemoteModification))
-        importRemotePageContent(childPage);
+        scheduleImport(childPage);
       else {
         unmodifiedCount++;
         configureAutoUpdateSetting(importProps, data, childPage);
       }
     } else
-      importRemotePageContent(childPage);
+      scheduleImport(childPage);
+  }
+
+  private void scheduleImport(WikiPage localPage) throws IOException {
+    if (fetchPool == null) {
+      importRemotePageContent(localPage);
+      return;
+    }
+    final WikiPagePath pagePath = new WikiPagePath(remotePath);
+    Future<Document> document = fetchPool.submit(() -> getXmlDocument(pagePath, "data"));
+    pendingImports.add(new PendingImport(localPage, pagePath, new WikiPagePath(relativePath),
+      new WikiPagePath(localPath), remoteUrl(), document));
   }
 
   private void configureAutoUpdateSetting(WikiImportProperty importProps, PageData data, WikiPage childPage) {
@@ -151,14 +214,24 @@ public class WikiImporter implements XmlizerPageHandler, TraversalListener<WikiP
   }
 
   protected void importRemotePageContent(WikiPage localPage) throws IOException {
+    PendingImport pendingImport = currentImport;
+    if (pendingImport != null && pendingImport.localPage == localPage) {
+      // already fetched on the pool
+      importPage(localPage, remoteUrl(), pendingImport::awaitDocument);
+      return;
+    }
+    final WikiPagePath pagePath = remotePath;
+    importPage(localPage, remoteUrl(), () -> getXmlDocument(pagePath, "data"));
+  }
+
+  private void importPage(WikiPage localPage, String pageUrl, Callable<Document> remoteDocument) throws IOException {
     try {
-      Document doc = getXmlDocument("data");
-      PageData remoteData = new PageXmlizer().deXmlizeData(doc);
+      PageData remoteData = new PageXmlizer().deXmlizeData(remoteDocument.call());
 
       WikiPageProperty remoteProps = remoteData.getProperties();
       remoteProps.remove(PageData.PropertyEDIT);
 
-      WikiImportProperty importProperty = new WikiImportProperty(remoteUrl());
+      WikiImportProperty importProperty = new WikiImportProperty(pageUrl);
       Date lastModificationTime = remoteProps.getLastModificationTime();
       importProperty.setLastRemoteModificationTime(lastModificationTime);
       importProperty.setAutoUpdate(autoUpdateSetting);
@@ -179,6 +252,10 @@ public class WikiImporter implements XmlizerPageHandler, TraversalListener<WikiP
   }
 
   public String remoteUrl() {
+    return remoteUrl(remotePath);
+  }
+
+  private String remoteUrl(WikiPagePath remotePath) {
     String remotePathName = PathParser.render(remotePath);
     return remoteProtocol + "://" + remoteHostname + ":" + remotePort + "/" + remotePathName;
   }
@@ -191,10 +268,10 @@ public class WikiImporter implements XmlizerPageHandler, TraversalListener<WikiP
   }
 
   public Document getPageTree() throws IOException, SAXException {
-    return getXmlDocument("pages");
+    return getXmlDocument(remotePath, "pages");
   }
 
-  private Document getXmlDocument(String documentType) throws IOException, SAXException {
+  private Document getXmlDocument(WikiPagePath remotePath, String documentType) throws IOException, SAXException {
     String remotePathName = PathParser.render(remotePath);
     RequestBuilder builder = new RequestBuilder("/" + remotePathName);
     builder.addInput("responder", "proxy");
@@ -206,9 +283,9 @@ public class WikiImporter implements XmlizerPageHandler, TraversalListener<WikiP
     ResponseParser parser = ResponseParser.performHttpRequest(remoteHostname, remotePort, builder);
 
     if (parser.getStatus() == 404)
-      throw new IOException("The remote resource, " + remoteUrl() + ", was not found.");
+      throw new IOException("The remote resource, " + remoteUrl(remotePath) + ", was not found.");
     if (parser.getStatus() == 401)
-      throw new AuthenticationRequiredException(remoteUrl());
+      throw new AuthenticationRequiredException(remoteUrl(remotePath));
 
     String body = parser.getBody();
     return XmlUtil.newDocument(body);
@@ -318,6 +395,10 @@ public class WikiImporter implements XmlizerPageHandler, TraversalListener<WikiP
     this.shouldDeleteOrphans = shouldDeleteOrphans;
   }
 
+  public void setConcurrentFetches(int concurrentFetches) {
+    this.concurrentFetches = Math.max(1, concurrentFetches);
+  }
+
   public boolean getAutoUpdateSetting() {
     return autoUpdateSetting;
   }
@@ -326,6 +407,37 @@ public class WikiImporter implements XmlizerPageHandler, TraversalListener<WikiP
     this.autoUpdateSetting = autoUpdateSetting;
   }
 
+  private static class PendingImport {
+    private final WikiPage localPage;
+    private final WikiPagePath remotePath;
+    private final WikiPagePath relativePath;
+    private final WikiPagePath localPath;
+    private final String remoteUrl;
+    private final Future<Document> document;
+
+    private PendingImport(WikiPage localPage, WikiPagePath remotePath, WikiPagePath relativePath,
+                          WikiPagePath localPath, String remoteUrl, Future<Document> document) {
+      this.localPage = localPage;
+      this.remotePath = remotePath;
+      this.relativePath = relativePath;
+      this.localPath = localPath;
+      this.remoteUrl = remoteUrl;
+      this.document = document;
+    }
+
+    private Document awaitDocument() throws Exception {
+      try {
+        return document.get();
+      } catch (ExecutionException e) {
+        Throwable cause = e.getCause();
+        throw cause instanceof Exception ? (Exception) cause : e;
+      } catch (InterruptedException e) {
+        Thread.currentThread().interrupt();
+        throw new InterruptedIOException("Interrupted while fetching " + remoteUrl);
+      }
+    }
+  }
+
   private static class NullWikiImporterClient implements WikiImporterClient {
 
     @Override
@@ -6,11 +6,15 @@ import fitnesse.FitNesseContext;
 import fitnesse.authentication.SecureOperation;
 import fitnesse.authentication.SecureReadOperation;
 import fitnesse.authentication.SecureResponder;
+import fitnesse.html.HtmlUtil;
 import fitnesse.html.template.HtmlPage;
+import fitnesse.html.template.HtmlPage.StreamedPage;
 import fitnesse.html.template.PageTitle;
+import fitnesse.html.template.StreamedContent;
+import fitnesse.http.ChunkedDataProvider;
+import fitnesse.http.ChunkedResponse;
 import fitnesse.http.Request;
 import fitnesse.http.Response;
-import fitnesse.http.SimpleResponse;
 import fitnesse.responders.editing.EditResponder;
 import fitnesse.testrunner.TestPageWithSuiteSetUpAndTearDown;
 import fitnesse.testrunner.WikiTestPage;
@@ -23,10 +27,18 @@ import fitnesse.wiki.WikiPage;
 import fitnesse.wiki.WikiPagePath;
 import fitnesse.wiki.WikiPageUtil;
 
-import java.io.UnsupportedEncodingException;
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.net.SocketException;
 import java.util.Map;
+import java.util.logging.Level;
+import java.util.logging.Logger;
 
 public class WikiPageResponder implements SecureResponder {
+  private static final Logger LOG = Logger.getLogger(WikiPageResponder.class.getName());
+  private static final int BUFFER_SIZE = 8192;
 
   private Request request;
 
@@ -63,16 +75,26 @@ public class WikiPageResponder implements SecureResponder {
     return dontCreate != null && (dontCreate.isEmpty() || Boolean.parseBoolean(dontCreate));
   }
 
-  private SimpleResponse makePageResponse(FitNesseContext context, WikiPage page) throws UnsupportedEncodingException {
-      String html = makeHtml(context, page);
-
-      SimpleResponse response = new SimpleResponse();
-      response.setMaxAge(0);
-      response.setContent(html);
-      return response;
+  /**
+   * The page is sent while it is rendered: the page content is written from the syntax tree
+   * to the response, without building the complete page in memory first. The page template is
+   * rendered before the response is made, so a failure in it still ends in a proper error response.
+   */
+  private Response makePageResponse(FitNesseContext context, WikiPage page) {
+    PageSender sender = new PageSender(makeHtmlPage(context, page).renderStreamed(request));
+    ChunkedResponse response = new ChunkedResponse(request.getInput("format"), sender);
+    if (request.hasInput(Request.NOCHUNK))
+      response.turnOffChunking();
+    response.setMaxAge(0);
+    sender.response = response;
+    return response;
   }
 
   public String makeHtml(FitNesseContext context, WikiPage page) {
+    return makeHtmlPage(context, page).html(request);
+  }
+
+  private HtmlPage makeHtmlPage(FitNesseContext context, WikiPage page) {
     PageData pageData = page.getData();
     HtmlPage html = context.pageFactory.newPage();
     WikiPagePath fullPath = page.getFullPath();
@@ -102,7 +124,7 @@ public class WikiPageResponder implements SecureResponder {
     html.setFooterTemplate("wikiFooter");
     html.put("footerContent", new WikiPageFooterRenderer(page));
     handleSpecialProperties(html, page);
-    return html.html(request);
+    return html;
   }
 
   private void handleSpecialProperties(HtmlPage html, WikiPage page) {
@@ -114,28 +136,88 @@ public class WikiPageResponder implements SecureResponder {
     return new SecureReadOperation();
   }
 
-  public static class WikiPageRenderer {
+  private static class PageSender implements ChunkedDataProvider {
+    private final StreamedPage page;
+    private ChunkedResponse response;
+
+    private PageSender(StreamedPage page) {
+      this.page = page;
+    }
+
+    @Override
+    public void startSending() throws IOException {
+      Writer writer = new BufferedWriter(response.getWriter(), BUFFER_SIZE);
+      try {
+        page.writeTo(writer);
+      } catch (SocketException e) {
+        LOG.log(Level.FINE, "Client closed connection while sending page", e);
+      } catch (UncheckedIOException e) {
+        if (e.getCause() instanceof SocketException) {
+          LOG.log(Level.FINE, "Client closed connection while sending page", e);
+        } else {
+          writeError(writer, e.getCause());
+        }
+      } catch (Exception e) {
+        writeError(writer, e);
+      } finally {
+        flushAndClose(writer);
+      }
+    }
+
+    /**
+     * The status has been sent already, so the error can only be added to the page.
+     */
+    private void writeError(Writer writer, Throwable e) throws IOException {
+      LOG.log(Level.WARNING, "Error while sending page", e);
+      writer.write("<pre class=\"error\">");
+      writer.write(HtmlUtil.escapeHTML(ErrorResponder.makeExceptionString(e)));
+      writer.write("</pre>");
+    }
+
+    private void flushAndClose(Writer writer) throws IOException {
+      try {
+        writer.flush();
+      } catch (IOException e) {
+        LOG.log(Level.FINE, "Unable to send the rest of the page", e);
+      }
+      response.close();
+    }
+  }
+
+  public static class WikiPageRenderer implements StreamedContent {
     private WikiPage page;
 
     public WikiPageRenderer(WikiPage page){
       this.page = page;
     }
 
+    @Override
     public String render() {
         return WikiPageUtil.makePageHtml(page);
     }
+
+    @Override
+    public void writeTo(Writer writer) throws IOException {
+      WikiPageUtil.writePageHtml(page, writer);
+    }
   }
 
-  public static class WikiTestPageRenderer {
+  public static class WikiTestPageRenderer implements StreamedContent {
     private WikiTestPage page;
 
     public WikiTestPageRenderer(WikiTestPage page){
       this.page = page;
     }
 
+    @Override
     public String render() {
       return WikiTestPageUtil.makePageHtml(page);
     }
+
+    @Override
+    public void writeTo(Writer writer) throws IOException {
+      WikiTestPageUtil.writePageHtml(page, writer);
+    }
   }
 
   public class WikiPageFooterRenderer {
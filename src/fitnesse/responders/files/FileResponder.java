@@ -19,6 +19,7 @@ import fitnesse.util.Clock;
 import util.FileUtil;
 import util.StreamReader;
 import fitnesse.FitNesseContext;
+import fitnesse.http.ByteRange;
 import fitnesse.http.InputStreamResponse;
 import fitnesse.http.Request;
 import fitnesse.http.Response;
@@ -106,11 +107,43 @@ public class FileResponder implements SecureResponder {
 
     if (isNotModified(request))
       return createNotModifiedResponse();
-    else {
-      response.setBody(requestedFile);
-      setContentType(requestedFile.getName(), response);
-      response.setLastModifiedHeader(lastModifiedDate);
+
+    long fileLength = requestedFile.length();
+    ByteRange range = requestedRange(request, fileLength);
+    if (range == ByteRange.UNSATISFIABLE)
+      return createRangeNotSatisfiableResponse(fileLength);
+
+    response.setBody(requestedFile);
+    setContentType(requestedFile.getName(), response);
+    response.setLastModifiedHeader(lastModifiedDate);
+    response.addHeader("Accept-Ranges", "bytes");
+    if (range != null)
+      response.setRange(range);
+    return response;
+  }
+
+  private ByteRange requestedRange(Request request, long fileLength) {
+    if (!request.hasHeader("Range") || !isRangeCurrent(request))
+      return null;
+    return ByteRange.parse(request.getHeader("Range"), fileLength);
+  }
+
+  private boolean isRangeCurrent(Request request) {
+    // We do not hand out entity tags, so If-Range can only carry a date
+    if (request.hasHeader("If-Range")) {
+      try {
+        Date rangeDate = Response.makeStandardHttpDateFormat().parse(request.getHeader("If-Range"));
+        return rangeDate.getTime() == lastModifiedDate.getTime();
+      } catch (ParseException e) {
+        return false;
+      }
     }
+    return true;
+  }
+
+  private Response createRangeNotSatisfiableResponse(long fileLength) {
+    SimpleResponse response = new SimpleResponse(416);
+    response.addHeader("Content-Range", ByteRange.unsatisfiedContentRange(fileLength));
     return response;
   }
 
@@ -458,6 +458,11 @@ public class SuiteResponder extends ChunkingResponder implements SecureResponder
       File resultFile = new File(resultDirectory, resultPath.getName());
       return new PrintWriter(resultFile, FileUtil.CHARENCODING);
     }
+
+    @Override
+    public File getLogDirectory(FitNesseContext context, WikiPage page) {
+      return new File(context.getTestHistoryDirectory(), page.getFullPath().toString());
+    }
   }
 
   public static String makePageHistoryFileName(FitNesseContext context, WikiPage page, TestSummary counts, long time) {
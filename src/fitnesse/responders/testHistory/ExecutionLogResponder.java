@@ -1,9 +1,12 @@
 package fitnesse.responders.testHistory;
 
 import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
 import java.text.ParseException;
 import java.text.SimpleDateFormat;
 import java.util.Date;
+import java.util.List;
 
 import fitnesse.FitNesseContext;
 import fitnesse.authentication.SecureOperation;
@@ -11,15 +14,18 @@ import fitnesse.authentication.SecureResponder;
 import fitnesse.authentication.SecureReadOperation;
 import fitnesse.html.template.HtmlPage;
 import fitnesse.html.template.PageTitle;
+import fitnesse.http.InputStreamResponse;
 import fitnesse.http.Request;
 import fitnesse.http.Response;
 import fitnesse.http.SimpleResponse;
+import fitnesse.reporting.history.CapturedOutput;
 import fitnesse.reporting.history.ExecutionReport;
 import fitnesse.reporting.history.PageHistory;
 import fitnesse.reporting.history.TestExecutionReport;
 import fitnesse.reporting.history.TestHistory;
 import fitnesse.reporting.history.TestResultRecord;
 import fitnesse.responders.ErrorResponder;
+import fitnesse.responders.NotFoundResponder;
 import fitnesse.wiki.PathParser;
 import util.FileUtil;
 
@@ -58,6 +64,9 @@ public class ExecutionLogResponder implements SecureResponder {
   private Response makeExecutionLogResponse(Request request, Date resultDate, TestResultRecord testResultRecord) throws Exception {
     String content = FileUtil.getFileContent(testResultRecord.getFile());
     ExecutionReport report = ExecutionReport.makeReport(content);
+    if (request.hasInput("output")) {
+      return makeCompleteOutputResponse(request, testResultRecord, report);
+    }
     HtmlPage page = context.pageFactory.newPage();
     String tags = "";
     if (report instanceof TestExecutionReport && !((TestExecutionReport) report).getResults().isEmpty()) {
@@ -79,6 +88,50 @@ public class ExecutionLogResponder implements SecureResponder {
     return response;
   }
 
+  /**
+   * Stream the complete standard output or error of a test system, as far as it was kept on disk.
+   * Only log files next to the result file are served.
+   */
+  private Response makeCompleteOutputResponse(Request request, TestResultRecord testResultRecord, ExecutionReport report) throws Exception {
+    List<ExecutionReport.ExecutionLogReport> logs = report.getExecutionLogs();
+    int index;
+    try {
+      index = Integer.parseInt(request.getInput("log"));
+    } catch (NumberFormatException e) {
+      return new ErrorResponder("Invalid execution log: " + request.getInput("log")).makeResponse(context, request);
+    }
+    if (index < 0 || index >= logs.size()) {
+      return new NotFoundResponder().makeResponse(context, request);
+    }
+    String output = request.getInput("output");
+    String logFileName;
+    if ("stdOut".equals(output)) {
+      logFileName = logs.get(index).getStdOutFile();
+    } else if ("stdErr".equals(output)) {
+      logFileName = logs.get(index).getStdErrFile();
+    } else {
+      return new ErrorResponder("Invalid output: " + output).makeResponse(context, request);
+    }
+
+    File logFile = logFileName != null ? resolveLogFile(testResultRecord.getFile().getParentFile(), logFileName) : null;
+    InputStream input = logFile != null ? CapturedOutput.openLogFile(logFile) : null;
+    if (input == null) {
+      return new NotFoundResponder().makeResponse(context, request);
+    }
+    InputStreamResponse response = new InputStreamResponse();
+    response.setContentType("text/plain; charset=utf-8");
+    response.setBody(input, (int) Math.min(CapturedOutput.logFileLength(logFile), Integer.MAX_VALUE));
+    return response;
+  }
+
+  /**
+   * @return the log file, or <code>null</code> if the name does not refer to a file in the directory.
+   */
+  static File resolveLogFile(File directory, String logFileName) throws IOException {
+    File logFile = new File(directory, logFileName).getCanonicalFile();
+    return directory.getCanonicalFile().equals(logFile.getParentFile()) ? logFile : null;
+  }
+
   private PageHistory getPageHistory(Request request) {
     if (resultsDirectory == null)
       resultsDirectory = context.getTestHistoryDirectory();
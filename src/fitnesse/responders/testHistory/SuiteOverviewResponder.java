@@ -13,11 +13,23 @@ import fitnesse.testrunner.SuiteFilter;
 import fitnesse.wiki.PathParser;
 import fitnesse.wiki.WikiPage;
 import fitnesse.wiki.WikiPagePath;
+import org.apache.velocity.VelocityContext;
+import org.json.JSONObject;
+import util.FileUtil;
 
 import java.io.UnsupportedEncodingException;
+import java.net.URLEncoder;
+import java.util.Arrays;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
 
 public class SuiteOverviewResponder implements Responder {
+  // Overviews of more tests than this only render the top levels; deeper suites are fetched on demand
+  private static final int EAGER_TESTS = 1000;
+  private static final int EAGER_LEVELS = 2;
+  private static final Set<String> SUBTREE_EXCLUDED_INPUTS = new HashSet<>(Arrays.asList("overview", "responder", "format"));
 
   private FitNesseContext context;
 
@@ -35,6 +47,13 @@ public class SuiteOverviewResponder implements Responder {
     SuiteOverviewTree treeview = new SuiteOverviewTree(pagelist);
     treeview.findLatestResults(context.getTestHistoryDirectory());
     treeview.countResults();
+    if (pagelist.size() > EAGER_TESTS) {
+      treeview.loadLazilyBelow(EAGER_LEVELS, makeSubtreeQuery(request));
+    }
+
+    if ("json".equalsIgnoreCase(request.getInput("format"))) {
+      return makeSubtreeResponse(treeview);
+    }
 
     WikiPagePath path = PathParser.parse(request.getResource());
     SimpleResponse response = makeResponse(treeview, path, request);
@@ -42,6 +61,35 @@ public class SuiteOverviewResponder implements Responder {
 
   }
 
+  /**
+   * The query string to fetch a subtree of the overview with the same suite filters.
+   */
+  private static String makeSubtreeQuery(Request request) throws UnsupportedEncodingException {
+    StringBuilder query = new StringBuilder("overview&format=json");
+    for (Map.Entry<String, String> input : request.getMap().entrySet()) {
+      if (SUBTREE_EXCLUDED_INPUTS.contains(input.getKey()))
+        continue;
+      query.append('&').append(URLEncoder.encode(input.getKey(), FileUtil.CHARENCODING));
+      if (!input.getValue().isEmpty())
+        query.append('=').append(URLEncoder.encode(input.getValue(), FileUtil.CHARENCODING));
+    }
+    return query.toString();
+  }
+
+  private SimpleResponse makeSubtreeResponse(SuiteOverviewTree treeview) {
+    SuiteOverviewTree.TreeItem root = treeview.getTreeRoot();
+    VelocityContext velocityContext = new VelocityContext();
+    velocityContext.put("branch", root.getBranches().size() == 1 ? root.getBranches().get(0) : root);
+
+    JSONObject json = new JSONObject();
+    json.put("html", "<ul>" + context.pageFactory.render(velocityContext, "suiteOverviewNode.vm") + "</ul>");
+
+    SimpleResponse response = new SimpleResponse();
+    response.setContentType(Response.Format.JSON);
+    response.setContent(json.toString());
+    return response;
+  }
+
   private SimpleResponse makeResponse(SuiteOverviewTree treeview, WikiPagePath path, Request request) throws UnsupportedEncodingException {
     SimpleResponse response = new SimpleResponse();
 
@@ -74,6 +74,15 @@ public class SuiteOverviewTree {
     treeRoot.doRecursive(findLatestResult, 0);
   }
 
+  /**
+   * Leave the suites more than <code>levels</code> levels below the top of the tree to be fetched on demand,
+   * with <code>subtreeQuery</code> as query string.
+   */
+  public void loadLazilyBelow(int levels, String subtreeQuery) {
+    TreeItem top = treeRoot.branches.size() == 1 ? treeRoot.branches.get(0) : treeRoot;
+    top.markLazyBranches(levels, subtreeQuery);
+  }
+
   private void compactTree() {
     RecursiveTreeMethod compactBranch = new RecursiveTreeMethod() {
       @Override
@@ -98,6 +107,7 @@ public class SuiteOverviewTree {
 
     List<TreeItem> branches = new LinkedList<>();
     TestResultRecord result = null;
+    private String subtreeUrl;
 
 
 
@@ -170,6 +180,24 @@ public class SuiteOverviewTree {
       return url;
     }
 
+    /**
+     * @return the url to fetch the branches of this suite with, or <code>null</code> if they are rendered directly.
+     */
+    public String getSubtreeUrl() {
+      return subtreeUrl;
+    }
+
+    void markLazyBranches(int levels, String subtreeQuery) {
+      for (TreeItem branch : branches) {
+        if (branch.isTest())
+          continue;
+        if (levels > 1)
+          branch.markLazyBranches(levels - 1, subtreeQuery);
+        else
+          branch.subtreeUrl = branch.fullName + "?" + subtreeQuery;
+      }
+    }
+
     public void compactWithChildIfOnlyOneChild() {
       if (branches.size() == 1) {
         TreeItem child = branches.get(0);
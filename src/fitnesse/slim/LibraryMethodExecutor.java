@@ -1,8 +1,22 @@
 package fitnesse.slim;
 
+import java.lang.reflect.Method;
+import java.util.ArrayList;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
+
+import fitnesse.slim.fixtureInteraction.CachedInteraction;
+import fitnesse.slim.fixtureInteraction.DefaultInteraction;
+import fitnesse.slim.fixtureInteraction.FixtureInteraction;
+import fitnesse.slim.fixtureInteraction.SimpleInteraction;
+
+import static fitnesse.util.StringUtils.swapCaseOfFirstLetter;
 
 public class LibraryMethodExecutor extends MethodExecutor {
+  // Libraries with a method by name and number of arguments, last pushed library first
+  private final Map<String, List<Library>> librariesByMethod = new HashMap<>();
+  private int librariesInTable;
 
   public LibraryMethodExecutor(SlimExecutionContext context) {
     super(context);
@@ -12,6 +26,14 @@ public class LibraryMethodExecutor extends MethodExecutor {
   public MethodExecutionResult execute(String instanceName, String methodName, Object[] args)
       throws Throwable {
     List<Library> libraries = context.getLibraries();
+    if (methodName.indexOf('.') >= 0 || !isStockInteraction(context.getInteraction())) {
+      // static method, not bound to a library instance, or an interaction that may find methods its own way
+      return execute(libraries, methodName, args);
+    }
+    return execute(getLibrariesWithMethod(libraries, methodName, args.length), methodName, args);
+  }
+
+  private MethodExecutionResult execute(List<Library> libraries, String methodName, Object[] args) throws Throwable {
     for (int i = (libraries.size() - 1); i >= 0; i--) {
       MethodExecutionResult result = findAndInvoke(methodName, args, libraries.get(i).instance);
       if (result.hasResult()) {
@@ -20,4 +42,51 @@ public class LibraryMethodExecutor extends MethodExecutor {
     }
     return MethodExecutionResult.NO_METHOD_IN_LIBRARIES;
   }
+
+  /**
+   * The stock interactions only invoke public methods by name (or with the case of its first letter swapped)
+   * and number of arguments, so libraries without such a method can be skipped.
+   */
+  private static boolean isStockInteraction(FixtureInteraction interaction) {
+    Class<?> interactionClass = interaction.getClass();
+    return interactionClass == DefaultInteraction.class
+      || interactionClass == CachedInteraction.class
+      || interactionClass == SimpleInteraction.class;
+  }
+
+  /**
+   * @return the libraries that have a public method with this name (or with the case of its first letter swapped),
+   * in the order they were pushed.
+   */
+  private List<Library> getLibrariesWithMethod(List<Library> libraries, String methodName, int nArgs) {
+    // SlimExecutionContext only ever appends libraries, it never removes or replaces one,
+    // so a change in size is the only change to check for.
+    if (librariesInTable != libraries.size()) {
+      librariesByMethod.clear();
+      librariesInTable = libraries.size();
+    }
+    String key = methodName + "_" + nArgs;
+    List<Library> result = librariesByMethod.get(key);
+    if (result == null) {
+      result = new ArrayList<>();
+      String swappedName = swapCaseOfFirstLetter(methodName);
+      for (Library library : libraries) {
+        if (hasMethod(library.instance.getClass(), methodName, swappedName, nArgs)) {
+          result.add(library);
+        }
+      }
+      librariesByMethod.put(key, result);
+    }
+    return result;
+  }
+
+  private static boolean hasMethod(Class<?> clazz, String methodName, String swappedName, int nArgs) {
+    for (Method method : clazz.getMethods()) {
+      if (method.getParameterTypes().length == nArgs
+        && (method.getName().equals(methodName) || method.getName().equals(swappedName))) {
+        return true;
+      }
+    }
+    return false;
+  }
 }
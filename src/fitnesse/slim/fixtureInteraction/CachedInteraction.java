@@ -2,7 +2,10 @@ package fitnesse.slim.fixtureInteraction;
 
 import java.lang.reflect.Constructor;
 import java.lang.reflect.Method;
+import java.util.ArrayList;
+import java.util.Collections;
 import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
 
 public class CachedInteraction extends SimpleInteraction {
@@ -12,6 +15,9 @@ public class CachedInteraction extends SimpleInteraction {
   private final Map<String, Constructor<?>> constructorsByClassAndArgs = new HashMap<>();
   private final Map<String, Class<?>> classCache = new HashMap<>();
   private final Map<MethodKey, Method> methodsByNameAndArgs = new HashMap<>();
+  // Classes by the name used in a table, for the import paths below
+  private final Map<String, Class<?>> classesByTableName = new HashMap<>();
+  private List<String> resolvedPaths = Collections.emptyList();
 
   @Override
   protected Constructor<?> getConstructor(Class<?> clazz, Object[] args) {
@@ -48,6 +54,27 @@ public class CachedInteraction extends SimpleInteraction {
     return k;
   }
 
+  @Override
+  protected Class<?> resolveClass(List<String> paths, String className) {
+    List<String> currentPaths = paths == null ? Collections.<String>emptyList() : paths;
+    if (!currentPaths.equals(resolvedPaths)) {
+      // an import was added
+      classesByTableName.clear();
+      resolvedPaths = new ArrayList<>(currentPaths);
+    }
+    Class<?> cached = classesByTableName.get(className);
+    if (cached == NotExisting.class) return null;
+    if (cached != null) return cached;
+
+    Class<?> k = super.resolveClass(paths, className);
+    if (k == null) {
+      classesByTableName.put(className, NotExisting.class);
+    } else {
+      classesByTableName.put(className, k);
+    }
+    return k;
+  }
+
   @Override
   protected Method findMatchingMethod(String methodName, Object instance, Object... args) {
     MethodKey key = new MethodKey(instance.getClass(), methodName, args.length);
@@ -76,10 +76,7 @@ private List<String> pathsCache = new ArrayList<>();
   }
 
   protected Class<?> searchPathsForClass(List<String> paths, String className) {
-    Class<?> k = getClass(className);
-
-    if (k == null)
-      k = findClassInPaths(paths, className, swapCaseOfFirstLetter(className));
+    Class<?> k = resolveClass(paths, className);
 
     if (k != null)
       return k;
@@ -87,6 +84,18 @@ private List<String> pathsCache = new ArrayList<>();
       throw new SlimError(String.format("message:<<%s %s>>", SlimServer.NO_CLASS, className));
   }
 
+  /**
+   * @return the class, or <code>null</code> if it is not found by its own name nor in one of the paths.
+   */
+  protected Class<?> resolveClass(List<String> paths, String className) {
+    Class<?> k = getClass(className);
+
+    if (k == null)
+      k = findClassInPaths(paths, className, swapCaseOfFirstLetter(className));
+
+    return k;
+  }
+
   private Class<?> findClassInPaths(List<String> paths, String... classNames) {
     Class<?> k = null;
 
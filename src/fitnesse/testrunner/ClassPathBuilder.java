@@ -9,12 +9,26 @@ import java.util.Collections;
 import java.util.HashSet;
 import java.util.List;
 import java.util.Set;
+import java.util.function.Consumer;
 
 import fitnesse.components.TraversalListener;
 import fitnesse.wiki.WikiPage;
 import fitnesse.wiki.WikitextPage;
 
 public class ClassPathBuilder {
+  private final ClassPathCache cache;
+
+  public ClassPathBuilder() {
+    this(null);
+  }
+
+  /**
+   * @param cache cache for the path items and wildcard expansions shared by the pages in a test run,
+   *              may be <code>null</code>.
+   */
+  public ClassPathBuilder(ClassPathCache cache) {
+    this.cache = cache;
+  }
 
   public List<String> getClassPath(WikiPage page) {
     List<String> paths = getInheritedPathElements(page);
@@ -27,7 +41,7 @@ public class ClassPathBuilder {
     page.getPageCrawler().traversePageAndAncestors(new TraversalListener<WikiPage>() {
       @Override
       public void process(WikiPage p) {
-        items.addAll(getItemsFromPage(p));
+        items.addAll(cache != null ? cache.getItems(p, ClassPathBuilder.this::getItemsFromPage) : getItemsFromPage(p));
       }
     });
     return items;
@@ -56,11 +70,19 @@ public class ClassPathBuilder {
   }
 
   private List<String> expandWildcard(String path) {
+    if (cache != null && pathHasSingleWildcard(path))
+      return cache.getExpansion(path, scannedDirs -> expandWildcard(path, scannedDirs));
+    return expandWildcard(path, dir -> {});
+  }
+
+  private List<String> expandWildcard(String path, Consumer<File> scannedDirs) {
     List<String> allPaths = new ArrayList<>();
     File file = new File(path);
     File dir = new File(file.getAbsolutePath()).getParentFile();
+    // also when it does not exist (yet), so its creation is noticed
+    scannedDirs.accept(dir);
     if (isExpandableDoubleWildcard(path, dir))
-      allPaths.addAll(recursivelyAddMatchingFiles(path, dir));
+      allPaths.addAll(recursivelyAddMatchingFiles(path, dir, scannedDirs));
     else if (isExpandableSingleWildcard(path, dir))
       allPaths.addAll(getMatchingFiles(path, dir));
     else
@@ -68,9 +90,9 @@ public class ClassPathBuilder {
     return allPaths;
   }
 
-  private List<String> recursivelyAddMatchingFiles(String path, File dir) {
+  private List<String> recursivelyAddMatchingFiles(String path, File dir, Consumer<File> scannedDirs) {
     String singleWildcardPath = convertDoubleToSingleWildcard(path);
-    return getMatchingSubfiles(singleWildcardPath, dir);
+    return getMatchingSubfiles(singleWildcardPath, dir, scannedDirs);
   }
 
   private boolean isExpandableSingleWildcard(String path, File dir) {
@@ -104,12 +126,14 @@ public class ClassPathBuilder {
     return allPaths;
   }
 
-  private List<String> getMatchingSubfiles(String path, File dir) {
+  private List<String> getMatchingSubfiles(String path, File dir, Consumer<File> scannedDirs) {
     List<String> allPaths = new ArrayList<>();
     allPaths.addAll(getMatchingFiles(path, dir));
     for (File file : dir.listFiles()) {
-      if (file.isDirectory())
-        allPaths.addAll(getMatchingSubfiles(path, file));
+      if (file.isDirectory()) {
+        scannedDirs.accept(file);
+        allPaths.addAll(getMatchingSubfiles(path, file, scannedDirs));
+      }
     }
     return allPaths;
   }
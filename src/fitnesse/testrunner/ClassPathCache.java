@@ -0,0 +1,63 @@
+package fitnesse.testrunner;
+
+import java.io.File;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.function.Consumer;
+import java.util.function.Function;
+
+import fitnesse.wiki.PathParser;
+import fitnesse.wiki.WikiPage;
+
+/**
+ * Class path items of pages and expansions of wildcard paths, kept for the duration of a test run.
+ * <p>
+ * All test pages of a run share most of their ancestors, so the <code>!path</code> items of each page are collected
+ * once. An expanded wildcard is reused as long as none of the directories scanned for it has been modified;
+ * files or directories added to or removed from a directory change its modification time.
+ */
+public class ClassPathCache {
+  private final ConcurrentMap<String, List<String>> itemsByPage = new ConcurrentHashMap<>();
+  private final ConcurrentMap<String, Expansion> expansionsByPath = new ConcurrentHashMap<>();
+
+  List<String> getItems(WikiPage page, Function<WikiPage, List<String>> itemsFromPage) {
+    return itemsByPage.computeIfAbsent(PathParser.render(page.getFullPath()),
+      p -> Collections.unmodifiableList(itemsFromPage.apply(page)));
+  }
+
+  /**
+   * @param expander expands the path, passing each directory to the consumer before scanning it.
+   */
+  List<String> getExpansion(String path, Function<Consumer<File>, List<String>> expander) {
+    Expansion expansion = expansionsByPath.get(path);
+    if (expansion == null || expansion.isOutdated()) {
+      Map<File, Long> scannedDirs = new LinkedHashMap<>();
+      List<String> paths = expander.apply(dir -> scannedDirs.put(dir, dir.lastModified()));
+      expansion = new Expansion(Collections.unmodifiableList(paths), scannedDirs);
+      expansionsByPath.put(path, expansion);
+    }
+    return expansion.paths;
+  }
+
+  private static final class Expansion {
+    private final List<String> paths;
+    private final Map<File, Long> scannedDirs;
+
+    private Expansion(List<String> paths, Map<File, Long> scannedDirs) {
+      this.paths = paths;
+      this.scannedDirs = scannedDirs;
+    }
+
+    boolean isOutdated() {
+      for (Map.Entry<File, Long> dir : scannedDirs.entrySet()) {
+        if (dir.getKey().lastModified() != dir.getValue())
+          return true;
+      }
+      return false;
+    }
+  }
+}
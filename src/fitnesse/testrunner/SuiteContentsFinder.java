@@ -8,17 +8,32 @@ import fitnesse.wiki.PathParser;
 import fitnesse.wiki.WikiPage;
 import fitnesse.wiki.WikiPagePath;
 import fitnesse.wiki.WikiPageUtil;
+import fitnesse.wiki.WikitextPage;
 
 import java.util.ArrayList;
 import java.util.Collections;
 import java.util.Comparator;
-import java.util.LinkedList;
 import java.util.List;
-import java.util.logging.Level;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinWorkerThread;
+import java.util.concurrent.RecursiveTask;
+import java.util.concurrent.TimeUnit;
 import java.util.logging.Logger;
 
+/**
+ * Find the pages to run for a suite.
+ * <p>
+ * The test pages and the cross referenced pages are collected in one traversal of the suite, in which sibling
+ * sub trees are visited in parallel. The traversal only reads page data. Pages whose content may contain a cross
+ * reference are parsed afterwards, in order, on the calling thread: parsing resolves variables through the
+ * shared parent pages, which are not safe to parse concurrently.
+ */
 public class SuiteContentsFinder {
   private static final Logger LOG = Logger.getLogger(SuiteContentsFinder.class.getName());
+  // Not the common pool: reading pages blocks on the file system, and the common pool is shared with
+  // parallel streams in the rest of the JVM, fixtures included.
+  private static final ForkJoinPool POOL = new ForkJoinPool(Runtime.getRuntime().availableProcessors(),
+    SuiteContentsFinder::newWorkerThread, null, false);
 
   private final WikiPage pageToRun;
   private final WikiPage wikiRootPage;
@@ -31,85 +46,70 @@ public class SuiteContentsFinder {
   }
 
   public List<WikiPage> getAllPagesToRunForThisSuite() {
-    List<WikiPage> testPageList = new LinkedList<>();
-    String content = pageToRun.getHtml();
-    if (SuiteSpecificationRunner.isASuiteSpecificationsPage(content)) {
+    long start = System.nanoTime();
+    List<WikiPage> testPageList = new ArrayList<>();
+    String content = mayBeSuiteSpecificationsPage(pageToRun) ? pageToRun.getHtml() : null;
+    if (content != null && SuiteSpecificationRunner.isASuiteSpecificationsPage(content)) {
       SuiteSpecificationRunner runner = new SuiteSpecificationRunner(wikiRootPage);
       if (runner.getPageListFromPageContent(content))
         testPageList = runner.testPages();
     } else {
-      testPageList = getAllTestPagesUnder();
-      testPageList.addAll(gatherCrossReferencedTestPages());
+      SuiteContents contents = POOL.invoke(
+        new FindSuiteContents(pageToRun, sortKey(pageToRun), suiteFilter));
+      testPageList = contents.sortedTestPages();
+      testPageList.addAll(contents.xrefPages());
     }
+    int found = testPageList.size();
+    LOG.fine(() -> "Found " + found + " pages to run for " + pageToRun.getFullPath() + " in "
+      + TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start) + "ms");
     return testPageList;
   }
 
-  private List<WikiPage> getAllTestPagesUnder() {
-    List<WikiPage> testPages = addTestPagesToSuite(pageToRun, suiteFilter);
-
-    Collections.sort(testPages, new Comparator<WikiPage>() {
-      @Override
-      public int compare(WikiPage p1, WikiPage p2) {
-        try {
-          WikiPagePath path1 = p1.getFullPath();
-          WikiPagePath path2 = p2.getFullPath();
-
-          return path1.compareTo(path2);
-        }
-        catch (Exception e) {
-          LOG.log(Level.WARNING, "Unable to compare " + p1 + " and " + p2, e);
-          return 0;
-        }
-      }
-    }
-    );
-
-    return testPages;
+  protected List<WikiPage> gatherCrossReferencedTestPages() {
+    return POOL.invoke(
+      new FindSuiteContents(pageToRun, sortKey(pageToRun), SuiteFilter.NO_MATCHING)).xrefPages();
   }
 
-  private List<WikiPage> addTestPagesToSuite(WikiPage page, SuiteFilter suiteFilter) {
-    List<WikiPage> testPages = new LinkedList<>();
-    boolean includePage = isTopPage(page) || !isPruned(page);
-    if (suiteFilter.isMatchingTest(page) && includePage) {
-      testPages.add(page);
-    }
-
-    SuiteFilter suiteFilterForChildren = includePage ? suiteFilter.getFilterForTestsInSuite(page) : SuiteFilter.NO_MATCHING;
-
-    for (WikiPage child : getChildren(page)) {
-      testPages.addAll(addTestPagesToSuite(child, suiteFilterForChildren));
-    }
-    return testPages;
+  private static ForkJoinWorkerThread newWorkerThread(ForkJoinPool pool) {
+    ForkJoinWorkerThread thread = ForkJoinPool.defaultForkJoinWorkerThreadFactory.newThread(pool);
+    thread.setName("suite-contents-finder-" + thread.getPoolIndex());
+    return thread;
   }
 
-  private boolean isPruned(WikiPage page) {
-    return page.getData().hasAttribute(PageData.PropertyPRUNE);
+  /**
+   * Suite specification tables can only come from the page itself, or from something it includes.
+   */
+  private static boolean mayBeSuiteSpecificationsPage(WikiPage page) {
+    String content = page.getData().getContent();
+    return content == null || content.contains("Suite") || mayExpand(content);
   }
 
-  private boolean isTopPage(WikiPage page) {
-    return page == pageToRun;
+  /**
+   * Cross references can only come from the page itself, or from something it includes.
+   */
+  private static boolean mayHaveXrefs(WikiPage page) {
+    if (!(page instanceof WikitextPage))
+      return false;
+    String content = page.getData().getContent();
+    return content == null || content.contains("!see") || mayExpand(content);
   }
 
-  private static List<WikiPage> getChildren(WikiPage page) {
-	    List<WikiPage> children = new ArrayList<>();
-	    children.addAll(page.getChildren());
-	    return children;
-	  }
+  private static boolean mayExpand(String content) {
+    return content.contains("!include") || content.contains("${");
+  }
 
-  protected List<WikiPage> gatherCrossReferencedTestPages() {
-    List<WikiPage> pages = new LinkedList<>();
-    addAllXRefs(pages, pageToRun);
-    return pages;
+  /**
+   * Same order as {@link WikiPagePath#compareTo(Object)}, which compares the concatenated page names.
+   */
+  private static String sortKey(WikiPage page) {
+    return String.join("", page.getFullPath().getNames());
   }
 
-  private void addAllXRefs(List<WikiPage> xrefPages, WikiPage page) {
-    List<WikiPage> children = page.getChildren();
-    addXrefPages(xrefPages, page);
-    for (WikiPage child: children)
-       addAllXRefs(xrefPages, child);
+  private static boolean isPruned(WikiPage page) {
+    return page.getData().hasAttribute(PageData.PropertyPRUNE);
   }
 
-  private void addXrefPages(List<WikiPage> pages, WikiPage thePage) {
+  private static void addXrefPages(List<WikiPage> pages, WikiPage thePage) {
     List<String> pageReferences = WikiPageUtil.getXrefPages(thePage);
     if (pageReferences.isEmpty()) {
       return;
@@ -122,4 +122,90 @@ public class SuiteContentsFinder {
         pages.add(referencedPage);
     }
   }
+
+  private static final class SuiteContents {
+    private final List<String> testPageKeys = new ArrayList<>();
+    private final List<WikiPage> testPages = new ArrayList<>();
+    private final List<WikiPage> xrefCandidates = new ArrayList<>();
+
+    void addTestPage(String key, WikiPage page) {
+      testPageKeys.add(key);
+      testPages.add(page);
+    }
+
+    void addAll(SuiteContents contents) {
+      testPageKeys.addAll(contents.testPageKeys);
+      testPages.addAll(contents.testPages);
+      xrefCandidates.addAll(contents.xrefCandidates);
+    }
+
+    List<WikiPage> sortedTestPages() {
+      List<Integer> order = new ArrayList<>(testPages.size());
+      for (int i = 0; i < testPages.size(); i++)
+        order.add(i);
+      // stable sort, pages with the same key keep their traversal order
+      Collections.sort(order, Comparator.comparing(testPageKeys::get));
+      List<WikiPage> sorted = new ArrayList<>(testPages.size());
+      for (int i : order)
+        sorted.add(testPages.get(i));
+      return sorted;
+    }
+
+    List<WikiPage> xrefPages() {
+      List<WikiPage> xrefPages = new ArrayList<>();
+      for (WikiPage page : xrefCandidates)
+        addXrefPages(xrefPages, page);
+      return xrefPages;
+    }
+  }
+
+  /**
+   * Collects the test pages and the pages that may hold cross references of a page and its descendants,
+   * in pre-order.
+   */
+  private final class FindSuiteContents extends RecursiveTask<SuiteContents> {
+    private static final long serialVersionUID = 1L;
+
+    private final WikiPage page;
+    private final String key;
+    private final SuiteFilter filter;
+
+    private FindSuiteContents(WikiPage page, String key, SuiteFilter filter) {
+      this.page = page;
+      this.key = key;
+      this.filter = filter;
+    }
+
+    @Override
+    protected SuiteContents compute() {
+      SuiteContents contents = new SuiteContents();
+      SuiteFilter filterForChildren = SuiteFilter.NO_MATCHING;
+      if (filter.hasMatchingTests()) {
+        boolean includePage = page == pageToRun || !isPruned(page);
+        if (includePage && filter.isMatchingTest(page)) {
+          contents.addTestPage(key, page);
+        }
+        if (includePage) {
+          filterForChildren = filter.getFilterForTestsInSuite(page);
+        }
+      }
+      if (mayHaveXrefs(page)) {
+        contents.xrefCandidates.add(page);
+      }
+
+      List<WikiPage> children = page.getChildren();
+      if (children.size() == 1) {
+        WikiPage child = children.get(0);
+        contents.addAll(new FindSuiteContents(child, key + child.getName(), filterForChildren).compute());
+      } else if (!children.isEmpty()) {
+        List<FindSuiteContents> tasks = new ArrayList<>(children.size());
+        for (WikiPage child : children)
+          tasks.add(new FindSuiteContents(child, key + child.getName(), filterForChildren));
+        invokeAll(tasks);
+        for (FindSuiteContents task : tasks)
+          contents.addAll(task.join());
+      }
+      return contents;
+    }
+  }
 }
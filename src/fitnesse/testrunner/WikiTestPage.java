@@ -8,46 +8,124 @@ import fitnesse.wiki.PathParser;
 import fitnesse.wiki.SymbolicPage;
 import fitnesse.wiki.WikiPage;
 import fitnesse.wiki.WikiPagePath;
+import fitnesse.wikitext.IncludeCache;
 import fitnesse.wikitext.MarkUpSystem;
+import fitnesse.wikitext.ParsingPage;
+import fitnesse.wikitext.SyntaxTree;
 import fitnesse.wikitext.parser.Include;
 
 import java.io.File;
+import java.io.IOException;
 import java.util.Collections;
 import java.util.LinkedList;
 import java.util.List;
+import java.util.concurrent.TimeUnit;
 import java.util.function.BiConsumer;
+import java.util.logging.Level;
+import java.util.logging.Logger;
 
 // TODO: need 2 implementations, one for wiki text pages (Fit, Slim) and one for non-wiki text pages. See PagesByTestSystem
 public class WikiTestPage implements TestPage {
+  private static final Logger LOG = Logger.getLogger(WikiTestPage.class.getName());
+
   public static final String TEAR_DOWN = "TearDown";
   public static final String SET_UP = "SetUp";
   public static final String SCENARIO_LIBRARY = "ScenarioLibrary";
 
   private final WikiPage sourcePage;
+  private final IncludeCache includeCache;
+  private final ClassPathCache classPathCache;
   private List<WikiPage> scenarioLibraries;
   private WikiPage setUp;
   private WikiPage tearDown;
+  private long includeParseTimeSaved;
+  private String preparedHtml;
+  private boolean htmlRendered;
 
   public WikiTestPage(WikiPage sourcePage) {
+    this(sourcePage, null);
+  }
+
+  /**
+   * @param includeCache cache for the included pages (scenario libraries, set ups and tear downs) shared by
+   *                     the pages in a test run, may be <code>null</code>.
+   */
+  public WikiTestPage(WikiPage sourcePage, IncludeCache includeCache) {
+    this(sourcePage, includeCache, null);
+  }
+
+  /**
+   * @param classPathCache cache for the class path items and wildcard expansions shared by the pages in a test run,
+   *                       may be <code>null</code>.
+   */
+  public WikiTestPage(WikiPage sourcePage, IncludeCache includeCache, ClassPathCache classPathCache) {
     this.sourcePage = sourcePage;
+    this.includeCache = includeCache;
+    this.classPathCache = classPathCache;
   }
 
   public PageData getData() {
     return sourcePage.getData();
   }
 
+  /**
+   * Render the html for the next call to {@link #getHtml()}, unless it has been rendered already.
+   */
   @Override
-  public String getHtml() {
+  public synchronized void prepare() {
+    if (preparedHtml == null && !htmlRendered)
+      preparedHtml = renderHtml();
+  }
+
+  @Override
+  public synchronized String getHtml() {
+    htmlRendered = true;
+    if (preparedHtml != null) {
+      String html = preparedHtml;
+      preparedHtml = null;
+      return html;
+    }
+    return renderHtml();
+  }
 
+  private String renderHtml() {
     // -AJM- Okay, this is not as clean as I'd like it to be, but for now it does the trick
     if (containsWikitext()) {
-      String content = getDecoratedContent();
-      return MarkUpSystem.make().parse(BaseWikitextPage.makeParsingPage((BaseWikitextPage) sourcePage), content).translateToHtml();
+      return parseDecoratedContent().translateToHtml();
     } else {
       return sourcePage.getHtml();
     }
   }
 
+  public void writeHtml(Appendable out) throws IOException {
+    if (containsWikitext()) {
+      parseDecoratedContent().translateToHtml(out);
+    } else {
+      sourcePage.writeHtml(out);
+    }
+  }
+
+  private SyntaxTree parseDecoratedContent() {
+    String content = getDecoratedContent();
+    ParsingPage parsingPage = BaseWikitextPage.makeParsingPage((BaseWikitextPage) sourcePage);
+    if (includeCache != null)
+      parsingPage.setIncludeCache(includeCache);
+    SyntaxTree tree = MarkUpSystem.make().parse(parsingPage, content);
+    includeParseTimeSaved = parsingPage.getIncludeTimeSaved();
+    if (includeParseTimeSaved > 0 && LOG.isLoggable(Level.FINE)) {
+      LOG.fine(() -> getPath() + ": reused included pages, saved " + TimeUnit.NANOSECONDS.toMillis(includeParseTimeSaved) + "ms of parsing");
+    }
+    return tree;
+  }
+
+  /**
+   * @return time (in nanoseconds) not spent parsing included pages during the last rendering of this page,
+   * because their syntax trees were taken from the include cache.
+   */
+  public long getIncludeParseTimeSaved() {
+    return includeParseTimeSaved;
+  }
+
   private boolean containsWikitext() {
     return SymbolicPage.containsWikitext(sourcePage);
   }
@@ -64,7 +142,7 @@ public class WikiTestPage implements TestPage {
 
   @Override
   public ClassPath getClassPath() {
-    return new ClassPath(new ClassPathBuilder().getClassPath(sourcePage), getPathSeparator());
+    return new ClassPath(new ClassPathBuilder(classPathCache).getClassPath(sourcePage), getPathSeparator());
   }
 
   @Override
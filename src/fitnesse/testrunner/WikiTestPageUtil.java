@@ -1,5 +1,7 @@
 package fitnesse.testrunner;
 
+import java.io.IOException;
+
 import fitnesse.testsystems.TestPage;
 import fitnesse.wiki.WikiPage;
 import fitnesse.wiki.WikiPageDummy;
@@ -11,6 +13,11 @@ public class WikiTestPageUtil {
     return WikiPageUtil.getHeaderPageHtml(page.getSourcePage()) + page.getHtml();
   }
 
+  public static void writePageHtml(WikiTestPage page, Appendable out) throws IOException {
+    out.append(WikiPageUtil.getHeaderPageHtml(page.getSourcePage()));
+    page.writeHtml(out);
+  }
+
   public static WikiPage getSourcePage(TestPage testPage) {
     if (testPage instanceof WikiTestPage) {
       return ((WikiTestPage) testPage).getSourcePage();
@@ -1,10 +1,12 @@
 package fitnesse.testrunner.run;
 
+import fitnesse.testrunner.ClassPathCache;
 import fitnesse.testrunner.TestPageWithSuiteSetUpAndTearDown;
 import fitnesse.testrunner.WikiPageIdentity;
 import fitnesse.testrunner.WikiTestPage;
 import fitnesse.testsystems.TestPage;
 import fitnesse.wiki.WikiPage;
+import fitnesse.wikitext.IncludeCache;
 
 import java.util.ArrayList;
 import java.util.Collection;
@@ -22,6 +24,10 @@ public class PagesByTestSystem {
   private final PageListSetUpTearDownProcessor processor;
   private final Map<WikiPageIdentity, List<WikiPage>> pagesByTestSystem;
   private final List<WikiPage> sourcePages;
+  // Scenario libraries, set ups and tear downs are parsed once for all pages in this run
+  private final IncludeCache includeCache = new IncludeCache();
+  // Most pages share their ancestors' class path, and its wildcards
+  private final ClassPathCache classPathCache = new ClassPathCache();
 
   public PagesByTestSystem(List<WikiPage> sourcePages) {
     this(createProcessor(sourcePages), sourcePages);
@@ -69,7 +75,7 @@ public class PagesByTestSystem {
     List<TestPage> testPages = new ArrayList<>(wikiPages.size());
     for (WikiPage page : wikiPages) {
       // TODO: find the appropriate type of test page for this test system
-      testPages.add(new WikiTestPage(page));
+      testPages.add(new WikiTestPage(page, includeCache, classPathCache));
     }
     return testPages;
   }
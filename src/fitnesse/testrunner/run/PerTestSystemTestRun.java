@@ -7,8 +7,20 @@ import fitnesse.testsystems.TestSystem;
 import fitnesse.wiki.WikiPage;
 
 import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.logging.Level;
+import java.util.logging.Logger;
 
 public class PerTestSystemTestRun implements TestRun {
+  private static final Logger LOG = Logger.getLogger(PerTestSystemTestRun.class.getName());
+
+  /**
+   * Variable to enable pipelined runs: pages are prepared on a separate thread while the test system starts and
+   * while the previous page is executed.
+   */
+  public static final String PIPELINE_ARG = "pipelineTestRun";
+
   private final PagesByTestSystem pagesByTestSystem;
   private TestSystem testSystem;
   private RunCoordinator coordinator;
@@ -38,16 +50,24 @@ public class PerTestSystemTestRun implements TestRun {
 
   private void startTestSystemAndExecutePages(WikiPageIdentity identity, List<TestPage> testSystemPages) throws TestExecutionException {
     testSystem = null;
+    PagePreparer preparer = isPipelined(identity) ? new PagePreparer(testSystemPages) : null;
     try {
+      if (preparer != null) {
+        // The first page is prepared while the test system starts
+        preparer.prepare(0);
+      }
       if (coordinator.isNotStopped()) {
         testSystem = coordinator.startTestSystem(identity, testSystemPages);
       }
 
       if (testSystem != null && testSystem.isSuccessfullyStarted()) {
-        executeTestSystemPages(testSystemPages, testSystem);
+        executeTestSystemPages(testSystemPages, testSystem, preparer);
         coordinator.waitForNoTestsInProgress();
       }
     } finally {
+      if (preparer != null) {
+        preparer.close();
+      }
       if (coordinator.isNotStopped() && testSystem != null) {
         try {
           testSystem.bye();
@@ -58,17 +78,60 @@ public class PerTestSystemTestRun implements TestRun {
     }
   }
 
-  private void executeTestSystemPages(List<TestPage> pagesInTestSystem, TestSystem testSystem) throws TestExecutionException {
-    for (TestPage testPage : pagesInTestSystem) {
+  private void executeTestSystemPages(List<TestPage> pagesInTestSystem, TestSystem testSystem, PagePreparer preparer) throws TestExecutionException {
+    for (int i = 0; i < pagesInTestSystem.size(); i++) {
+      if (preparer != null) {
+        preparer.prepare(i + 1);
+      }
       coordinator.announceTestStarted();
-      testSystem.runTests(testPage);
+      testSystem.runTests(pagesInTestSystem.get(i));
     }
   }
 
+  private static boolean isPipelined(WikiPageIdentity identity) {
+    return Boolean.parseBoolean(identity.getVariable(PIPELINE_ARG));
+  }
+
   @Override
   public void stop() {
     if (testSystem != null) {
       testSystem.kill();
     }
   }
+
+  /**
+   * Prepares pages on a single background thread, in the order they will be executed. Pages prepare themselves
+   * under their own lock, so the test system simply waits when it needs a page that is still being prepared.
+   */
+  private static class PagePreparer {
+    private final List<TestPage> pages;
+    private final ExecutorService executor;
+
+    PagePreparer(List<TestPage> pages) {
+      this.pages = pages;
+      this.executor = Executors.newSingleThreadExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "FitNesse page preparation");
+        thread.setDaemon(true);
+        return thread;
+      });
+    }
+
+    void prepare(int index) {
+      if (index >= pages.size())
+        return;
+      TestPage page = pages.get(index);
+      executor.execute(() -> {
+        try {
+          page.prepare();
+        } catch (RuntimeException e) {
+          // The page will be rendered again, and fail, when it is executed
+          LOG.log(Level.FINE, "Unable to prepare " + page.getFullPath(), e);
+        }
+      });
+    }
+
+    void close() {
+      executor.shutdownNow();
+    }
+  }
 }
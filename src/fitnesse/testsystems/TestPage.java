@@ -24,4 +24,11 @@ public interface TestPage {
    * @return HTML output of the page.
    */
   String getHtml();
+
+  /**
+   * Prepare the page for execution, so {@link #getHtml()} returns without delay. Test runs may call this
+   * on a separate thread, while a previous page is being executed.
+   */
+  default void prepare() {
+  }
 }
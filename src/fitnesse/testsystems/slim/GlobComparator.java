@@ -1,15 +1,18 @@
 package fitnesse.testsystems.slim;
 
+import fitnesse.util.BoundedCache;
+
 import java.util.regex.Pattern;
 
 public class GlobComparator implements CustomComparator {
+  private static final BoundedCache<String, Pattern> GLOBS = new BoundedCache<>(1_000, GlobComparator::globToRegExp);
 
   @Override
   public boolean matches(String actual, String expected) {
-    return globToRegExp(expected).matcher(actual).matches();
+    return GLOBS.get(expected).matcher(actual).matches();
   }
 
-  private Pattern globToRegExp(String glob) {
+  private static Pattern globToRegExp(String glob) {
     return Pattern.compile("^\\Q" + glob.replace("*", "\\E.*\\Q").replace("?", "\\E.\\Q") + "\\E$", Pattern.DOTALL);
   }
 
@@ -45,6 +45,8 @@ public class HtmlTable implements Table {
   private List<Row> rows = new ArrayList<>();
   private TableTag tableNode;
   private boolean isTearDown;
+  private HtmlTableTemplate template;
+  private boolean templateCompiled;
 
   public HtmlTable(TableTag tableNode) {
     this.tableNode = tableNode;
@@ -469,6 +471,15 @@ public class HtmlTable implements Table {
     return new HtmlTableScanner(script).getTable(0);
   }
 
+  @Override
+  public HtmlTable asCompiledTemplate(CellContentSubstitution substitution) throws SyntaxError {
+    if (!templateCompiled) {
+      template = HtmlTableTemplate.compile(this);
+      templateCompiled = true;
+    }
+    return template != null ? template.bind(substitution) : asTemplate(substitution);
+  }
+
   static boolean qualifiesAsSymbolReplacement(String text) {
     return text.startsWith("$") && SYMBOL_REPLACEMENT_PATTERN.matcher(text).matches();
   }
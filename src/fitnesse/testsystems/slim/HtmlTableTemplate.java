@@ -0,0 +1,100 @@
+package fitnesse.testsystems.slim;
+
+import fitnesse.testsystems.slim.tables.SyntaxError;
+import org.htmlparser.Attribute;
+import org.htmlparser.Node;
+import org.htmlparser.Tag;
+import org.htmlparser.nodes.TextNode;
+import org.htmlparser.tags.TableColumn;
+import org.htmlparser.tags.TableTag;
+import org.htmlparser.util.NodeList;
+
+import java.util.Vector;
+
+import static fitnesse.util.HtmlParserTools.deepClone;
+
+/**
+ * A table compiled for repeated substitution, e.g. a scenario that is called for every row of a decision table.
+ * <p>
+ * The content of each cell is kept as a single text node. Binding a template clones the table structure and
+ * only applies the substitution to the text that contains a placeholder (<code>@</code>), so no markup
+ * is parsed again.
+ */
+class HtmlTableTemplate {
+  private static final String PLACEHOLDER = "@";
+
+  private final TableTag template;
+
+  private HtmlTableTemplate(TableTag template) {
+    this.template = template;
+  }
+
+  /**
+   * @return the template, or <code>null</code> if the table has placeholders in its markup (e.g. in an attribute).
+   */
+  static HtmlTableTemplate compile(HtmlTable table) {
+    TableTag template = deepClone(table.getTableNode());
+    return compile(template) ? new HtmlTableTemplate(template) : null;
+  }
+
+  private static boolean compile(Node node) {
+    if (node instanceof Tag) {
+      if (hasPlaceholderInAttributes((Tag) node))
+        return false;
+    } else if (!(node instanceof TextNode) && node.toHtml().contains(PLACEHOLDER)) {
+      // e.g. a comment
+      return false;
+    }
+    NodeList children = node.getChildren();
+    if (children == null) {
+      return true;
+    }
+    if (node instanceof TableColumn) {
+      TextNode content = new TextNode(((TableColumn) node).getChildrenHTML());
+      content.setChildren(new NodeList());
+      node.setChildren(new NodeList(content));
+      return true;
+    }
+    for (int i = 0; i < children.size(); i++) {
+      if (!compile(children.elementAt(i)))
+        return false;
+    }
+    return true;
+  }
+
+  private static boolean hasPlaceholderInAttributes(Tag tag) {
+    Vector<?> attributes = tag.getAttributesEx();
+    for (Object attribute : attributes) {
+      String value = ((Attribute) attribute).getValue();
+      if (value != null && value.contains(PLACEHOLDER))
+        return true;
+    }
+    return false;
+  }
+
+  /**
+   * The substitution is applied to each text separately. It gives the same result as a substitution of the whole
+   * table as long as it does not introduce markup or placeholders.
+   */
+  HtmlTable bind(Table.CellContentSubstitution substitution) throws SyntaxError {
+    TableTag table = deepClone(template);
+    substitute(table.getChildren(), substitution);
+    return new HtmlTable(table);
+  }
+
+  private static void substitute(NodeList nodes, Table.CellContentSubstitution substitution) throws SyntaxError {
+    if (nodes == null) {
+      return;
+    }
+    for (int i = 0; i < nodes.size(); i++) {
+      Node node = nodes.elementAt(i);
+      if (node instanceof TextNode) {
+        String text = node.getText();
+        if (text.contains(PLACEHOLDER))
+          node.setText(substitution.substitute(text));
+      } else {
+        substitute(node.getChildren(), substitution);
+      }
+    }
+  }
+}
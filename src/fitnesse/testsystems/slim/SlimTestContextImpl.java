@@ -18,6 +18,8 @@ import java.util.List;
 import java.util.Map;
 
 public class SlimTestContextImpl implements SlimTestContext {
+  private static final int MAX_MEMOIZED_INVOCATIONS = 1024;
+
   private final Map<String, String> symbols = new HashMap<>();
   private final Map<String, ScenarioTable> scenarios = new HashMap<>(512);
   private final TestSummary testSummary = new TestSummary();
@@ -25,6 +27,10 @@ public class SlimTestContextImpl implements SlimTestContext {
   private final TimeMeasurement timeMeasurement;
   private List<ScenarioTable> scenariosWithInputs = null;
   private boolean isSorted = true;
+  // Positions in scenariosWithInputs, by the first word of their invocation
+  private Map<String, List<Integer>> scenarioIndex = null;
+  private List<Integer> unindexedScenarios = null;
+  private final Map<String, ScenarioTable> scenariosByInvocation = new HashMap<>();
   private String currentScriptActor;
   private Class<? extends ScriptTable> currentScriptClass = ScriptTable.class;
 
@@ -57,6 +63,8 @@ public class SlimTestContextImpl implements SlimTestContext {
     if (scenariosWithInputs != null) {
       maintainScenariosWithInputs(oldValue, scenarioTable);
     }
+    scenarioIndex = null;
+    scenariosByInvocation.clear();
   }
 
   @Override
@@ -66,14 +74,62 @@ public class SlimTestContextImpl implements SlimTestContext {
 
   @Override
   public ScenarioTable getScenarioByPattern(String invokingString) {
-    ScenarioTable result = null;
-    for (ScenarioTable s : getScenariosWithMostArgumentsFirst()) {
+    if (scenariosByInvocation.containsKey(invokingString)) {
+      return scenariosByInvocation.get(invokingString);
+    }
+    ScenarioTable result = findScenarioByPattern(invokingString);
+    if (scenariosByInvocation.size() >= MAX_MEMOIZED_INVOCATIONS) {
+      scenariosByInvocation.clear();
+    }
+    scenariosByInvocation.put(invokingString, result);
+    return result;
+  }
+
+  /**
+   * Only scenarios that start with the same word as the invocation, and scenarios for which that word is not known,
+   * are matched. They are tried in the same order as the complete list, so the scenario with most arguments wins.
+   */
+  private ScenarioTable findScenarioByPattern(String invokingString) {
+    List<ScenarioTable> candidates = getScenariosWithMostArgumentsFirst();
+    if (scenarioIndex == null) {
+      buildScenarioIndex(candidates);
+    }
+    String key = firstWord(invokingString);
+    List<Integer> indexed = key != null ? scenarioIndex.getOrDefault(key, Collections.emptyList()) : Collections.emptyList();
+    int i = 0;
+    int j = 0;
+    while (i < indexed.size() || j < unindexedScenarios.size()) {
+      int next;
+      if (j >= unindexedScenarios.size() || (i < indexed.size() && indexed.get(i) < unindexedScenarios.get(j))) {
+        next = indexed.get(i++);
+      } else {
+        next = unindexedScenarios.get(j++);
+      }
+      ScenarioTable s = candidates.get(next);
       if (s.canMatchParameters(invokingString)) {
-        result = s;
-        break;
+        return s;
       }
     }
-    return result;
+    return null;
+  }
+
+  private void buildScenarioIndex(List<ScenarioTable> candidates) {
+    scenarioIndex = new HashMap<>();
+    unindexedScenarios = new ArrayList<>();
+    for (int i = 0; i < candidates.size(); i++) {
+      String prefix = candidates.get(i).getInvocationPrefix();
+      String key = prefix != null ? firstWord(prefix) : null;
+      if (key != null) {
+        scenarioIndex.computeIfAbsent(key, k -> new ArrayList<>()).add(i);
+      } else {
+        unindexedScenarios.add(i);
+      }
+    }
+  }
+
+  private static String firstWord(String text) {
+    int end = text.indexOf(' ');
+    return end < 0 ? null : text.substring(0, end);
   }
 
   private List<ScenarioTable> getScenariosWithMostArgumentsFirst() {
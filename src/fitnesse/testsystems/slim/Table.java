@@ -34,6 +34,12 @@ public interface Table {
 
   Table asTemplate(CellContentSubstitution substitution) throws SyntaxError;
 
+  /**
+   * Same as {@link #asTemplate(CellContentSubstitution)}, for substitutions that do not introduce markup or
+   * placeholders. The table is compiled at the first call, later calls only substitute text.
+   */
+  Table asCompiledTemplate(CellContentSubstitution substitution) throws SyntaxError;
+
   // Mainly for IDE navigation
   @Override
   String toString();
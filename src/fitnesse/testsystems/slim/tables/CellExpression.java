@@ -0,0 +1,214 @@
+package fitnesse.testsystems.slim.tables;
+
+import fitnesse.util.BoundedCache;
+
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+import static fitnesse.testsystems.slim.tables.ComparatorUtil.approximatelyEqual;
+
+/**
+ * An expected cell value, classified once: a regular expression (<code>=~/.../</code>),
+ * a custom comparator (<code>prefix:argument</code>), a numeric comparison (<code>&lt; 5</code>),
+ * a range (<code>3 &lt; _ &lt;= 7</code>) or a plain literal.
+ * <p>
+ * Instances are immutable. Expressions other than literals are shared through a bounded cache, so evaluating
+ * the same expression for many rows does not compile any pattern again. Literals are not cached: data tables
+ * hold many of them, which would push the expressions out and keep arbitrary cell text alive.
+ */
+final class CellExpression {
+  enum Kind { LITERAL, REGEX, CUSTOM, COMPARISON, RANGE }
+
+  private static final Pattern SIMPLE_COMPARISON = Pattern.compile(
+    "\\A\\s*_?\\s*(!?(?:(?:[<>]=?)|(?:[~]?=)))\\s*(-?\\d*\\.?\\d+)\\s*\\Z"
+  );
+  private static final Pattern RANGE = Pattern.compile(
+    "\\A\\s*(-?\\d*\\.?\\d+)\\s*<(=?)\\s*_\\s*<(=?)\\s*(-?\\d*\\.?\\d+)\\s*\\Z"
+  );
+  private static final Pattern REGEX = Pattern.compile("\\s*=~/(.*)/");
+  private static final Pattern CUSTOM_COMPARATOR = Pattern.compile("\\s*(\\w*):(.*)", Pattern.DOTALL);
+
+  private static final int CACHE_SIZE = 10_000;
+  private static final BoundedCache<String, CellExpression> CACHE = new BoundedCache<>(CACHE_SIZE);
+
+  private final String source;
+  private final Kind kind;
+  // Regular expression, custom comparator argument or comparison operand, as written
+  private final String argument;
+  private final String prefix;
+  private final Operator operator;
+  private final double low;
+  private final double high;
+  private final boolean closedLow;
+  private final boolean closedHigh;
+  private volatile Pattern pattern;
+
+  static CellExpression compile(String expression) {
+    if (!mayBeExpression(expression)) {
+      return new CellExpression(expression, Kind.LITERAL);
+    }
+    CellExpression result = CACHE.getIfPresent(expression);
+    if (result == null) {
+      result = new CellExpression(expression);
+      if (result.kind != Kind.LITERAL)
+        CACHE.put(expression, result);
+    }
+    return result;
+  }
+
+  /**
+   * Every expression other than a literal has a ':', '=', '&lt;' or '&gt;'.
+   */
+  private static boolean mayBeExpression(String text) {
+    for (int i = 0; i < text.length(); i++) {
+      char c = text.charAt(i);
+      if (c == ':' || c == '=' || c == '<' || c == '>')
+        return true;
+    }
+    return false;
+  }
+
+  private CellExpression(String source, Kind kind) {
+    this.source = source;
+    this.kind = kind;
+    this.argument = null;
+    this.prefix = null;
+    this.operator = null;
+    this.low = 0;
+    this.high = 0;
+    this.closedLow = false;
+    this.closedHigh = false;
+  }
+
+  private CellExpression(String source) {
+    this.source = source;
+    String argument = null;
+    String prefix = null;
+    Operator operator = null;
+    double low = 0;
+    double high = 0;
+    boolean closedLow = false;
+    boolean closedHigh = false;
+    Kind kind = Kind.LITERAL;
+
+    Matcher matcher;
+    if ((matcher = REGEX.matcher(source)).matches()) {
+      kind = Kind.REGEX;
+      argument = matcher.group(1);
+    } else if ((matcher = CUSTOM_COMPARATOR.matcher(source)).matches()) {
+      kind = Kind.CUSTOM;
+      prefix = matcher.group(1);
+      argument = matcher.group(2);
+    } else if ((matcher = SIMPLE_COMPARISON.matcher(source)).matches()) {
+      kind = Kind.COMPARISON;
+      operator = Operator.of(matcher.group(1));
+      argument = matcher.group(2);
+      low = Double.parseDouble(argument);
+    } else if ((matcher = RANGE.matcher(source)).matches()) {
+      kind = Kind.RANGE;
+      low = Double.parseDouble(matcher.group(1));
+      closedLow = matcher.group(2).equals("=");
+      closedHigh = matcher.group(3).equals("=");
+      high = Double.parseDouble(matcher.group(4));
+    }
+
+    this.kind = kind;
+    this.argument = argument;
+    this.prefix = prefix;
+    this.operator = operator;
+    this.low = low;
+    this.high = high;
+    this.closedLow = closedLow;
+    this.closedHigh = closedHigh;
+  }
+
+  String getSource() {
+    return source;
+  }
+
+  Kind getKind() {
+    return kind;
+  }
+
+  /**
+   * @return the regular expression, the custom comparator argument or the comparison operand.
+   */
+  String getArgument() {
+    return argument;
+  }
+
+  String getPrefix() {
+    return prefix;
+  }
+
+  /**
+   * The user's regular expression is compiled on first use, so an invalid expression
+   * only fails when it is evaluated.
+   */
+  Pattern getPattern() {
+    Pattern result = pattern;
+    if (result == null) {
+      result = Pattern.compile(argument);
+      pattern = result;
+    }
+    return result;
+  }
+
+  boolean compare(double actualValue, String actual) {
+    switch (operator) {
+      case LESS:
+        return actualValue < low;
+      case GREATER:
+        return actualValue > low;
+      case GREATER_OR_EQUAL:
+        return actualValue >= low;
+      case LESS_OR_EQUAL:
+        return actualValue <= low;
+      case NOT_EQUAL:
+        return actualValue != low;
+      case EQUAL:
+        return actualValue == low;
+      case APPROXIMATELY_EQUAL:
+        return approximatelyEqual(argument, actual);
+      case NOT_APPROXIMATELY_EQUAL:
+        return !approximatelyEqual(argument, actual);
+      default:
+        throw new IllegalStateException("Unknown operator " + operator);
+    }
+  }
+
+  boolean inRange(double actualValue) {
+    return (low < actualValue && actualValue < high) || (closedLow && low == actualValue) || (closedHigh && high == actualValue);
+  }
+
+  private enum Operator {
+    LESS, GREATER, GREATER_OR_EQUAL, LESS_OR_EQUAL, NOT_EQUAL, EQUAL, APPROXIMATELY_EQUAL, NOT_APPROXIMATELY_EQUAL;
+
+    static Operator of(String operation) {
+      switch (operation) {
+        case "<":
+        case "!>=":
+          return LESS;
+        case ">":
+        case "!<=":
+          return GREATER;
+        case ">=":
+        case "!<":
+          return GREATER_OR_EQUAL;
+        case "<=":
+        case "!>":
+          return LESS_OR_EQUAL;
+        case "!=":
+          return NOT_EQUAL;
+        case "=":
+          return EQUAL;
+        case "~=":
+          return APPROXIMATELY_EQUAL;
+        case "!~=":
+          return NOT_APPROXIMATELY_EQUAL;
+        default:
+          throw new IllegalArgumentException("Unknown comparison " + operation);
+      }
+    }
+  }
+}
@@ -39,6 +39,7 @@ public class ScenarioTable extends SlimTable {
   private final int colsInHeader = table.getColumnCountInRow(0);
   private boolean parameterized = false;
   private Pattern pattern = null;
+  private String invocationPrefix = null;
 
   public ScenarioTable(Table table, String tableId,
                        SlimTestContext testContext) {
@@ -170,22 +171,24 @@ public class ScenarioTable extends SlimTable {
 
   public List<SlimAssertion> call(final Map<String, String> scenarioArguments,
                    SlimTable parentTable, int row) throws TestExecutionException {
-    Table newTable = getTable().asTemplate(new Table.CellContentSubstitution() {
-      @Override
-      public String substitute(String content) throws SyntaxError {
-        for (Map.Entry<String, String> scenarioArgument : scenarioArguments.entrySet()) {
-          String arg = scenarioArgument.getKey();
-          if (getInputs().contains(arg)) {
-            String argument = scenarioArguments.get(arg);
-            content = StringUtils.replace(content, "@" + arg, argument);
-            content = StringUtils.replace(content, "@{" + arg + "}", argument);
-          } else {
-            throw new SyntaxError(String.format("The argument %s is not an input to the scenario.", arg));
-          }
-        }
-        return content;
+    for (String arg : scenarioArguments.keySet()) {
+      if (!inputs.contains(arg)) {
+        throw new SyntaxError(String.format("The argument %s is not an input to the scenario.", arg));
       }
-    });
+    }
+    Table.CellContentSubstitution substitution = content -> {
+      for (Map.Entry<String, String> scenarioArgument : scenarioArguments.entrySet()) {
+        String arg = scenarioArgument.getKey();
+        String argument = scenarioArgument.getValue();
+        content = StringUtils.replace(content, "@" + arg, argument);
+        content = StringUtils.replace(content, "@{" + arg + "}", argument);
+      }
+      return content;
+    };
+    // Plain text arguments can be put in the compiled scenario, others may change the table's markup
+    Table newTable = isPlainText(scenarioArguments.values())
+      ? getTable().asCompiledTemplate(substitution)
+      : getTable().asTemplate(substitution);
     ScenarioTestContext testContext = new ScenarioTestContext(parentTable.getTestContext());
     ScriptTable t = createChild(testContext, parentTable, newTable);
     parentTable.addChildTable(t, row);
@@ -194,6 +197,14 @@ public class ScenarioTable extends SlimTable {
     return assertions;
   }
 
+  private static boolean isPlainText(Collection<String> arguments) {
+    for (String argument : arguments) {
+      if (argument != null && (argument.indexOf('<') >= 0 || argument.indexOf('@') >= 0))
+        return false;
+    }
+    return true;
+  }
+
   protected ScriptTable createChild(ScenarioTestContext testContext, SlimTable parentTable, Table newTable) throws TableCreationException {
     ScriptTable scriptTable;
     if (parentTable instanceof ScriptTable) {
@@ -245,9 +256,35 @@ public class ScenarioTable extends SlimTable {
     if (parameterizedName != null) {
       String patternString = StringUtils.replace(parameterizedName, "_", "(.*)");
       pattern = Pattern.compile(patternString);
+      invocationPrefix = literalPrefix(parameterizedName);
     }
   }
 
+  // The name is used as a regular expression: the prefix stops at the first special character
+  private static String literalPrefix(String parameterizedName) {
+    if (parameterizedName.indexOf('|') >= 0) {
+      return "";
+    }
+    int end = parameterizedName.indexOf('_');
+    String prefix = end < 0 ? parameterizedName : parameterizedName.substring(0, end);
+    for (int i = 0; i < prefix.length(); i++) {
+      char c = prefix.charAt(i);
+      if ("*+?{".indexOf(c) >= 0)
+        return prefix.substring(0, Math.max(0, i - 1));
+      if ("\\.[]()^$".indexOf(c) >= 0)
+        return prefix.substring(0, i);
+    }
+    return prefix;
+  }
+
+  /**
+   * @return the text every string matched by {@link #canMatchParameters(String)} starts with,
+   * <code>null</code> if this scenario is not invoked by pattern.
+   */
+  public String getInvocationPrefix() {
+    return invocationPrefix;
+  }
+
   public boolean canMatchParameters(String invokingString) {
     Matcher matcher = getMatchingMatcher(invokingString);
     return matcher != null;
@@ -26,12 +26,10 @@ import java.util.HashMap;
 import java.util.LinkedList;
 import java.util.List;
 import java.util.Map;
-import java.util.regex.Matcher;
 import java.util.regex.Pattern;
 
-import static fitnesse.testsystems.slim.tables.ComparatorUtil.approximatelyEqual;
-
 public abstract class SlimTable {
+  private static final Pattern MULTIPLE_SPACES = Pattern.compile("( )+");
 
   private String tableName;
   private int instructionNumber = 0;
@@ -409,12 +407,16 @@ public abstract class SlimTable {
   }
 
   class ReturnedValueExpectation extends RowExpectation {
+    // Classified when the table is built; only used when the cell holds no symbols
+    private final CellExpression compiledExpected;
+
     public ReturnedValueExpectation(int col, int row) {
-      super(col, row, table.getCellContents(col, row));
+      this(col, row, table.getCellContents(col, row));
     }
 
     public ReturnedValueExpectation(int col, int row, String expected) {
       super(col, row, expected);
+      compiledExpected = expected != null ? CellExpression.compile(expected) : null;
     }
 
     @Override
@@ -429,7 +431,7 @@ public abstract class SlimTable {
       else if (replacedExpected.isEmpty())
         testResult = SlimTestResult.ignore(actual);
       else {
-        testResult = new Comparator(replacedExpected, actual, expected).evaluate();
+        testResult = new Comparator(compile(replacedExpected), actual, expected).evaluate();
         if (testResult == null)
           testResult = SlimTestResult.fail(actual, replaceSymbolsWithFullExpansion(expected));
       }
@@ -437,6 +439,12 @@ public abstract class SlimTable {
       return testResult;
     }
 
+    private CellExpression compile(String replacedExpected) {
+      if (compiledExpected != null && compiledExpected.getSource().equals(replacedExpected))
+        return compiledExpected;
+      return CellExpression.compile(replacedExpected);
+    }
+
     private String announceBlank(String originalValue) {
       return originalValue.isEmpty() ? "BLANK" : originalValue;
     }
@@ -536,31 +544,19 @@ public abstract class SlimTable {
   }
 
   class Comparator {
-    private final String expression;
+    private final CellExpression expression;
     private final String actual;
     private final String expected;
-    private final Pattern simpleComparison = Pattern.compile(
-      "\\A\\s*_?\\s*(!?(?:(?:[<>]=?)|(?:[~]?=)))\\s*(-?\\d*\\.?\\d+)\\s*\\Z"
-    );
-    private final Pattern range = Pattern.compile(
-      "\\A\\s*(-?\\d*\\.?\\d+)\\s*<(=?)\\s*_\\s*<(=?)\\s*(-?\\d*\\.?\\d+)\\s*\\Z"
-    );
-
-    private Pattern regexPattern = Pattern.compile("\\s*=~/(.*)/");
-    private Pattern customComparatorPattern = Pattern.compile("\\s*(\\w*):(.*)", Pattern.DOTALL);
-    private double v;
-    private double arg1;
-    private double arg2;
-    public String operation;
-    private String arg1Text;
 
     public Comparator(String actual, String expected) {
-      this.expression = replaceSymbols(expected);
-      this.actual = actual;
-      this.expected = expected;
+      this(replaceSymbols(expected), actual, expected);
     }
 
     public Comparator(String expression, String actual, String expected) {
+      this(CellExpression.compile(expression), actual, expected);
+    }
+
+    Comparator(CellExpression expression, String actual, String expected) {
       this.expression = expression;
       this.actual = actual;
       this.expected = expected;
@@ -572,137 +568,76 @@ public abstract class SlimTable {
     }
 
     public SlimTestResult evaluate() {
-      SlimTestResult message = evaluateRegularExpressionIfPresent();
-      if (message != null)
-        return message;
-
-      message = evaluateCustomComparatorIfPresent();
-      if (message != null)
-        return message;
-
-      operation = matchSimpleComparison();
-      if (operation != null)
-        return doSimpleComparison();
-
-      Matcher matcher = range.matcher(expression);
-      if (matcher.matches() && canUnpackRange(matcher)) {
-        return doRange(matcher);
-      } else
-        return null;
+      switch (expression.getKind()) {
+        case REGEX:
+          return evaluateRegularExpression();
+        case CUSTOM:
+          return evaluateCustomComparator();
+        case COMPARISON:
+          return evaluateSimpleComparison();
+        case RANGE:
+          return evaluateRange();
+        default:
+          return null;
+      }
     }
 
-    private SlimTestResult evaluateCustomComparatorIfPresent() {
-      SlimTestResult message = null;
+    private SlimTestResult evaluateCustomComparator() {
       if (customComparatorRegistry == null) {
         return null;
       }
-      Matcher customComparatorMatcher = customComparatorPattern.matcher(expression);
-      if (customComparatorMatcher.matches()) {
-        String prefix = customComparatorMatcher.group(1);
-        CustomComparator customComparator = customComparatorRegistry.getCustomComparatorForPrefix(prefix);
-        if (customComparator != null) {
-          String expectedString = customComparatorMatcher.group(2);
-          try {
-            if (customComparator.matches(actual, expectedString)) {
-              message = SlimTestResult.pass(expectedString + " matches " + actual);
-            } else {
-              message = SlimTestResult.fail(expectedString + " doesn't match " + actual);
-            }
-          } catch (Exception e) {
-            message = SlimTestResult.fail(expectedString + " doesn't match " + actual + ":\n" + e.getMessage());
-          }
-        }
+      CustomComparator customComparator = customComparatorRegistry.getCustomComparatorForPrefix(expression.getPrefix());
+      if (customComparator == null) {
+        return null;
       }
-      return message;
-    }
-
-    private SlimTestResult evaluateRegularExpressionIfPresent() {
-      Matcher regexMatcher = regexPattern.matcher(expression);
-      SlimTestResult message = null;
-      if (regexMatcher.matches()) {
-        String pattern = regexMatcher.group(1);
-        message = evaluateRegularExpression(pattern);
+      String expectedString = expression.getArgument();
+      try {
+        if (customComparator.matches(actual, expectedString)) {
+          return SlimTestResult.pass(expectedString + " matches " + actual);
+        } else {
+          return SlimTestResult.fail(expectedString + " doesn't match " + actual);
+        }
+      } catch (Exception e) {
+        return SlimTestResult.fail(expectedString + " doesn't match " + actual + ":\n" + e.getMessage());
       }
-      return message;
     }
 
-    private SlimTestResult evaluateRegularExpression(String pattern) {
-      SlimTestResult message;
-      Matcher patternMatcher = Pattern.compile(pattern).matcher(actual);
-      if (patternMatcher.find()) {
-        message = SlimTestResult.pass(String.format("/%s/ found in: %s", pattern, actual));
+    private SlimTestResult evaluateRegularExpression() {
+      String pattern = expression.getArgument();
+      if (expression.getPattern().matcher(actual).find()) {
+        return SlimTestResult.pass("/" + pattern + "/ found in: " + actual);
       } else {
-        message = SlimTestResult.fail(String.format("/%s/ not found in: %s", pattern, actual));
+        return SlimTestResult.fail("/" + pattern + "/ not found in: " + actual);
       }
-      return message;
     }
 
-    private SlimTestResult doRange(Matcher matcher) {
-      boolean closedLeft = matcher.group(2).equals("=");
-      boolean closedRight = matcher.group(3).equals("=");
-      boolean pass = (arg1 < v && v < arg2) || (closedLeft && arg1 == v) || (closedRight && arg2 == v);
-      return rangeMessage(pass);
+    private SlimTestResult evaluateRange() {
+      Double v = parseActual();
+      if (v == null)
+        return null;
+      String[] fragments = collapseSpaces(expected.trim()).split("_");
+      String message = replaceSymbolsWithFullExpansion(fragments[0] + actual + fragments[1]);
+      return expression.inRange(v) ? SlimTestResult.pass(message) : SlimTestResult.fail(message);
     }
 
-    private SlimTestResult rangeMessage(boolean pass) {
-      String[] fragments = expected.trim().replaceAll("( )+", " ").split("_");
-      String message = String.format("%s%s%s", fragments[0], actual, fragments[1]);
-      message = replaceSymbolsWithFullExpansion(message);
-      return pass ? SlimTestResult.pass(message) : SlimTestResult.fail(message);
+    private SlimTestResult evaluateSimpleComparison() {
+      Double v = parseActual();
+      if (v == null)
+        return null;
+      String message = replaceSymbolsWithFullExpansion(actual + collapseSpaces(expected.trim()));
+      return expression.compare(v, actual) ? SlimTestResult.pass(message) : SlimTestResult.fail(message);
     }
 
-    private boolean canUnpackRange(Matcher matcher) {
+    private Double parseActual() {
       try {
-        arg1 = Double.parseDouble(matcher.group(1));
-        arg2 = Double.parseDouble(matcher.group(4));
-        v = Double.parseDouble(actual);
+        return Double.parseDouble(actual);
       } catch (NumberFormatException e) {
-        return false;
-      }
-      return true;
-    }
-
-    private SlimTestResult doSimpleComparison() {
-      if (operation.equals("<") || operation.equals("!>="))
-        return simpleComparisonMessage(v < arg1);
-      else if (operation.equals(">") || operation.equals("!<="))
-        return simpleComparisonMessage(v > arg1);
-      else if (operation.equals(">=") || operation.equals("!<"))
-        return simpleComparisonMessage(v >= arg1);
-      else if (operation.equals("<=") || operation.equals("!>"))
-        return simpleComparisonMessage(v <= arg1);
-      else if (operation.equals("!="))
-        return simpleComparisonMessage(v != arg1);
-      else if (operation.equals("="))
-        return simpleComparisonMessage(v == arg1);
-      else if (operation.equals("~="))
-        return simpleComparisonMessage(approximatelyEqual(arg1Text, actual));
-      else if (operation.equals("!~="))
-        return simpleComparisonMessage(!approximatelyEqual(arg1Text, actual));
-      else
         return null;
-    }
-
-    private SlimTestResult simpleComparisonMessage(boolean pass) {
-      String message = String.format("%s%s", actual, expected.trim().replaceAll("( )+", " "));
-      message = replaceSymbolsWithFullExpansion(message);
-      return pass ? SlimTestResult.pass(message) : SlimTestResult.fail(message);
-
-    }
-
-    private String matchSimpleComparison() {
-      Matcher matcher = simpleComparison.matcher(expression);
-      if (matcher.matches()) {
-        try {
-          v = Double.parseDouble(actual);
-          arg1Text = matcher.group(2);
-          arg1 = Double.parseDouble(arg1Text);
-          return matcher.group(1);
-        } catch (NumberFormatException e1) {
-          return null;
-        }
       }
-      return null;
     }
   }
+
+  private static String collapseSpaces(String s) {
+    return s.indexOf("  ") < 0 ? s : MULTIPLE_SPACES.matcher(s).replaceAll(" ");
+  }
 }
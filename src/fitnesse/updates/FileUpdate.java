@@ -4,11 +4,11 @@ package fitnesse.updates;
 
 import java.io.File;
 import java.io.FileNotFoundException;
-import java.io.FileOutputStream;
 import java.io.IOException;
 import java.io.InputStream;
-import java.io.OutputStream;
 import java.net.URL;
+import java.nio.file.Files;
+import java.nio.file.StandardCopyOption;
 
 public class FileUpdate implements Update {
 
@@ -36,20 +36,8 @@ public class FileUpdate implements Update {
   private void copyResource() throws IOException {
     URL url = getResource(source);
     if (url != null) {
-      InputStream input = null;
-      OutputStream output = null;
-      try {
-        input = url.openStream();
-        output = new FileOutputStream(destinationFile());
-
-        int b;
-        while ((b = input.read()) != -1)
-          output.write(b);
-      } finally {
-        if (input != null)
-          input.close();
-        if (output != null)
-          output.close();
+      try (InputStream input = url.openStream()) {
+        Files.copy(input, destinationFile().toPath(), StandardCopyOption.REPLACE_EXISTING);
       }
     } else
       throw new FileNotFoundException("Could not load resource: " + source);
@@ -7,6 +7,8 @@ import java.io.FileInputStream;
 import java.io.IOException;
 import java.io.InputStream;
 import java.net.URL;
+import java.net.URLConnection;
+import java.util.zip.CRC32;
 
 public class ReplacingFileUpdate extends FileUpdate {
   public ReplacingFileUpdate(String source, File destination) {
@@ -27,7 +29,13 @@ public class ReplacingFileUpdate extends FileUpdate {
     else {
       URL resource = getResource(source);
       if (resource != null) {
-        long sourceSum = checkSum(resource.openStream());
+        URLConnection connection = resource.openConnection();
+        long sourceLength = connection.getContentLengthLong();
+        if (sourceLength >= 0 && sourceLength != destinationFile().length()) {
+          connection.getInputStream().close();
+          return true;
+        }
+        long sourceSum = checkSum(connection.getInputStream());
         long destinationSum = checkSum(new FileInputStream(destinationFile()));
 
         return sourceSum != destinationSum;
@@ -38,14 +46,14 @@ public class ReplacingFileUpdate extends FileUpdate {
 
   private long checkSum(InputStream input) throws IOException {
     try {
-      long sum = 0;
-      int b;
-      while ((b = input.read()) != -1)
-        sum += b;
-      return sum;
+      CRC32 sum = new CRC32();
+      byte[] buffer = new byte[8192];
+      int read;
+      while ((read = input.read(buffer)) != -1)
+        sum.update(buffer, 0, read);
+      return sum.getValue();
     } finally {
       input.close();
     }
-
   }
 }
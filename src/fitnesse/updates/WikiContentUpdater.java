@@ -11,16 +11,22 @@ import java.io.FileInputStream;
 import java.io.FileOutputStream;
 import java.io.IOException;
 import java.io.InputStream;
+import java.io.InterruptedIOException;
 import java.io.OutputStream;
 import java.util.ArrayList;
 import java.util.List;
 import java.util.Properties;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
 import java.util.logging.Level;
 import java.util.logging.Logger;
 
 public class WikiContentUpdater implements Updater {
 
   private static final Logger LOG = Logger.getLogger(WikiContentUpdater.class.getName());
+  private static final int UPDATE_THREADS = Math.max(2, Runtime.getRuntime().availableProcessors());
 
   protected final FitNesseContext context;
   private Properties rootProperties;
@@ -85,21 +91,50 @@ public class WikiContentUpdater implements Updater {
     }
   }
 
+  /**
+   * Updates are independent files, so they are checked and copied on a pool of threads.
+   */
   boolean performAllupdates() throws IOException {
+    long start = System.currentTimeMillis();
     List<Update> updates = makeAllUpdates();
-    for (Update update: updates) {
-      if (update.shouldBeApplied())
-        performUpdate(update);
+    ExecutorService executor = Executors.newFixedThreadPool(UPDATE_THREADS);
+    try {
+      List<Future<Boolean>> results = new ArrayList<>(updates.size());
+      for (final Update update: updates) {
+        results.add(executor.submit(() -> update.shouldBeApplied() && performUpdate(update)));
+      }
+      int applied = 0;
+      for (Future<Boolean> result : results) {
+        if (waitFor(result))
+          applied++;
+      }
+      LOG.info(String.format("Updated %d of %d resources in %d ms", applied, updates.size(), System.currentTimeMillis() - start));
+    } finally {
+      executor.shutdownNow();
     }
     return true;
   }
 
-  private void performUpdate(Update update) {
+  private boolean waitFor(Future<Boolean> result) throws IOException {
+    try {
+      return result.get();
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+      throw new InterruptedIOException("Interrupted while unpacking resources");
+    } catch (ExecutionException e) {
+      if (e.getCause() instanceof IOException)
+        throw (IOException) e.getCause();
+      throw new IOException("Update failed", e.getCause());
+    }
+  }
+
+  private boolean performUpdate(Update update) {
     try {
-//      LOG.info(update.getMessage());
       update.doUpdate();
+      return true;
     } catch (Exception e) {
       LOG.log(Level.SEVERE, "Update failed", e);
+      return false;
     }
   }
 
@@ -0,0 +1,67 @@
+package fitnesse.util;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.function.Function;
+
+/**
+ * Thread safe cache that keeps at most <code>maxSize</code> entries, dropping the least recently used one first.
+ * When a loader is given, {@link #get(Object)} creates missing values with it; the loader should not
+ * return <code>null</code>.
+ */
+public class BoundedCache<K, V> {
+  private final Function<? super K, ? extends V> loader;
+  private final Map<K, V> entries;
+
+  public BoundedCache(int maxSize) {
+    this(maxSize, key -> null);
+  }
+
+  public BoundedCache(final int maxSize, Function<? super K, ? extends V> loader) {
+    this.loader = loader;
+    this.entries = new LinkedHashMap<K, V>(16, 0.75f, true) {
+      @Override
+      protected boolean removeEldestEntry(Map.Entry<K, V> eldest) {
+        return size() > maxSize;
+      }
+    };
+  }
+
+  public V get(K key) {
+    V value = getIfPresent(key);
+    if (value != null)
+      return value;
+    // Load outside the lock: a slow loader should not block other lookups
+    value = loader.apply(key);
+    if (value == null)
+      return null;
+    synchronized (entries) {
+      V existing = entries.putIfAbsent(key, value);
+      return existing != null ? existing : value;
+    }
+  }
+
+  public V getIfPresent(K key) {
+    synchronized (entries) {
+      return entries.get(key);
+    }
+  }
+
+  public void put(K key, V value) {
+    synchronized (entries) {
+      entries.put(key, value);
+    }
+  }
+
+  public int size() {
+    synchronized (entries) {
+      return entries.size();
+    }
+  }
+
+  public void clear() {
+    synchronized (entries) {
+      entries.clear();
+    }
+  }
+}
@@ -6,12 +6,17 @@ import fitnesse.util.Clock;
 import fitnesse.wiki.fs.WikiPageProperties;
 import fitnesse.wikitext.*;
 
+import java.io.IOException;
+import java.util.Map;
+import java.util.concurrent.atomic.LongAdder;
+
 import static fitnesse.wiki.PageType.STATIC;
 
 /**
  * This class adds support for FitNesse wiki text ({@link fitnesse.wikitext.parser.Parser}).
  */
 public abstract class BaseWikitextPage extends BaseWikiPage implements WikitextPage {
+  private static final LongAdder parses = new LongAdder();
 
   private final VariableSource variableSource;
   private ParsingPage parsingPage;
@@ -36,17 +41,44 @@ public abstract class BaseWikitextPage extends BaseWikiPage implements WikitextP
 
   @Override
   public String getVariable(String name) {
-    return getSyntaxTree().findVariable(name)
-      .map(value -> MarkUpSystem.make().variableValueToHtml(parsingPage, value))
+    ParsingPage variables = syntaxTree != null ? parsingPage : makeVariablesPage();
+    return variables.findVariable(name)
+      .map(value -> MarkUpSystem.make().variableValueToHtml(variables, value))
       .orElse(null);
   }
 
+  /**
+   * A parsing page holding this page's definitions, as it would be after parsing the page.
+   * The definitions come from {@link DefinedVariables}, so the page is only parsed if they are not cached.
+   */
+  private ParsingPage makeVariablesPage() {
+    ParsingPage variables = makeParsingPage(this);
+    DefinedVariables.of(this).forEach(variables::putVariable);
+    return variables;
+  }
+
+  Map<String, String> getDefinedVariables() {
+    parse();
+    return parsingPage.getDefinedVariables();
+  }
+
+  boolean hasCopiedVariables() {
+    parse();
+    return parsingPage.hasCopiedVariables();
+  }
+
   @Override
   public String getHtml() {
     parse();
     return syntaxTree.translateToHtml();
   }
 
+  @Override
+  public void writeHtml(Appendable out) throws IOException {
+    parse();
+    syntaxTree.translateToHtml(out);
+  }
+
   @Override
   public SyntaxTree getSyntaxTree() {
     parse();
@@ -55,11 +87,19 @@ public abstract class BaseWikitextPage extends BaseWikiPage implements WikitextP
 
   private void parse() {
     if (syntaxTree == null) {
+      parses.increment();
       parsingPage = makeParsingPage(this);
       syntaxTree = MarkUpSystem.make().parse(parsingPage, getData().getContent());
     }
   }
 
+  /**
+   * @return the number of pages parsed since the JVM started.
+   */
+  public static long getParseCount() {
+    return parses.sum();
+  }
+
   protected void resetCache() {
     parsingPage = null;
     syntaxTree = null;
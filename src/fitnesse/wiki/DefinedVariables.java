@@ -0,0 +1,100 @@
+package fitnesse.wiki;
+
+import java.util.Collections;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.atomic.LongAdder;
+
+import fitnesse.util.BoundedCache;
+import fitnesse.wikitext.VariableSource;
+
+/**
+ * Keeps the variables defined on a page (by <code>!define</code>, including the ones from included pages)
+ * after it has been parsed once.
+ * <p>
+ * Page objects are re-created on every lookup, so without this cache every variable lookup on a new
+ * page object parses all its ancestors again. Entries are kept per page tree (the tree's variable source)
+ * and path. An entry is only used while the page content is unchanged.
+ * <p>
+ * Pages that include other pages are never cached: an included page may be changed on disk at any time,
+ * and its definitions would go stale. Neither are pages that copy the value of another variable
+ * (<code>!define NAME OTHER</code>): the other variable may come from an ancestor or the request URL.
+ */
+public final class DefinedVariables {
+  private static final int CACHE_SIZE = 1000;
+  private static final BoundedCache<Key, Entry> CACHE = new BoundedCache<>(CACHE_SIZE);
+  private static final String INCLUDE = "!include";
+  private static final LongAdder hits = new LongAdder();
+  private static final LongAdder misses = new LongAdder();
+
+  private DefinedVariables() {
+  }
+
+  /**
+   * @return the variables defined on the page itself, by name. Parses the page when it is not cached.
+   */
+  public static Map<String, String> of(BaseWikitextPage page) {
+    Key key = new Key(page.getVariableSource(), page.getFullPath());
+    String content = page.getData().getContent();
+
+    Entry entry = CACHE.getIfPresent(key);
+    if (entry != null && entry.content.equals(content)) {
+      hits.increment();
+      return entry.variables;
+    }
+    misses.increment();
+
+    Map<String, String> variables = Collections.unmodifiableMap(page.getDefinedVariables());
+    if (!content.contains(INCLUDE) && !page.hasCopiedVariables()) {
+      CACHE.put(key, new Entry(content, variables));
+    }
+    return variables;
+  }
+
+  /**
+   * @return the number of lookups served from the cache since the JVM started.
+   */
+  public static long getCacheHits() {
+    return hits.sum();
+  }
+
+  /**
+   * @return the number of lookups that needed the page to be parsed since the JVM started.
+   */
+  public static long getCacheMisses() {
+    return misses.sum();
+  }
+
+  private static final class Key {
+    private final VariableSource variableSource;
+    private final WikiPagePath path;
+
+    private Key(VariableSource variableSource, WikiPagePath path) {
+      this.variableSource = variableSource;
+      this.path = path;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+      if (this == o) return true;
+      if (!(o instanceof Key)) return false;
+      Key key = (Key) o;
+      return Objects.equals(variableSource, key.variableSource) && path.equals(key.path);
+    }
+
+    @Override
+    public int hashCode() {
+      return 31 * Objects.hashCode(variableSource) + path.hashCode();
+    }
+  }
+
+  private static final class Entry {
+    private final String content;
+    private final Map<String, String> variables;
+
+    private Entry(String content, Map<String, String> variables) {
+      this.content = content;
+      this.variables = variables;
+    }
+  }
+}
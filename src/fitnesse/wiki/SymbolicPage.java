@@ -4,6 +4,7 @@ package fitnesse.wiki;
 
 import fitnesse.wikitext.SyntaxTree;
 
+import java.io.IOException;
 import java.util.Collection;
 import java.util.LinkedList;
 import java.util.List;
@@ -122,6 +123,15 @@ public class SymbolicPage extends BaseWikitextPage {
     return realPage.getHtml();
   }
 
+  @Override
+  public void writeHtml(Appendable out) throws IOException {
+    if (containsWikitext()) {
+      super.writeHtml(out);
+    } else {
+      realPage.writeHtml(out);
+    }
+  }
+
   @Override
   public SyntaxTree getSyntaxTree() {
     if (containsWikitext()) {
@@ -1,6 +1,7 @@
 package fitnesse.wiki;
 
 import java.util.Map;
+import java.util.Objects;
 import java.util.Optional;
 
 import fitnesse.wikitext.VariableSource;
@@ -32,4 +33,16 @@ public class UrlPathVariableSource implements VariableSource {
     return Maybe.noString;
   }
 
+  @Override
+  public boolean equals(Object o) {
+    if (this == o) return true;
+    if (!(o instanceof UrlPathVariableSource)) return false;
+    UrlPathVariableSource that = (UrlPathVariableSource) o;
+    return Objects.equals(systemVariables, that.systemVariables) && Objects.equals(urlParams, that.urlParams);
+  }
+
+  @Override
+  public int hashCode() {
+    return Objects.hash(systemVariables, urlParams);
+  }
 }
@@ -3,6 +3,7 @@
 
 package fitnesse.wiki;
 
+import java.io.IOException;
 import java.util.Collection;
 import java.util.List;
 
@@ -69,6 +70,13 @@ public interface WikiPage extends Comparable<WikiPage> {
 
   String getHtml();
 
+  /**
+   * Write the page html, as returned by {@link #getHtml()}, to <code>out</code>.
+   */
+  default void writeHtml(Appendable out) throws IOException {
+    out.append(getHtml());
+  }
+
   /**
    * Commit new content
    *
@@ -3,6 +3,7 @@
 package fitnesse.wiki;
 
 import java.io.File;
+import java.io.IOException;
 import java.net.URI;
 import java.util.ArrayList;
 import java.util.Collections;
@@ -65,6 +66,11 @@ public class WikiPageUtil {
     return getHeaderPageHtml(page) + page.getHtml();
   }
 
+  public static void writePageHtml(WikiPage page, Appendable out) throws IOException {
+    out.append(getHeaderPageHtml(page));
+    page.writeHtml(out);
+  }
+
   public static File resolveFileUri(String fullPageURI, File rootPath) {
     URI uri = URI.create(fullPageURI);
     try {
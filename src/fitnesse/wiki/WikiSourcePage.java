@@ -8,6 +8,7 @@ import java.util.*;
 
 public class WikiSourcePage implements SourcePage {
     private final WikiPage page;
+    private WikiPageProperty properties;
 
     public WikiSourcePage(WikiPage page) { this.page = page; }
 
@@ -93,22 +94,30 @@ public class WikiSourcePage implements SourcePage {
 
     @Override
     public boolean hasProperty(String propertyKey) {
-        return page.getData().getProperties().has(propertyKey);
+        return getProperties().has(propertyKey);
     }
 
     @Override
     public String getProperty(String propertyKey) {
-        String propertyValue = page.getData().getAttribute(propertyKey);
+        String propertyValue = getProperties().get(propertyKey);
         return propertyValue != null ? propertyValue.trim() : "";
     }
 
     public boolean hasSymbolicLinkChild(String childName){
-        if(page.getData().getProperties().has(SymbolicPage.PROPERTY_NAME)){
-             return page.getData().getProperties().getProperty(SymbolicPage.PROPERTY_NAME).keySet().contains(childName);
+        if(getProperties().has(SymbolicPage.PROPERTY_NAME)){
+             return getProperties().getProperty(SymbolicPage.PROPERTY_NAME).keySet().contains(childName);
         }
         return false;
     }
 
+    // Every getData() call copies the page data, so the properties are taken only once per source page
+    private WikiPageProperty getProperties() {
+        if (properties == null) {
+            properties = page.getData().getProperties();
+        }
+        return properties;
+    }
+
     private boolean isParentOf(WikiPage possibleParent) {
         for (WikiPage candidate = page; candidate.getParent() != candidate; candidate = candidate.getParent()) {
             if (possibleParent == candidate)
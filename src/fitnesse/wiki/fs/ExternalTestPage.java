@@ -68,6 +68,11 @@ public class ExternalTestPage extends BaseWikitextPage {
     }
   }
 
+  @Override
+  public void writeHtml(Appendable out) throws IOException {
+    out.append(getHtml());
+  }
+
   private PageData makePageData() {
     String content;
     try {
@@ -74,25 +74,41 @@ public class ZipFileVersionsController implements VersionsController {
   }
 
   @Override
-  public Collection<VersionInfo> history(final File... pageFiles) {
+  public synchronized Collection<VersionInfo> history(final File... pageFiles) {
+    ZipVersionsManifest manifest = ZipVersionsManifest.load(commonBaseDir(pageFiles));
+    Collection<VersionInfo> versions = history(manifest, pageFiles);
+    manifest.save();
+    return versions;
+  }
+
+  private Collection<VersionInfo> history(ZipVersionsManifest manifest, final File... pageFiles) {
     // Let's assume for a second all files live in the same folder
     File dir = commonBaseDir(pageFiles);
     final File[] files = dir.listFiles();
     final Set<VersionInfo> versions = new HashSet<>();
     if (files != null) {
+      final List<String> zipNames = new ArrayList<>();
       for (final File file : files) {
-        if (isVersionFile(file) && isZipForFiles(file, pageFiles)) {
-          versions.add(ZipFileVersionInfo.makeVersionInfo(file));
+        if (isVersionFile(file)) {
+          zipNames.add(file.getName());
+          if (isZipForFiles(manifest, file, pageFiles)) {
+            versions.add(ZipFileVersionInfo.makeVersionInfo(file));
+          }
         }
       }
+      manifest.retainAll(zipNames);
     }
     return versions;
   }
 
   // What about a page with just a content.txt file and no properties.xml?
   // Is okay to have one of the files present!
-  private boolean isZipForFiles(File zipFile, File... containedFiles) {
-    List<String> zipFileNames = getFileNamesInZipFile(zipFile);
+  private boolean isZipForFiles(ZipVersionsManifest manifest, File zipFile, File... containedFiles) {
+    List<String> zipFileNames = manifest.getEntries(zipFile.getName());
+    if (zipFileNames == null) {
+      zipFileNames = getFileNamesInZipFile(zipFile);
+      manifest.put(zipFile.getName(), zipFileNames);
+    }
     for (File f : containedFiles) {
       if (zipFileNames.contains(f.getName())) {
         return true;
@@ -114,13 +130,18 @@ public class ZipFileVersionsController implements VersionsController {
   }
 
   @Override
-  public VersionInfo makeVersion(final FileVersion... fileVersions) throws IOException {
+  public synchronized VersionInfo makeVersion(final FileVersion... fileVersions) throws IOException {
     File commonBaseDir = commonBaseDir(fileVersions);
     String versionName = makeVersionName(commonBaseDir, fileVersions[0]);
     final File zipFile = new File(commonBaseDir, versionName + ZIP_EXTENSION);
 
+    ZipVersionsManifest manifest = ZipVersionsManifest.load(commonBaseDir);
     makeZipVersion(zipFile, fileVersions);
-    pruneVersions(history(toFiles(fileVersions)));
+    if (zipFile.exists()) {
+      manifest.put(zipFile.getName(), existingFileNames(fileVersions));
+    }
+    pruneVersions(manifest, history(manifest, toFiles(fileVersions)));
+    manifest.save();
     persistence.makeVersion(fileVersions);
     return new VersionInfo(versionName, fileVersions[0].getAuthor(), fileVersions[0].getLastModificationTime());
   }
@@ -171,6 +192,15 @@ public class ZipFileVersionsController implements VersionsController {
     return false;
   }
 
+  private List<String> existingFileNames(FileVersion[] fileVersions) {
+    List<String> names = new ArrayList<>(fileVersions.length);
+    for (FileVersion fileVersion : fileVersions) {
+      if (fileVersion.getFile().exists())
+        names.add(fileVersion.getFile().getName());
+    }
+    return names;
+  }
+
   private File[] toFiles(FileVersion[] fileVersions) {
     File[] files = new File[fileVersions.length];
     for (int i = 0; i < fileVersions.length; i++) {
@@ -246,15 +276,18 @@ public class ZipFileVersionsController implements VersionsController {
     return name;
   }
 
-  private void pruneVersions(Collection<VersionInfo> versions) {
+  private void pruneVersions(ZipVersionsManifest manifest, Collection<VersionInfo> versions) {
     List<VersionInfo> versionsList = makeSortedVersionList(versions);
     if (!versions.isEmpty()) {
       VersionInfo lastVersion = versionsList.get(versionsList.size() - 1);
       Date expirationDate = makeVersionExpirationDate(lastVersion);
       for (VersionInfo version : versionsList) {
         Date thisDate = version.getCreationTime();
-        if (thisDate.before(expirationDate) || thisDate.equals(expirationDate))
-          ((ZipFileVersionInfo) version).getFile().delete();
+        if (thisDate.before(expirationDate) || thisDate.equals(expirationDate)) {
+          File zipFile = ((ZipFileVersionInfo) version).getFile();
+          if (zipFile.delete())
+            manifest.remove(zipFile.getName());
+        }
       }
     }
   }
@@ -0,0 +1,118 @@
+package fitnesse.wiki.fs;
+
+import java.io.BufferedReader;
+import java.io.File;
+import java.io.IOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.StandardCopyOption;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+/**
+ * The names of the files stored in each version zip of a directory, so the history of a page can be determined
+ * without opening the archives.
+ * <p>
+ * The manifest is a hidden file next to the zips, with a line per zip: its name followed by the names of the entries,
+ * separated by tabs. It is only a cache: zips that are not listed are read again, and the file is rebuilt
+ * when it is removed.
+ */
+class ZipVersionsManifest {
+  private static final Logger LOG = Logger.getLogger(ZipVersionsManifest.class.getName());
+
+  static final String FILE_NAME = ".zipversions";
+  private static final String SEPARATOR = "\t";
+
+  private final File file;
+  private final Map<String, List<String>> entriesByZip = new TreeMap<>();
+  private boolean changed;
+
+  private ZipVersionsManifest(File file) {
+    this.file = file;
+  }
+
+  static ZipVersionsManifest load(File dir) {
+    ZipVersionsManifest manifest = new ZipVersionsManifest(new File(dir, FILE_NAME));
+    manifest.read();
+    return manifest;
+  }
+
+  private void read() {
+    if (!file.isFile()) {
+      return;
+    }
+    try (BufferedReader reader = Files.newBufferedReader(file.toPath(), StandardCharsets.UTF_8)) {
+      for (String line = reader.readLine(); line != null; line = reader.readLine()) {
+        String[] fields = line.split(SEPARATOR);
+        if (fields.length > 1) {
+          entriesByZip.put(fields[0], Arrays.asList(fields).subList(1, fields.length));
+        }
+      }
+    } catch (IOException e) {
+      LOG.log(Level.WARNING, "Unable to read version manifest " + file + ", it will be rebuilt", e);
+      entriesByZip.clear();
+      changed = true;
+    }
+  }
+
+  /**
+   * @return the names of the files in the zip, or <code>null</code> if the zip is not in the manifest.
+   */
+  List<String> getEntries(String zipName) {
+    return entriesByZip.get(zipName);
+  }
+
+  void put(String zipName, List<String> entries) {
+    if (entries.isEmpty()) {
+      // nothing to look for in an empty (or unreadable) zip
+      return;
+    }
+    entriesByZip.put(zipName, entries);
+    changed = true;
+  }
+
+  void remove(String zipName) {
+    if (entriesByZip.remove(zipName) != null) {
+      changed = true;
+    }
+  }
+
+  /**
+   * Forget zips that were removed from the directory.
+   */
+  void retainAll(Collection<String> zipNames) {
+    if (entriesByZip.keySet().retainAll(zipNames)) {
+      changed = true;
+    }
+  }
+
+  void save() {
+    if (!changed) {
+      return;
+    }
+    File tempFile = new File(file.getPath() + ".tmp");
+    try {
+      try (Writer writer = Files.newBufferedWriter(tempFile.toPath(), StandardCharsets.UTF_8)) {
+        for (Map.Entry<String, List<String>> zip : entriesByZip.entrySet()) {
+          List<String> fields = new ArrayList<>(zip.getValue().size() + 1);
+          fields.add(zip.getKey());
+          fields.addAll(zip.getValue());
+          writer.write(String.join(SEPARATOR, fields));
+          writer.write('\n');
+        }
+      }
+      Files.move(tempFile.toPath(), file.toPath(), StandardCopyOption.REPLACE_EXISTING);
+      changed = false;
+    } catch (IOException e) {
+      LOG.log(Level.WARNING, "Unable to write version manifest " + file, e);
+      tempFile.delete();
+    }
+  }
+}
@@ -1,9 +1,29 @@
 package fitnesse.wiki.refactoring;
 
+import fitnesse.wiki.PathParser;
 import fitnesse.wiki.WikiPage;
 
 import java.util.Optional;
 
 public interface ChangeReference {
   Optional<String> changeReference(WikiPage page, String reference);
+
+  /**
+   * Cheap check on the raw page content. Only pages for which this returns true are parsed
+   * to look for references to change.
+   */
+  default boolean mayChangeReferencesIn(WikiPage page, String content) {
+    return true;
+  }
+
+  /**
+   * A reference to a page, or to one of its descendants, either names the page, or is relative
+   * to a page inside the subject page's subtree.
+   */
+  static boolean mayReferTo(WikiPage currentPage, String content, WikiPage subjectPage, String subjectPath) {
+    if (content.contains(subjectPage.getName()))
+      return true;
+    String currentPath = PathParser.render(currentPage.getFullPath());
+    return currentPath.equals(subjectPath) || currentPath.startsWith(subjectPath + ".");
+  }
 }
@@ -2,6 +2,7 @@
 // Released under the terms of the CPL Common Public License version 1.0.
 package fitnesse.wiki.refactoring;
 
+import fitnesse.wiki.PathParser;
 import fitnesse.wiki.WikiPage;
 import fitnesse.wiki.WikiWordReference;
 
@@ -9,10 +10,12 @@ import java.util.Optional;
 
 public class MovedPageReferenceRenamer implements ChangeReference {
   private final WikiPage pageToBeMoved;
+  private final String pageToBeMovedPath;
   private final String newParentName;
 
   public MovedPageReferenceRenamer(WikiPage pageToBeMoved, String newParentName) {
     this.pageToBeMoved = pageToBeMoved;
+    this.pageToBeMovedPath = PathParser.render(pageToBeMoved.getFullPath());
     this.newParentName = newParentName;
   }
 
@@ -20,4 +23,9 @@ public class MovedPageReferenceRenamer implements ChangeReference {
   public Optional<String> changeReference(WikiPage currentPage, String reference) {
     return new WikiWordReference(currentPage, reference).getMovedPageRenamedContent(reference, pageToBeMoved, newParentName);
   }
+
+  @Override
+  public boolean mayChangeReferencesIn(WikiPage currentPage, String content) {
+    return ChangeReference.mayReferTo(currentPage, content, pageToBeMoved, pageToBeMovedPath);
+  }
 }
@@ -2,6 +2,7 @@
 // Released under the terms of the CPL Common Public License version 1.0.
 package fitnesse.wiki.refactoring;
 
+import fitnesse.wiki.PathParser;
 import fitnesse.wiki.WikiPage;
 import fitnesse.wiki.WikiWordReference;
 
@@ -9,10 +10,12 @@ import java.util.Optional;
 
 public class PageReferenceRenamer implements ChangeReference {
   private final WikiPage subjectPage;
+  private final String subjectPagePath;
   private final String newName;
 
   public PageReferenceRenamer(WikiPage subjectPage, String newName) {
     this.subjectPage = subjectPage;
+    this.subjectPagePath = PathParser.render(subjectPage.getFullPath());
     this.newName = newName;
   }
 
@@ -20,4 +23,9 @@ public class PageReferenceRenamer implements ChangeReference {
   public Optional<String> changeReference(WikiPage currentPage, String reference) {
     return new WikiWordReference(currentPage, reference).getRenamedContent(reference, subjectPage, newName);
   }
+
+  @Override
+  public boolean mayChangeReferencesIn(WikiPage currentPage, String content) {
+    return ChangeReference.mayReferTo(currentPage, content, subjectPage, subjectPagePath);
+  }
 }
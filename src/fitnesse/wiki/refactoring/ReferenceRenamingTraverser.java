@@ -7,6 +7,10 @@ import fitnesse.wikitext.MarkUpSystem;
 import java.util.Optional;
 import java.util.Set;
 
+/**
+ * Rewrites references throughout a wiki. Only pages whose raw content may hold a reference
+ * (see {@link ChangeReference#mayChangeReferencesIn(WikiPage, String)}) are parsed.
+ */
 public class ReferenceRenamingTraverser implements TraversalListener<WikiPage> {
 
   public static void renameReferences(WikiPage root, ChangeReference changeReference) {
@@ -50,6 +54,9 @@ public class ReferenceRenamingTraverser implements TraversalListener<WikiPage> {
 
   private boolean updatePageContent(WikiPage currentPage, PageData data) {
     String content = data.getContent();
+    if (!changeReference.mayChangeReferencesIn(currentPage, content)) {
+      return false;
+    }
 
     String newContent = getUpdatedPageContent(currentPage);
 
@@ -0,0 +1,143 @@
+package fitnesse.wikitext;
+
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.atomic.LongAdder;
+
+import fitnesse.wikitext.parser.Parser;
+import fitnesse.wikitext.parser.Symbol;
+
+/**
+ * Syntax trees of included pages (SetUp, TearDown, scenario libraries, ...), kept for the duration of a test run.
+ * <p>
+ * A tree depends on the variable scope it was parsed in, so each tree is stored with the values of the variables
+ * it used, and the variables it defined. A tree is only reused on a page where those variables have the same values;
+ * its definitions are then added to that page. Wiki words in a tree are resolved relative to the page it was parsed
+ * for, so trees are only shared between pages with the same parent. Pages included by an included page are
+ * assumed not to change during the run.
+ */
+public class IncludeCache {
+  private static final int MAX_SCOPES_PER_PAGE = 16;
+
+  private final ConcurrentMap<Key, List<Entry>> entries = new ConcurrentHashMap<>();
+  private final LongAdder hits = new LongAdder();
+  private final LongAdder misses = new LongAdder();
+  private final LongAdder timeSaved = new LongAdder();
+
+  /**
+   * Parse the content of an included page, or take the tree from the cache.
+   *
+   * @param page the parsing page the content is parsed in
+   * @param includedPage full name of the included page
+   * @param option the include option
+   */
+  public Symbol parse(ParsingPage page, String includedPage, String option, String content) {
+    Key key = new Key(page.getNamedPage().getPath(), includedPage, option, content);
+    for (Entry entry : entries.getOrDefault(key, Collections.emptyList())) {
+      if (entry.appliesTo(page)) {
+        entry.applyTo(page);
+        hits.increment();
+        timeSaved.add(entry.parseTime);
+        page.addIncludeTimeSaved(entry.parseTime);
+        return entry.tree;
+      }
+    }
+
+    misses.increment();
+    long start = System.nanoTime();
+    ParsingPage.Recording recording = page.startRecording();
+    Symbol tree;
+    try {
+      tree = Parser.make(page, content).parse();
+    } finally {
+      page.stopRecording(recording);
+    }
+    List<Entry> scopes = entries.computeIfAbsent(key, k -> new CopyOnWriteArrayList<>());
+    if (scopes.size() < MAX_SCOPES_PER_PAGE) {
+      scopes.add(new Entry(tree, recording, System.nanoTime() - start));
+    }
+    return tree;
+  }
+
+  public long getHits() {
+    return hits.sum();
+  }
+
+  public long getMisses() {
+    return misses.sum();
+  }
+
+  /**
+   * @return the total time (in nanoseconds) it took to parse the trees that were reused.
+   */
+  public long getTimeSaved() {
+    return timeSaved.sum();
+  }
+
+  private static final class Entry {
+    private final Symbol tree;
+    private final int firstId;
+    private final int ids;
+    private final Map<String, String> lookups;
+    private final Map<String, String> defines;
+    private final long parseTime;
+
+    private Entry(Symbol tree, ParsingPage.Recording recording, long parseTime) {
+      this.tree = tree;
+      this.firstId = recording.getFirstId();
+      this.ids = recording.getIds();
+      this.lookups = recording.getLookups();
+      this.defines = recording.getDefines();
+      this.parseTime = parseTime;
+    }
+
+    boolean appliesTo(ParsingPage page) {
+      if (page.peekId() != firstId)
+        return false;
+      for (Map.Entry<String, String> lookup : lookups.entrySet()) {
+        if (!Objects.equals(lookup.getValue(), page.findVariable(lookup.getKey()).orElse(null)))
+          return false;
+      }
+      return true;
+    }
+
+    void applyTo(ParsingPage page) {
+      defines.forEach(page::putVariable);
+      for (int i = 0; i < ids; i++)
+        page.nextId();
+    }
+  }
+
+  private static final class Key {
+    private final String scope;
+    private final String page;
+    private final String option;
+    private final String content;
+
+    private Key(String scope, String page, String option, String content) {
+      this.scope = scope;
+      this.page = page;
+      this.option = option;
+      this.content = content;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+      if (this == o) return true;
+      if (!(o instanceof Key)) return false;
+      Key key = (Key) o;
+      return Objects.equals(scope, key.scope) && page.equals(key.page) && option.equals(key.option)
+        && content.equals(key.content);
+    }
+
+    @Override
+    public int hashCode() {
+      return Objects.hash(scope, page, option, content);
+    }
+  }
+}
@@ -1,7 +1,10 @@
 package fitnesse.wikitext;
 
 import fitnesse.wiki.ApplicationVariableSource;
+import fitnesse.wiki.BaseWikitextPage;
+import fitnesse.wiki.DefinedVariables;
 import fitnesse.wiki.PageVariableSource;
+import fitnesse.wiki.SymbolicPage;
 import fitnesse.wiki.UrlPathVariableSource;
 import fitnesse.wiki.WikiPage;
 import fitnesse.wiki.WikiSourcePage;
@@ -10,6 +13,7 @@ import fitnesse.wikitext.parser.Maybe;
 
 import java.util.ArrayList;
 import java.util.HashMap;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Optional;
@@ -87,25 +91,151 @@ public class ParsingPage implements VariableStore {
     return cache.listVariables();
   }
 
+  /**
+   * @return the variables defined on this page (and the pages it includes) so far, by name.
+   */
+  public Map<String, String> getDefinedVariables() {
+    return cache.getVariables();
+  }
+
   @Override
-  public int nextId() { return id++; }
+  public int nextId() {
+    cache.recordId();
+    return id++;
+  }
+
+  /**
+   * @return the id {@link #nextId()} will return.
+   */
+  public int peekId() {
+    return id;
+  }
 
   @Override
   public void putVariable(String name, String value) {
     cache.putVariable(name, value);
+    cache.recordDefine(name, value);
+  }
+
+  /**
+   * Define a variable with the value of another variable (<code>!define NAME OTHER</code>).
+   */
+  public void putCopiedVariable(String name, String value) {
+    putVariable(name, value);
+    cache.copiedVariables = true;
+  }
+
+  /**
+   * @return whether a variable defined on this page (or the pages it includes) took the value of another variable,
+   * which may be defined on a parent page.
+   */
+  public boolean hasCopiedVariables() {
+    return cache.copiedVariables;
   }
 
   @Override
   public Optional<String> findVariable(String name) {
-    return variableSource != null ? variableSource.findVariable(name) : Optional.empty();
+    Optional<String> value = variableSource != null ? variableSource.findVariable(name) : Optional.empty();
+    cache.recordLookup(name, value);
+    return value;
+  }
+
+  /**
+   * Included pages parsed for this page (and the pages it includes) are taken from, and added to, this cache.
+   */
+  public void setIncludeCache(IncludeCache includeCache) {
+    cache.includeCache = includeCache;
+  }
+
+  public Optional<IncludeCache> getIncludeCache() {
+    return Optional.ofNullable(cache.includeCache);
+  }
+
+  /**
+   * @return the time (in nanoseconds) it took to parse the included pages that were taken from the include cache.
+   */
+  public long getIncludeTimeSaved() {
+    return cache.includeTimeSaved;
+  }
+
+  void addIncludeTimeSaved(long nanos) {
+    cache.includeTimeSaved += nanos;
+  }
+
+  /**
+   * Record the variables used and defined, and the ids taken, on this page and its copies until the recording
+   * is stopped.
+   */
+  Recording startRecording() {
+    Recording recording = new Recording(id);
+    cache.recordings.add(recording);
+    return recording;
+  }
+
+  void stopRecording(Recording recording) {
+    cache.recordings.remove(recording);
+  }
+
+  static class Recording {
+    private final int firstId;
+    private int ids;
+    private final Map<String, String> lookups = new LinkedHashMap<>();
+    private final Map<String, String> defines = new LinkedHashMap<>();
+
+    private Recording(int firstId) {
+      this.firstId = firstId;
+    }
+
+    int getFirstId() {
+      return firstId;
+    }
+
+    int getIds() {
+      return ids;
+    }
+
+    /**
+     * @return the value of each variable used before it was defined; <code>null</code> for undefined variables.
+     */
+    Map<String, String> getLookups() {
+      return lookups;
+    }
+
+    Map<String, String> getDefines() {
+      return defines;
+    }
   }
 
   private static class Cache implements VariableSource {
 
     private final Map<String, String> cache = new HashMap<>();
+    private final List<Recording> recordings = new ArrayList<>(1);
+    private IncludeCache includeCache;
+    private long includeTimeSaved;
+    private boolean copiedVariables;
 
     public Cache() {}
 
+    void recordLookup(String name, Optional<String> value) {
+      if (recordings.isEmpty()) return;
+      for (Recording recording : recordings) {
+        if (!recording.defines.containsKey(name) && !recording.lookups.containsKey(name))
+          recording.lookups.put(name, value.orElse(null));
+      }
+    }
+
+    void recordDefine(String name, String value) {
+      for (Recording recording : recordings) {
+        recording.defines.put(name, value);
+      }
+    }
+
+    void recordId() {
+      for (Recording recording : recordings) {
+        recording.ids++;
+      }
+    }
+
     @Override
     public Optional<String> findVariable(String name) {
       return Optional.ofNullable(cache.get(name));
@@ -118,6 +248,10 @@ public class ParsingPage implements VariableStore {
     public List<String> listVariables(){
       return new ArrayList<>(cache.keySet());
     }
+
+    public Map<String, String> getVariables() {
+      return new HashMap<>(cache);
+    }
   }
 
   private static class UserVariableSource implements VariableSource {
@@ -169,12 +303,29 @@ public class ParsingPage implements VariableStore {
       this.page = page;
     }
 
+    /**
+     * Walks up the ancestors, using their cached definitions (see {@link DefinedVariables}) rather than
+     * parsing each of them. Other variable sources of an ancestor are the same as those of this page,
+     * and have been asked already.
+     */
     @Override
     public Optional<String> findVariable(String name) {
-      if (page.isRoot()) {
-        return Optional.empty();
+      WikiPage current = page;
+      while (!current.isRoot()) {
+        WikiPage parentPage = current.getParent();
+        if (parentPage instanceof SymbolicPage || !(parentPage instanceof BaseWikitextPage)) {
+          return findVariableIn(parentPage, name);
+        }
+        String value = DefinedVariables.of((BaseWikitextPage) parentPage).get(name);
+        if (value != null) {
+          return Optional.of(value);
+        }
+        current = parentPage;
       }
-      WikiPage parentPage = page.getParent();
+      return Optional.empty();
+    }
+
+    private static Optional<String> findVariableIn(WikiPage parentPage, String name) {
       if (parentPage instanceof WikitextPage) {
         return ((WikitextPage) parentPage).getSyntaxTree().findVariable(name);
       } else {
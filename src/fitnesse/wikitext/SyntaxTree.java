@@ -1,11 +1,16 @@
 package fitnesse.wikitext;
 
+import java.io.IOException;
 import java.util.Optional;
 import java.util.function.Consumer;
 
 public interface SyntaxTree {
   String translateToHtml();
 
+  default void translateToHtml(Appendable out) throws IOException {
+    out.append(translateToHtml());
+  }
+
   Optional<String> findVariable(String name);
   void findPaths(Consumer<String> takePath);
   void findXrefs(Consumer<String> takeXref);
@@ -20,13 +20,17 @@ public class Define extends SymbolType implements Rule, Translation {
     if (!ScanString.isVariableName(variableName)) return Symbol.nothing;
 
     Symbol next = parser.moveNext(1);
-    Maybe<String> valueString = (next.isType(SymbolType.Text))
+    boolean copy = next.isType(SymbolType.Text);
+    Maybe<String> valueString = copy
       ? copyVariableValue(parser, next)
       : parseVariableValue(parser, next);
     if (valueString.isNothing()) return Symbol.nothing;
 
     String variableValue = valueString.getValue();
-    parser.getPage().putVariable(variableName, variableValue);
+    if (copy)
+      parser.getPage().putCopiedVariable(variableName, variableValue);
+    else
+      parser.getPage().putVariable(variableName, variableValue);
     return new Maybe<>(current.add(variableName).add(variableValue));
   }
 
@@ -1,13 +1,28 @@
 package fitnesse.wikitext.parser;
 
 import fitnesse.html.HtmlElement;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
 import java.util.Stack;
 
 public class HtmlWriter {
-    private StringBuilder html = new StringBuilder();
-    private int lastEndLine = -1;
+    private final Appendable html;
+    private long length = 0;
+    private long lastEndLine = -1;
     private Tags tags = new Tags();
 
+    public HtmlWriter() {
+        this(new StringBuilder());
+    }
+
+    /**
+     * Write straight to <code>out</code>; {@link #toHtml()} is only meaningful for the default buffer.
+     */
+    public HtmlWriter(Appendable out) {
+        this.html = out;
+    }
+
     public void startTag(String tag) {
         closeCurrentTag(false);
         indentTag();
@@ -23,22 +38,22 @@ public class HtmlWriter {
 
     public void putText(String text) {
         closeCurrentTag(true);
-        html.append(text);
+        append(text);
     }
 
     private void writeTag(String tag) {
-        html.append('<');
-        html.append(tag);
+        append('<');
+        append(tag);
     }
 
     private void indentTag() {
-        for (int i = 0; i < tags.size(); i++) html.append('\t');
+        for (int i = 0; i < tags.size(); i++) append('\t');
     }
 
     private void closeCurrentTag(boolean newTagInline) {
         if (tags.size() > 0) {
             if (tags.isOpen()) {
-                html.append('>');
+                append('>');
                 tags.close();
             }
             if (!newTagInline) writeEndLine();
@@ -48,23 +63,23 @@ public class HtmlWriter {
     public void endTag() {
         Tag tag = tags.pop();
         if (tag.open) {
-            html.append(" />");
+            append(" />");
         }
         else {
-            if (html.length() == lastEndLine) {
+            if (length == lastEndLine) {
                 indentTag();
             }
-            html.append("</");
-            html.append(tag.name);
-            html.append('>');
+            append("</");
+            append(tag.name);
+            append('>');
         }
         if (!tag.inline) writeEndLine();
     }
 
     private void writeEndLine() {
-        if (html.length() == lastEndLine) return;
-        html.append(HtmlElement.endl);
-        lastEndLine = html.length();
+        if (length == lastEndLine) return;
+        append(HtmlElement.endl);
+        lastEndLine = length;
     }
 
     public void putTag(String tag) {
@@ -78,15 +93,34 @@ public class HtmlWriter {
     }
 
     public void putAttribute(String name, String value) {
-        html.append(' ');
-        html.append(name);
-        html.append("=\"");
-        html.append(value);
-        html.append('"');
+        append(' ');
+        append(name);
+        append("=\"");
+        append(value);
+        append('"');
     }
 
     public String toHtml() { return html.toString(); }
 
+    private void append(char c) {
+        try {
+            html.append(c);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        length++;
+    }
+
+    private void append(String text) {
+        String s = String.valueOf(text);
+        try {
+            html.append(s);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        length += s.length();
+    }
+
     private class Tags {
         private Stack<Tag> tags = new Stack<>();
         private Tag top = new Tag(null, false);
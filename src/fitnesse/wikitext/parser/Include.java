@@ -58,10 +58,7 @@ public class Include extends SymbolType implements Rule, Translation {
       ParsingPage included = option.equals(SETUP_ARG) || option.equals(TEARDOWN_ARG)
         ? parser.getPage()
         : parser.getPage().copyForNamedPage(includedPage.getValue());
-      current.add("").add(Parser.make(
-        included,
-        includedPage.getValue().getContent())
-        .parse());
+      current.add("").add(parseIncludedPage(included, option, includedPage.getValue()));
       if (option.equals(SETUP_ARG)) current.copyVariables(setUpSymbols, parser.getVariableSource());
     }
 
@@ -73,6 +70,13 @@ public class Include extends SymbolType implements Rule, Translation {
     return new Maybe<>(current);
   }
 
+  private Symbol parseIncludedPage(ParsingPage included, String option, SourcePage includedPage) {
+    String content = includedPage.getContent();
+    return included.getIncludeCache()
+      .map(cache -> cache.parse(included, includedPage.getFullName(), option, content))
+      .orElseGet(() -> Parser.make(included, content).parse());
+  }
+
   private String parseOption(Parser parser) {
     String option = "";
     Symbol next = parser.peek();
@@ -4,6 +4,7 @@ import fitnesse.wiki.PathParser;
 import fitnesse.wikitext.ParsingPage;
 import fitnesse.wikitext.SyntaxTree;
 
+import java.io.IOException;
 import java.util.Optional;
 import java.util.function.Consumer;
 import java.util.function.Function;
@@ -72,6 +73,11 @@ public class SyntaxTreeV2 implements SyntaxTree {
     return new HtmlTranslator(parsingPage.getPage(), this).translateTree(tree);
   }
 
+  @Override
+  public void translateToHtml(Appendable out) throws IOException {
+    new HtmlTranslator(parsingPage.getPage(), this).translateTree(tree, out);
+  }
+
   @Override
   public Optional<String> findVariable(String name) {
     return parsingPage.findVariable(name);
@@ -76,7 +76,17 @@ public class Table extends SymbolType implements Rule, Translation {
 
   @Override
   public String toTarget(Translator translator, Symbol table) {
-    HtmlWriter writer = new HtmlWriter();
+    StringBuilder html = new StringBuilder();
+    write(translator, table, new HtmlWriter(html));
+    return html.toString();
+  }
+
+  @Override
+  public void writeTarget(Translator translator, Symbol table, Appendable out) {
+    write(translator, table, new HtmlWriter(out));
+  }
+
+  private void write(Translator translator, Symbol table, HtmlWriter writer) {
     writer.startTag("table");
     writeClassAttributeIfDefinedForSymbol(table, writer);
     int longestRow = longestRow(table);
@@ -104,7 +114,6 @@ public class Table extends SymbolType implements Rule, Translation {
       writer.endTag();
     }
     writer.endTag();
-    return writer.toHtml();
   }
 
   private void writeClassAttributeIfDefinedForSymbol(Symbol symbol, HtmlWriter writer) {
@@ -1,5 +1,15 @@
 package fitnesse.wikitext.parser;
 
+import java.io.IOException;
+
 public interface Translation {
     String toTarget(Translator translator, Symbol symbol);
+
+    /**
+     * Write the translation to <code>out</code>. Translations of large symbols (like tables) override this
+     * to write their output directly instead of building it as one string first.
+     */
+    default void writeTarget(Translator translator, Symbol symbol, Appendable out) throws IOException {
+        out.append(toTarget(translator, symbol));
+    }
 }
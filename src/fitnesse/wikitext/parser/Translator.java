@@ -2,6 +2,9 @@ package fitnesse.wikitext.parser;
 
 import fitnesse.wikitext.SourcePage;
 
+import java.io.IOException;
+import java.io.UncheckedIOException;
+
 public abstract class Translator {
 
   private final SourcePage currentPage;
@@ -18,22 +21,42 @@ public abstract class Translator {
 
   public String translateTree(Symbol syntaxTree) {
     StringBuilder result = new StringBuilder();
-    for (Symbol symbol : syntaxTree.getChildren()) {
-      result.append(translate(symbol));
+    try {
+      translateTree(syntaxTree, result);
+    } catch (IOException e) {
+      throw new UncheckedIOException(e);
     }
     return result.toString();
   }
 
+  /**
+   * Translate the tree, writing the result of each top level symbol to <code>out</code> as soon as it is ready.
+   */
+  public void translateTree(Symbol syntaxTree, Appendable out) throws IOException {
+    for (Symbol symbol : syntaxTree.getChildren()) {
+      translate(symbol, out);
+    }
+  }
+
   public String translate(Symbol symbol) {
+    StringBuilder result = new StringBuilder();
+    try {
+      translate(symbol, result);
+    } catch (IOException e) {
+      throw new UncheckedIOException(e);
+    }
+    return result.toString();
+  }
+
+  public void translate(Symbol symbol, Appendable out) throws IOException {
     Translation translation = getTranslation(symbol);
     if (translation != null) {
-      return translation.toTarget(this, symbol);
+      translation.writeTarget(this, symbol, out);
     } else {
-      StringBuilder result = new StringBuilder(symbol.getContent());
+      out.append(symbol.getContent());
       for (Symbol child : symbol.getChildren()) {
-        result.append(translate(child));
+        translate(child, out);
       }
-      return result.toString();
     }
   }
 
@@ -9,30 +9,59 @@ import fitnesse.wiki.WikiSourcePage;
 import fitnesse.wikitext.SourcePage;
 import util.GracefulNamer;
 
+import java.io.UnsupportedEncodingException;
+import java.net.URLEncoder;
 import java.util.ArrayList;
 import java.util.Collection;
 import java.util.Collections;
 import java.util.Iterator;
 
+/**
+ * Builds the table of contents. Levels are rendered until {@link #EAGER_ITEMS} items have been made;
+ * deeper levels are then left as placeholders, that are fetched on demand (see
+ * <code>fitnesse.responders.ContentsTreeResponder</code>).
+ */
 public class ContentsItemBuilder {
+    public static final int EAGER_ITEMS = 1000;
+    public static final String LEVEL_INPUT = "level";
+
+    // The options and variables of a !contents symbol, passed on when fetching a subtree
+    private static final String[] OPTIONS = { "-R", "-h", "-H", "-g", "-p", "-f", "-c" };
+    private static final String[] VARIABLES = {
+      Names.HELP_TOC,
+      Names.HELP_INSTEAD_OF_TITLE_TOC,
+      Names.REGRACE_TOC,
+      Names.PROPERTY_TOC,
+      Names.FILTER_TOC,
+      Names.MORE_SUFFIX_TOC,
+      Names.PROPERTY_CHARACTERS,
+      Names.TEST_PAGE_COUNT_TOC };
+
     private final PropertySource contents;
     private final int level;
     private final SourcePage page;
+    private final ItemBudget budget;
 
     public ContentsItemBuilder(PropertySource contents, int level) {
         this(contents, level, null);
     }
 
     public ContentsItemBuilder(PropertySource contents, int level, SourcePage page) {
+        this(contents, level, page, new ItemBudget(EAGER_ITEMS));
+    }
+
+    private ContentsItemBuilder(PropertySource contents, int level, SourcePage page, ItemBudget budget) {
         this.contents = contents;
         this.level = level;
         this.page = page;
+        this.budget = budget;
     }
 
     public HtmlTag buildLevel(SourcePage page) {
         HtmlTag list = new HtmlTag("ul");
         list.addAttribute("class", "toc" + level);
         for (SourcePage child: getSortedChildren(page)) {
+            budget.remaining--;
             list.add(buildListItem(child));
         }
         return list;
@@ -42,7 +71,11 @@ public class ContentsItemBuilder {
         HtmlTag listItem = buildItem(child);
         if (!child.getChildren().isEmpty()) {
             if (level < getRecursionLimit()) {
-                listItem.add(new ContentsItemBuilder(contents, level + 1, child).buildLevel(child));
+                if (budget.remaining > 0) {
+                    listItem.add(new ContentsItemBuilder(contents, level + 1, child, budget).buildLevel(child));
+                } else {
+                    listItem.add(buildLazyLevel(child));
+                }
             }
             else if (getRecursionLimit() > 0){
                 listItem.add(contents.findProperty(Names.MORE_SUFFIX_TOC, Names.MORE_SUFFIX_DEFAULT));
@@ -51,6 +84,40 @@ public class ContentsItemBuilder {
         return listItem;
     }
 
+    private HtmlTag buildLazyLevel(SourcePage child) {
+        String url = makeSubtreeUrl(child);
+        HtmlTag list = new HtmlTag("ul");
+        list.addAttribute("class", "toc" + (level + 1) + " lazy");
+        list.addAttribute("data-subtree", url);
+        HtmlTag more = new HtmlTag("a", contents.findProperty(Names.MORE_SUFFIX_TOC, Names.MORE_SUFFIX_DEFAULT).trim());
+        more.addAttribute("href", child.getFullName());
+        more.addAttribute("class", "more");
+        list.add(new HtmlTag("li", more));
+        return list;
+    }
+
+    private String makeSubtreeUrl(SourcePage child) {
+        StringBuilder url = new StringBuilder(child.getFullName());
+        url.append("?contentsTree&").append(LEVEL_INPUT).append('=').append(level + 1);
+        for (String option : OPTIONS) {
+            contents.findProperty(option).ifPresent(value -> appendInput(url, option, value));
+        }
+        for (String variable : VARIABLES) {
+            contents.findProperty(variable).ifPresent(value -> appendInput(url, variable, value));
+        }
+        return url.toString();
+    }
+
+    private static void appendInput(StringBuilder url, String name, String value) {
+        try {
+            url.append('&').append(URLEncoder.encode(name, "UTF-8"));
+            if (!value.isEmpty())
+                url.append('=').append(URLEncoder.encode(value, "UTF-8"));
+        } catch (UnsupportedEncodingException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
     private Collection<SourcePage> getSortedChildren(SourcePage parent) {
         ArrayList<SourcePage> result = new ArrayList<>(parent.getChildren());
         Collections.sort(result);
@@ -176,4 +243,13 @@ public class ContentsItemBuilder {
     }
 
     private static final String PROPERTY_CHARACTERS_DEFAULT = "*+@>-";
+
+    // Shared by the builders of all levels of one table of contents
+    private static class ItemBudget {
+        private int remaining;
+
+        ItemBudget(int remaining) {
+            this.remaining = remaining;
+        }
+    }
 }
@@ -49,6 +49,20 @@ public class BindingTest {
     assertEquals(Binding.NullBinding.class, Binding.create(fixture, "**=**").getClass());
   }
 
+  @Test
+  public void bindingsOfSameClassShareResolvedMembers() throws Throwable {
+    TestFixture otherFixture = new TestFixture();
+    Binding first = Binding.create(fixture, "intMethod()");
+    Binding second = Binding.create(otherFixture, "intMethod()");
+    assertSame(first.adapter.method, second.adapter.method);
+    assertSame(otherFixture, second.adapter.target);
+
+    first = Binding.create(fixture, "private int field");
+    second = Binding.create(otherFixture, "private int field");
+    assertSame(first.adapter.field, second.adapter.field);
+    assertSame(otherFixture, second.adapter.target);
+  }
+
   public static class TestFixture extends ParentTestFixture {
   }
 
@@ -142,6 +142,15 @@ public class FixtureTest {
     return f.getArgs();
   }
 
+  @Test
+  public void testFixtureArgumentsCanBeCopied() throws Exception {
+    Fixture copy = new Fixture();
+    assertNull(copy.getArgs());
+
+    copy.setArgs(getArgsForTableWith("<td>1</td><td>2</td>"));
+    assertArrayEquals(new String[]{"1", "2"}, copy.getArgs());
+  }
+
   @Test
   public void testFixtureArgumentsWithEscapedSymbols() throws Exception {
     // "<", ">" are usually escaped (unless surrounded by !- .. -!)
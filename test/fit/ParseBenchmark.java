@@ -0,0 +1,54 @@
+package fit;
+
+import org.junit.Ignore;
+import org.junit.Test;
+
+import static org.junit.Assert.assertEquals;
+
+/**
+ * Parse time for large Fit documents: many rows in one table, many small tables
+ * and deeply nested tables.
+ */
+@Ignore("Don't run unless you have some time to kill.")
+public class ParseBenchmark {
+  private static final int ROUNDS = 10;
+
+  @Test
+  public void timeLongTable() throws Exception {
+    StringBuilder html = new StringBuilder("<table>");
+    for (int i = 0; i < 50_000; i++)
+      html.append("<tr><td>").append(i).append("</td><td>value</td><td>result</td></tr>\n");
+    html.append("</table>");
+    Parse parse = measure("50000 rows", html.toString());
+    assertEquals(50_000, parse.parts.size());
+  }
+
+  @Test
+  public void timeManyTables() throws Exception {
+    StringBuilder html = new StringBuilder();
+    for (int i = 0; i < 10_000; i++)
+      html.append("<p>Table ").append(i).append("</p><table><tr><td>fixture</td></tr><tr><td>a</td><td>b</td></tr></table>\n");
+    Parse parse = measure("10000 tables", html.toString());
+    assertEquals(10_000, parse.size());
+  }
+
+  @Test
+  public void timeNestedTables() throws Exception {
+    String table = "<table><tr><td>leaf</td></tr></table>";
+    for (int i = 0; i < 200; i++)
+      table = "<table><tr><td>" + table + "</td></tr><tr><td>" + i + "</td></tr></table>";
+    measure("200 nested tables", table);
+  }
+
+  private Parse measure(String name, String html) throws Exception {
+    Parse parse = null;
+    long best = Long.MAX_VALUE;
+    for (int i = 0; i < ROUNDS; i++) {
+      long start = System.nanoTime();
+      parse = new Parse(html);
+      best = Math.min(best, System.nanoTime() - start);
+    }
+    System.out.printf("%s (%d chars): %.1f ms%n", name, html.length(), best / 1e6);
+    return parse;
+  }
+}
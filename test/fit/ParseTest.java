@@ -6,6 +6,9 @@ package fit;
 import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.fail;
 
+import java.io.PrintWriter;
+import java.io.StringWriter;
+
 import fit.exception.FitParseException;
 import org.junit.Test;
 
@@ -151,4 +154,35 @@ public class ParseTest {
     assertEquals(1, sub.at(0, 1, 0).size());
   }
 
+  @Test
+  public void testManyRows() throws Exception {
+    StringBuilder html = new StringBuilder("<table>");
+    for (int i = 0; i < 20000; i++)
+      html.append("<tr><td>").append(i).append("</td><td>x</td></tr>");
+    html.append("</table>");
+    Parse p = new Parse(html.toString());
+
+    assertEquals(20000, p.parts.size());
+    assertEquals("19999", p.at(0, 19999, 0).body);
+    assertEquals("x", p.parts.last().parts.last().body);
+    assertEquals(html.toString(), print(p));
+  }
+
+  @Test
+  public void testUnterminatedTag() {
+    try {
+      new Parse("<table><tr><td>one</td></tr></table");
+      fail("expected exception not thrown");
+    }
+    catch (FitParseException e) {
+      assertEquals("Can't find tag: table", e.getMessage());
+    }
+  }
+
+  private static String print(Parse p) {
+    StringWriter out = new StringWriter();
+    p.print(new PrintWriter(out));
+    return out.toString();
+  }
+
 }
\ No newline at end of file
@@ -0,0 +1,77 @@
+package fit.decorator.performance;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.fail;
+
+import fit.Counts;
+import fit.decorator.FixtureDecoratorTestCase;
+import fit.decorator.exceptions.InvalidInputException;
+import fit.decorator.util.TestCaseHelper;
+import org.junit.Test;
+
+public class LoadTest extends FixtureDecoratorTestCase {
+  private static final String FIRST_HTML_ROW = "<tr><td>" + Load.class.getName()
+    + "</td><td>1</td><td>times</td><td>2</td><td>threads</td><td>0</td><td>warm up runs</td></tr>";
+  private Load decorator = new Load();
+
+  @Test
+  public void testSetupDecoratorMustThrowInvalidInputExceptionIfThreadsAreNotSpecified() throws Exception {
+    try {
+      decorator.setupDecorator(new String[]{"10"});
+      fail("Should blow up ");
+    } catch (InvalidInputException e) {
+      // expected
+    }
+  }
+
+  @Test
+  public void testSetupDecoratorShouldAddLoadToSummary() throws Exception {
+    decorator.setupDecorator(new String[]{"10", "4", "2"});
+    assertEquals(10, ((Long) decorator.summary.get(Load.TIMES)).longValue());
+    assertEquals(4, ((Long) decorator.summary.get(Load.THREADS)).longValue());
+    assertEquals(2, ((Long) decorator.summary.get(Load.WARM_UP)).longValue());
+  }
+
+  @Test
+  public void testShouldCountResultsOfAllMeasuredRuns() throws Exception {
+    String fitPage = "<table><tr><td>" + Load.class.getName() + "</td><td>10</td><td>times</td>"
+      + "<td>4</td><td>threads</td><td>3</td><td>warm up runs</td></tr><tr><td>eg.Division</td></tr>"
+      + "<tr><td>numerator</td><td>denominator</td><td>quotient()</td></tr>"
+      + "<tr><td>10</td><td>2</td><td>5</td></tr><tr><td>100</td><td>4</td><td>25</td></tr></table>";
+    Load load = new Load(stopWatch);
+    Counts expected = TestCaseHelper.counts(21, 0, 0, 0);
+    executeAndAssert(expected, fitPage, load);
+    assertEquals(0, ((Long) load.summary.get(Load.ERRORS)).longValue());
+    assertEquals(500.0, (Double) load.summary.get(Load.THROUGHPUT), 0.0);
+  }
+
+  @Test
+  public void testShouldFailIfRunsHaveWrongResults() throws Exception {
+    String fitPage = "<table><tr><td>" + Load.class.getName() + "</td><td>10</td><td>times</td>"
+      + "<td>4</td><td>threads</td><td>0</td><td>warm up runs</td></tr><tr><td>eg.Division</td></tr>"
+      + "<tr><td>numerator</td><td>denominator</td><td>quotient()</td></tr>"
+      + "<tr><td>10</td><td>2</td><td>5</td></tr><tr><td>100</td><td>4</td><td>24</td></tr></table>";
+    Load load = new Load(stopWatch);
+    Counts expected = TestCaseHelper.counts(10, 11, 0, 0);
+    executeAndAssert(expected, fitPage, load);
+    assertEquals(10, ((Long) load.summary.get(Load.ERRORS)).longValue());
+  }
+
+  @Test
+  public void testPercentileIsTimeWithinWhichThatShareOfRunsFinished() throws Exception {
+    decorator.runTimes = new double[]{1, 2, 3, 4, 5, 6, 7, 8, 9, 10};
+    assertEquals(5.0, decorator.percentile(50), 0.0);
+    assertEquals(10.0, decorator.percentile(95), 0.0);
+    assertEquals(1.0, decorator.percentile(1), 0.0);
+  }
+
+  @Override
+  protected String geDecoratorHTMLRow() {
+    return FIRST_HTML_ROW;
+  }
+
+  @Override
+  protected int numberOfAssertionsOnDecorator() {
+    return 1;
+  }
+}
@@ -0,0 +1,42 @@
+package fit.decorator.performance;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.fail;
+
+import fit.decorator.FixtureDecoratorTestCase;
+import fit.decorator.exceptions.InvalidInputException;
+import org.junit.Test;
+
+public class MaxPercentileTimeTest extends FixtureDecoratorTestCase {
+  private static final String FIRST_HTML_ROW = "<tr><td>" + MaxPercentileTime.class.getName()
+    + "</td><td>1</td><td>times</td><td>1</td><td>threads</td><td>0</td><td>warm up runs</td>"
+    + "<td>95</td><td>percentile</td><td>100000</td><td>milliseconds</td></tr>";
+  private MaxPercentileTime decorator = new MaxPercentileTime();
+
+  @Test
+  public void testSetupDecoratorShouldAddPercentileAndMaxTimeToSummary() throws Exception {
+    decorator.setupDecorator(new String[]{"10", "4", "2", "95", "200"});
+    assertEquals(95.0, (Double) decorator.summary.get(MaxPercentileTime.PERCENTILE), 0.0);
+    assertEquals(200, ((Long) decorator.summary.get(MaxPercentileTime.MAX_TIME)).longValue());
+  }
+
+  @Test
+  public void testSetupDecoratorMustThrowInvalidInputExceptionForInvalidPercentile() throws Exception {
+    try {
+      decorator.setupDecorator(new String[]{"10", "4", "2", "101", "200"});
+      fail("Should blow up ");
+    } catch (InvalidInputException e) {
+      // expected
+    }
+  }
+
+  @Override
+  protected String geDecoratorHTMLRow() {
+    return FIRST_HTML_ROW;
+  }
+
+  @Override
+  protected int numberOfAssertionsOnDecorator() {
+    return 2;
+  }
+}
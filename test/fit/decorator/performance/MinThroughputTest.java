@@ -0,0 +1,52 @@
+package fit.decorator.performance;
+
+import static org.junit.Assert.assertEquals;
+
+import fit.Counts;
+import fit.decorator.FixtureDecoratorTestCase;
+import fit.decorator.util.TestCaseHelper;
+import org.junit.Test;
+
+public class MinThroughputTest extends FixtureDecoratorTestCase {
+  private static final String FIRST_HTML_ROW = "<tr><td>" + MinThroughput.class.getName()
+    + "</td><td>1</td><td>times</td><td>1</td><td>threads</td><td>0</td><td>warm up runs</td>"
+    + "<td>0.001</td><td>per second</td></tr>";
+
+  @Test
+  public void testSetupDecoratorShouldAddMinThroughputToSummary() throws Exception {
+    MinThroughput decorator = new MinThroughput();
+    decorator.setupDecorator(new String[]{"10", "4", "2", "50"});
+    assertEquals(50.0, (Double) decorator.summary.get(MinThroughput.MIN_THROUGHPUT), 0.0);
+  }
+
+  @Test
+  public void testShouldPassIfThroughputIsAtLeastMinimum() throws Exception {
+    // 10 runs in 20 milliseconds: 500 per second
+    Counts expected = TestCaseHelper.counts(22, 0, 0, 0);
+    executeAndAssert(expected, page(500), new MinThroughput(stopWatch));
+  }
+
+  @Test
+  public void testShouldFailIfThroughputIsBelowMinimum() throws Exception {
+    Counts expected = TestCaseHelper.counts(21, 1, 0, 0);
+    executeAndAssert(expected, page(600), new MinThroughput(stopWatch));
+  }
+
+  private String page(int minThroughput) {
+    return "<table><tr><td>" + MinThroughput.class.getName() + "</td><td>10</td><td>times</td>"
+      + "<td>2</td><td>threads</td><td>0</td><td>warm up runs</td><td>" + minThroughput + "</td><td>per second</td>"
+      + "</tr><tr><td>eg.Division</td></tr>"
+      + "<tr><td>numerator</td><td>denominator</td><td>quotient()</td></tr>"
+      + "<tr><td>10</td><td>2</td><td>5</td></tr><tr><td>100</td><td>4</td><td>25</td></tr></table>";
+  }
+
+  @Override
+  protected String geDecoratorHTMLRow() {
+    return FIRST_HTML_ROW;
+  }
+
+  @Override
+  protected int numberOfAssertionsOnDecorator() {
+    return 2;
+  }
+}
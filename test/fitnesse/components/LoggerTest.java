@@ -109,6 +109,7 @@ public class LoggerTest {
             ld.size,
             ld.username);
     l.log(ld2);
+    l.flush();
     File dir = l.getDirectory();
     File file = new File(dir, filename);
     BufferedReader br = new BufferedReader(new FileReader(file));
@@ -161,6 +162,47 @@ public class LoggerTest {
     assertEquals(logLine + System.getProperty("line.separator"), contents);
   }
 
+  @Test
+  public void testJsonLogFormat() throws Exception {
+    l.close();
+    l = new Logger(dirPath, Logger.JSON_FORMAT);
+    ld = new LogData(
+            ld.host,
+            ld.time,
+            ld.requestLine,
+            ld.status,
+            ld.size,
+            "Joe",
+            12);
+    assertEquals("{\"host\":\"myHost\",\"user\":\"Joe\",\"time\":\"2003-03-06T13:42:05-01:00\"," +
+      "\"request\":\"request\",\"status\":42,\"bytes\":666,\"duration\":12}", l.formatLogLine(ld));
+  }
+
+  @Test
+  public void testConcurrentLoggingWritesCompleteLines() throws Exception {
+    Thread[] threads = new Thread[8];
+    for (int i = 0; i < threads.length; i++) {
+      threads[i] = new Thread(() -> {
+        for (int j = 0; j < 100; j++)
+          l.log(ld);
+      });
+      threads[i].start();
+    }
+    for (Thread thread : threads)
+      thread.join();
+    l.close();
+
+    BufferedReader br = new BufferedReader(new FileReader(getLogFileFor(ld)));
+    int lines = 0;
+    String line;
+    while ((line = br.readLine()) != null) {
+      assertEquals(logLine, line);
+      lines++;
+    }
+    br.close();
+    assertEquals(800, lines);
+  }
+
   private File getLogFileFor(LogData data) {
     return new File(l.getDirectory(), Logger.makeLogFileName(data.time));
   }
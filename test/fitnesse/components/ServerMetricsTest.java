@@ -0,0 +1,66 @@
+package fitnesse.components;
+
+import java.util.concurrent.TimeUnit;
+
+import org.junit.Before;
+import org.junit.Test;
+
+import fitnesse.wiki.BaseWikitextPage;
+
+import static org.junit.Assert.assertEquals;
+import static util.RegexTestCase.assertSubString;
+
+public class ServerMetricsTest {
+  private ServerMetrics metrics;
+
+  @Before
+  public void setUp() {
+    metrics = new ServerMetrics();
+  }
+
+  @Test
+  public void countsRequestsInFlight() {
+    metrics.requestStarted();
+    metrics.requestStarted();
+    metrics.requestFinished();
+
+    assertEquals(2, metrics.getRequests());
+    assertEquals(1, metrics.getRequestsInFlight());
+  }
+
+  @Test
+  public void writesCountersInPrometheusFormat() throws Exception {
+    metrics.requestRejected();
+    metrics.bytesSent(100);
+    metrics.bytesSent(23);
+
+    String text = prometheus();
+
+    assertSubString("# TYPE fitnesse_requests_rejected_total counter\nfitnesse_requests_rejected_total 1\n", text);
+    assertSubString("fitnesse_response_bytes_total 123\n", text);
+    assertSubString("fitnesse_page_parses_total " + BaseWikitextPage.getParseCount() + "\n", text);
+  }
+
+  @Test
+  public void writesCumulativeHistogramBucketsPerResponderAndStage() throws Exception {
+    metrics.stageFinished("WikiPageResponder", ServerMetrics.Stage.MAKE_RESPONSE, TimeUnit.MILLISECONDS.toNanos(3));
+    metrics.stageFinished("WikiPageResponder", ServerMetrics.Stage.MAKE_RESPONSE, TimeUnit.MILLISECONDS.toNanos(30));
+
+    String text = prometheus();
+    String labels = "responder=\"WikiPageResponder\",stage=\"make_response\"";
+
+    assertSubString("fitnesse_request_stage_seconds_bucket{" + labels + ",le=\"0.001\"} 0\n", text);
+    assertSubString("fitnesse_request_stage_seconds_bucket{" + labels + ",le=\"0.005\"} 1\n", text);
+    assertSubString("fitnesse_request_stage_seconds_bucket{" + labels + ",le=\"0.05\"} 2\n", text);
+    assertSubString("fitnesse_request_stage_seconds_bucket{" + labels + ",le=\"+Inf\"} 2\n", text);
+    assertSubString("fitnesse_request_stage_seconds_sum{" + labels + "} 0.033\n", text);
+    assertSubString("fitnesse_request_stage_seconds_count{" + labels + "} 2\n", text);
+    assertEquals(16.5, metrics.getMeanResponseMillis(), 0.001);
+  }
+
+  private String prometheus() throws Exception {
+    StringBuilder text = new StringBuilder();
+    metrics.writePrometheus(text);
+    return text.toString();
+  }
+}
@@ -104,4 +104,16 @@ public class HtmlTagTest {
     tag.use("new");
     assertEquals("<aTag>new</aTag>" + endl, tag.html());
   }
+
+  @Test
+  public void childIndentationComesFromMakeIndent() {
+    HtmlTag spaced = new HtmlTag("spaced") {
+      @Override
+      protected String makeIndent(int depth) {
+        return "  ";
+      }
+    };
+    tag.add(spaced);
+    assertEquals("<aTag>" + endl + "  <spaced/>" + endl + "</aTag>" + endl, tag.html());
+  }
 }
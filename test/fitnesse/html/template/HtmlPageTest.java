@@ -2,8 +2,13 @@
 // Released under the terms of the CPL Common Public License version 1.0.
 package fitnesse.html.template;
 
+import java.io.IOException;
+import java.io.StringWriter;
+import java.io.Writer;
+import java.util.Collections;
 import java.util.Properties;
 
+import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertTrue;
 import static util.RegexTestCase.assertHasRegexp;
 import static util.RegexTestCase.assertSubString;
@@ -103,4 +108,41 @@ public class HtmlPageTest {
     assertSubString("<a href=\"/TstPg1.TstPg2.TstPg3.TstPg4\">TstPg4</a>", breadcrumbs);
   }
 
+  @Test
+  public void streamedContentIsWrittenInPlaceOfItsMarker() throws Exception {
+    HtmlPage.StreamedPage streamedPage = new HtmlPage.StreamedPage(
+      "<p><!--m:content--></p>", "<!--m:", Collections.singletonMap("content", new Content("streamed")));
+    assertEquals("<p>streamed</p>", writeToString(streamedPage));
+  }
+
+  @Test
+  public void alteredMarkersAreWrittenAsIs() throws Exception {
+    HtmlPage.StreamedPage streamedPage = new HtmlPage.StreamedPage(
+      "<p><!--m:other--><!--m:content--><!--m:cont", "<!--m:", Collections.singletonMap("content", new Content("streamed")));
+    assertEquals("<p><!--m:other-->streamed<!--m:cont", writeToString(streamedPage));
+  }
+
+  private static String writeToString(HtmlPage.StreamedPage streamedPage) throws IOException {
+    StringWriter writer = new StringWriter();
+    streamedPage.writeTo(writer);
+    return writer.toString();
+  }
+
+  private static class Content implements StreamedContent {
+    private final String text;
+
+    private Content(String text) {
+      this.text = text;
+    }
+
+    @Override
+    public String render() {
+      return text;
+    }
+
+    @Override
+    public void writeTo(Writer writer) throws IOException {
+      writer.write(text);
+    }
+  }
 }
@@ -1,7 +1,10 @@
 package fitnesse.html.template;
 
+import static org.junit.Assert.assertFalse;
 import static org.junit.Assert.assertTrue;
 
+import java.io.StringWriter;
+
 import fitnesse.wiki.*;
 import org.apache.velocity.VelocityContext;
 import org.junit.Before;
@@ -11,6 +14,7 @@ import fitnesse.FitNesseContext;
 import fitnesse.components.TraversalListener;
 import fitnesse.components.Traverser;
 import fitnesse.testutil.FitNesseUtil;
+import util.FileUtil;
 import fitnesse.wiki.fs.InMemoryPage;
 
 public class TraverseDirectiveTest {
@@ -35,6 +39,32 @@ public class TraverseDirectiveTest {
     assertTrue(tmpl.contains("<a href=\"PageOne\">PageOne</a>"));
   }
 
+  @Test
+  public void eachTraversedItemIsFlushed() {
+    VelocityContext velocityContext = new VelocityContext();
+    velocityContext.put("resultResponder", new MockTraverser());
+    FlushCountingWriter writer = new FlushCountingWriter();
+
+    context.pageFactory.getVelocityEngine().getTemplate("searchResults.vm", FileUtil.CHARENCODING)
+      .merge(velocityContext, writer);
+
+    assertTrue(writer.flushCount >= 3);
+    assertTrue(writer.contentAtFirstFlush.contains("<a href=\"PageOne\">PageOne</a>"));
+    assertFalse(writer.contentAtFirstFlush.contains("PageTwo"));
+  }
+
+  private static class FlushCountingWriter extends StringWriter {
+    private int flushCount;
+    private String contentAtFirstFlush;
+
+    @Override
+    public void flush() {
+      if (flushCount++ == 0)
+        contentAtFirstFlush = toString();
+      super.flush();
+    }
+  }
+
   public static class MockTraverser implements Traverser<WikiPage> {
 
     @Override
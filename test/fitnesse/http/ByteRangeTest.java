@@ -0,0 +1,54 @@
+package fitnesse.http;
+
+import org.junit.Test;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+
+public class ByteRangeTest {
+
+  @Test
+  public void parsesClosedRange() {
+    ByteRange range = ByteRange.parse("bytes=0-99", 1000);
+    assertEquals(0, range.getFirst());
+    assertEquals(99, range.getLast());
+    assertEquals(100, range.getLength());
+    assertEquals("bytes 0-99/1000", range.contentRange());
+  }
+
+  @Test
+  public void openRangeRunsToTheEnd() {
+    ByteRange range = ByteRange.parse("bytes=900-", 1000);
+    assertEquals(900, range.getFirst());
+    assertEquals(999, range.getLast());
+  }
+
+  @Test
+  public void suffixRangeCountsFromTheEnd() {
+    ByteRange range = ByteRange.parse("bytes=-100", 1000);
+    assertEquals(900, range.getFirst());
+    assertEquals(999, range.getLast());
+    assertEquals(0, ByteRange.parse("bytes=-5000", 1000).getFirst());
+  }
+
+  @Test
+  public void lastPositionIsClippedToContentLength() {
+    assertEquals(999, ByteRange.parse("bytes=10-5000", 1000).getLast());
+  }
+
+  @Test
+  public void rangeBeyondContentIsUnsatisfiable() {
+    assertSame(ByteRange.UNSATISFIABLE, ByteRange.parse("bytes=1000-", 1000));
+    assertSame(ByteRange.UNSATISFIABLE, ByteRange.parse("bytes=-0", 1000));
+  }
+
+  @Test
+  public void unsupportedHeadersAreIgnored() {
+    assertNull(ByteRange.parse(null, 1000));
+    assertNull(ByteRange.parse("bytes=0-10,20-30", 1000));
+    assertNull(ByteRange.parse("lines=1-2", 1000));
+    assertNull(ByteRange.parse("bytes=20-10", 1000));
+    assertNull(ByteRange.parse("bytes=-", 1000));
+  }
+}
@@ -12,6 +12,9 @@ import static util.RegexTestCase.assertSubString;
 
 import java.io.IOException;
 import java.io.UnsupportedEncodingException;
+import java.io.Writer;
+
+import org.apache.commons.lang3.StringUtils;
 
 import org.junit.After;
 import org.junit.Before;
@@ -22,11 +25,13 @@ public class ChunkedResponseTest implements ResponseSender {
   private boolean closed = false;
 
   public StringBuilder buffer;
+  private int sends;
 
   @Override
   public void send(byte[] bytes) {
     try {
       buffer.append(new String(bytes, "UTF-8"));
+      sends++;
     } catch (UnsupportedEncodingException e) {
       throw new RuntimeException("Error in encoding", e);
     }
@@ -190,4 +195,53 @@ public class ChunkedResponseTest implements ResponseSender {
 
     assertMatches("onetwo$", buffer.toString());
   }
+
+  @Test
+  public void writerCoalescesTextUntilFlushed() throws Exception {
+    buffer = new StringBuilder();
+    sends = 0;
+    Writer writer = response.getWriter();
+    writer.write("one");
+    writer.write("two".toCharArray(), 0, 3);
+    writer.write("three", 0, 2);
+    assertEquals("", buffer.toString());
+
+    writer.flush();
+    assertEquals("8\r\nonetwoth\r\n", buffer.toString());
+    assertEquals(1, sends);
+  }
+
+  @Test
+  public void writerSendsFullChunks() throws Exception {
+    buffer = new StringBuilder();
+    sends = 0;
+    Writer writer = response.getWriter();
+    writer.write(StringUtils.repeat('a', ChunkedResponse.CHUNK_SIZE + 1));
+    assertEquals(Integer.toHexString(ChunkedResponse.CHUNK_SIZE) + "\r\n" + StringUtils.repeat('a', ChunkedResponse.CHUNK_SIZE) + "\r\n",
+      buffer.toString());
+    assertEquals(1, sends);
+
+    buffer = new StringBuilder();
+    response.close();
+    assertEquals("1\r\na\r\n0\r\n\r\n", buffer.toString());
+    assertEquals(ChunkedResponse.CHUNK_SIZE + 1, response.getContentSize());
+  }
+
+  @Test
+  public void addSendsWrittenTextFirst() throws Exception {
+    buffer = new StringBuilder();
+    response.getWriter().write("one");
+    response.add("two");
+    assertEquals("6\r\nonetwo\r\n", buffer.toString());
+  }
+
+  @Test
+  public void writerKeepsCharactersSplitOverWrites() throws Exception {
+    buffer = new StringBuilder();
+    Writer writer = response.getWriter();
+    writer.write("\ud83d");
+    writer.write("\ude00");
+    writer.flush();
+    assertEquals("4\r\n\ud83d\ude00\r\n", buffer.toString());
+  }
 }
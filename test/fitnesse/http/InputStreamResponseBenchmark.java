@@ -0,0 +1,175 @@
+package fitnesse.http;
+
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.io.RandomAccessFile;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.net.Socket;
+import java.nio.channels.FileChannel;
+import java.nio.channels.ServerSocketChannel;
+import java.nio.channels.SocketChannel;
+import java.util.Arrays;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Ignore;
+import org.junit.Test;
+
+import static org.junit.Assert.assertTrue;
+
+/**
+ * Throughput of file responses over a loopback connection, for a 100 MB file.
+ * Compares the old 1000 byte copy loop, the buffered fallback (as used for SSL sockets)
+ * and a transfer straight from the file channel to the socket channel.
+ */
+@Ignore("Don't run unless you have some time to kill.")
+public class InputStreamResponseBenchmark {
+  private static final long FILE_SIZE = 100L * 1024 * 1024;
+  private static final int ROUNDS = 5;
+
+  private File testFile;
+  private ExecutorService executor;
+
+  @Before
+  public void setUp() throws IOException {
+    testFile = File.createTempFile("InputStreamResponseBenchmark", ".bin");
+    try (RandomAccessFile file = new RandomAccessFile(testFile, "rw")) {
+      file.setLength(FILE_SIZE);
+    }
+    executor = Executors.newSingleThreadExecutor();
+  }
+
+  @After
+  public void tearDown() {
+    executor.shutdownNow();
+    testFile.delete();
+  }
+
+  @Test
+  public void timeSmallChunkCopy() throws Exception {
+    measure("1000 byte chunks", new SenderFactory() {
+      @Override
+      public ResponseSender create(final SocketChannel channel) throws IOException {
+        final OutputStream output = channel.socket().getOutputStream();
+        return new ResponseSender() {
+          @Override
+          public void send(byte[] bytes) throws IOException {
+            output.write(bytes);
+            output.flush();
+          }
+
+          @Override
+          public void sendFile(FileChannel file, long position, long count) throws IOException {
+            byte[] buffer = new byte[1000];
+            try (InputStream input = new FileInputStream(testFile)) {
+              int read;
+              while ((read = input.read(buffer)) > 0)
+                send(Arrays.copyOf(buffer, read));
+            }
+          }
+
+          @Override
+          public void close() {
+          }
+        };
+      }
+    });
+  }
+
+  @Test
+  public void timeBufferedCopy() throws Exception {
+    measure("buffered copy", new SenderFactory() {
+      @Override
+      public ResponseSender create(SocketChannel channel) throws IOException {
+        final OutputStream output = channel.socket().getOutputStream();
+        return new ResponseSender() {
+          @Override
+          public void send(byte[] bytes) throws IOException {
+            output.write(bytes);
+          }
+
+          @Override
+          public void send(byte[] bytes, int offset, int length) throws IOException {
+            output.write(bytes, offset, length);
+          }
+
+          @Override
+          public void close() {
+          }
+        };
+      }
+    });
+  }
+
+  @Test
+  public void timeTransferTo() throws Exception {
+    measure("transferTo", new SenderFactory() {
+      @Override
+      public ResponseSender create(final SocketChannel channel) throws IOException {
+        final OutputStream output = channel.socket().getOutputStream();
+        return new ResponseSender() {
+          @Override
+          public void send(byte[] bytes) throws IOException {
+            output.write(bytes);
+          }
+
+          @Override
+          public void sendFile(FileChannel file, long position, long count) throws IOException {
+            long end = position + count;
+            while (position < end)
+              position += file.transferTo(position, end - position, channel);
+          }
+
+          @Override
+          public void close() {
+          }
+        };
+      }
+    });
+  }
+
+  private void measure(String name, SenderFactory senderFactory) throws Exception {
+    try (ServerSocketChannel server = ServerSocketChannel.open()) {
+      server.bind(new InetSocketAddress(InetAddress.getLoopbackAddress(), 0));
+      long best = Long.MAX_VALUE;
+      for (int i = 0; i < ROUNDS; i++) {
+        Future<Long> received = drain(server.socket().getLocalPort());
+        long start = System.nanoTime();
+        try (SocketChannel channel = server.accept()) {
+          InputStreamResponse response = new InputStreamResponse();
+          response.setBody(testFile);
+          response.sendTo(senderFactory.create(channel));
+        }
+        assertTrue(received.get() > FILE_SIZE);
+        best = Math.min(best, System.nanoTime() - start);
+      }
+      double seconds = best / 1e9;
+      System.out.printf("%s: %.3f s, %.1f MB/s%n", name, seconds, FILE_SIZE / seconds / (1024 * 1024));
+    }
+  }
+
+  private Future<Long> drain(final int port) {
+    return executor.submit(() -> {
+      long total = 0;
+      try (Socket socket = new Socket(InetAddress.getLoopbackAddress(), port)) {
+        InputStream input = socket.getInputStream();
+        byte[] buffer = new byte[64 * 1024];
+        int read;
+        while ((read = input.read(buffer)) > 0)
+          total += read;
+      }
+      return total;
+    });
+  }
+
+  private interface SenderFactory {
+    ResponseSender create(SocketChannel channel) throws IOException;
+  }
+}
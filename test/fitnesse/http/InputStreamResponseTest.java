@@ -62,6 +62,31 @@ public class InputStreamResponseTest implements ResponseSender {
     assertEquals("content", result.getBody());
   }
 
+  @Test
+  public void testWithFileRange() throws Exception {
+    FileUtil.createFile(testFile, "content");
+    response.setBody(testFile);
+    response.setRange(ByteRange.parse("bytes=2-4", testFile.length()));
+    response.sendTo(this);
+    assertTrue(closed);
+
+    ResponseParser result = new ResponseParser(new ByteArrayInputStream(output.toByteArray()));
+    assertEquals(206, result.getStatus());
+    assertEquals("3", result.getHeader("Content-Length"));
+    assertEquals("bytes 2-4/7", result.getHeader("Content-Range"));
+    assertEquals("nte", result.getBody());
+  }
+
+  @Test
+  public void testFileRangeStatusLine() throws Exception {
+    FileUtil.createFile(testFile, "content");
+    response.setBody(testFile);
+    response.setRange(ByteRange.parse("bytes=2-4", testFile.length()));
+    response.sendTo(this);
+
+    assertTrue(output.toString("UTF-8").startsWith("HTTP/1.1 206 Partial Content\r\n"));
+  }
+
   @Test
   public void testWithLargeFile() throws Exception {
     writeLinesToFile(1000);
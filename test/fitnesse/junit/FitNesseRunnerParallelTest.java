@@ -0,0 +1,106 @@
+package fitnesse.junit;
+
+import fitnesse.testrunner.MultipleTestsRunner;
+import fitnesse.testsystems.TestPage;
+import fitnesse.testsystems.TestSummary;
+import fitnesse.testsystems.TestSystemListener;
+import org.junit.Test;
+import org.junit.runner.Description;
+import org.junit.runner.notification.Failure;
+import org.junit.runner.notification.RunListener;
+import org.junit.runner.notification.RunNotifier;
+import org.junit.runners.model.InitializationError;
+
+import java.util.Map;
+import java.util.TreeMap;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+
+public class FitNesseRunnerParallelTest {
+
+  @FitNesseRunner.Suite("FitNesse.SuiteAcceptanceTests.SuiteSlimTests.QueryTableSuite")
+  @FitNesseRunner.FitnesseDir(".")
+  @FitNesseRunner.OutputDir("./build/fitnesse-results")
+  @FitNesseRunner.DebugMode(false)
+  public static class SequentialSuite {
+  }
+
+  @FitNesseRunner.Suite("FitNesse.SuiteAcceptanceTests.SuiteSlimTests.QueryTableSuite")
+  @FitNesseRunner.FitnesseDir(".")
+  @FitNesseRunner.OutputDir("./build/fitnesse-results")
+  @FitNesseRunner.DebugMode(false)
+  @FitNesseRunner.Parallel(2)
+  public static class ParallelSuite {
+  }
+
+  @Test
+  public void parallelGroupsReportTheSameResultsAsASequentialRun() throws Exception {
+    RecordingRunner sequential = new RecordingRunner(SequentialSuite.class);
+    RecordingRunner parallel = new RecordingRunner(ParallelSuite.class);
+
+    sequential.runAndRecord();
+    parallel.runAndRecord();
+
+    assertFalse(sequential.outcomes.isEmpty());
+    assertEquals(sequential.outcomes, parallel.outcomes);
+    assertEquals(sequential.summaries, parallel.summaries);
+  }
+
+  /**
+   * Records the JUnit outcome and the test summary of each page, by page name.
+   */
+  public static class RecordingRunner extends FitNesseRunner {
+    private final Map<String, String> outcomes = new TreeMap<>();
+    private final Map<String, String> summaries = new TreeMap<>();
+
+    public RecordingRunner(Class<?> suiteClass) throws InitializationError {
+      super(suiteClass);
+    }
+
+    void runAndRecord() {
+      RunNotifier notifier = new RunNotifier();
+      notifier.addListener(new RunListener() {
+        @Override
+        public void testFinished(Description description) {
+          record(description, "finished");
+        }
+
+        @Override
+        public void testFailure(Failure failure) {
+          record(failure.getDescription(), "failed: " + failure.getMessage());
+        }
+
+        @Override
+        public void testIgnored(Description description) {
+          record(description, "ignored");
+        }
+      });
+      run(notifier);
+    }
+
+    private void record(Description description, String outcome) {
+      synchronized (outcomes) {
+        outcomes.merge(String.valueOf(description.getMethodName()), outcome, (a, b) -> a + ", " + b);
+      }
+    }
+
+    @Override
+    protected void addTestSystemListeners(RunNotifier notifier, MultipleTestsRunner testRunner, Class<?> suiteClass,
+                                          DescriptionFactory descriptionFactory) {
+      super.addTestSystemListeners(notifier, testRunner, suiteClass, descriptionFactory);
+      testRunner.addTestSystemListener(new TestSystemListener() {
+        @Override
+        public void testOutputChunk(TestPage testPage, String output) {
+        }
+
+        @Override
+        public void testComplete(TestPage test, TestSummary testSummary) {
+          synchronized (summaries) {
+            summaries.put(test.getFullPath(), testSummary.toString());
+          }
+        }
+      });
+    }
+  }
+}
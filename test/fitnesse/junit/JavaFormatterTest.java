@@ -130,4 +130,22 @@ public class JavaFormatterTest {
     jf.close();
     verify(mockResultsRepository,times(0)).open(nestedPageName);
   }
+
+  @Test
+  public void close_writesSummaryOfAddedResultsOnly() throws Exception{
+    JavaFormatter group = new JavaFormatter(suiteName);
+    JavaFormatter.ResultsRepository groupResultsRepository = mock(JavaFormatter.ResultsRepository.class);
+    group.setResultsRepository(groupResultsRepository);
+    group.setWriteSummaryOnClose(false);
+    group.testComplete(buildNestedTestPage(), new TestSummary(5,6,7,8));
+    group.close();
+    verify(groupResultsRepository, times(0)).open(suiteName);
+
+    jf.setTotalSummary(new TestSummary(1,2,3,4));
+    jf.addResults(group);
+    jf.close();
+    assertEquals(new TestSummary(6,8,10,12), jf.getTotalSummary());
+    assertEquals(new TestSummary(5,6,7,8), jf.getTestSummary(nestedPageName));
+    verify(mockResultsRepository).open(suiteName);
+  }
 }
@@ -0,0 +1,95 @@
+package fitnesse.reporting.history;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import util.FileUtil;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+public class CapturedOutputTest {
+  private File directory;
+
+  @Before
+  public void setUp() {
+    directory = new File("capturedOutput");
+  }
+
+  @After
+  public void tearDown() throws IOException {
+    if (directory.exists())
+      FileUtil.deleteFileSystemDirectory(directory);
+  }
+
+  private CapturedOutput capturedOutput(int headLines, int tailLines, long fileSize) {
+    CapturedOutput output = new CapturedOutput("test", headLines, tailLines, fileSize);
+    output.setLogDirectory(directory, "20090418123103_");
+    return output;
+  }
+
+  @Test
+  public void keepsAllLinesWithinLimits() {
+    CapturedOutput output = capturedOutput(2, 2, 1024);
+    for (int i = 1; i <= 4; i++)
+      output.addLine("line " + i);
+
+    assertEquals("line 1\nline 2\nline 3\nline 4\n", output.toString());
+    assertEquals(0, output.getOmittedLines());
+    assertNull(output.getLogFile());
+  }
+
+  @Test
+  public void keepsHeadAndTailAndWritesCompleteOutputToFile() throws IOException {
+    CapturedOutput output = capturedOutput(2, 2, 1024);
+    for (int i = 1; i <= 7; i++)
+      output.addLine("line " + i);
+
+    assertEquals("line 1\nline 2\n... 3 lines omitted ...\nline 6\nline 7\n", output.toString());
+    assertEquals("line 1\nline 2\nline 3\nline 4\nline 5\nline 6\nline 7\n", readLogFile(output.getLogFile()));
+  }
+
+  @Test
+  public void keepsMostRecentOutputInFile() throws IOException {
+    CapturedOutput output = capturedOutput(0, 0, 40);
+    for (int i = 1; i <= 20; i++)
+      output.addLine("line " + i);
+
+    String log = readLogFile(output.getLogFile());
+    assertTrue(log, log.endsWith("line 19\nline 20\n"));
+    assertTrue(log, !log.contains("line 1\n"));
+    // two segments of about half the file size
+    assertTrue(log, log.length() < 60);
+  }
+
+  @Test
+  public void writesLogFileNamedAfterResultDateInLogDirectory() {
+    CapturedOutput output = capturedOutput(0, 0, 1024);
+    output.addLine("line 1");
+
+    String logFile = output.getLogFile();
+    assertTrue(logFile, logFile.startsWith("20090418123103_test_"));
+    assertTrue(new File(directory, logFile).isFile());
+  }
+
+  @Test
+  public void keepsHeadAndTailOnlyWithoutLogDirectory() {
+    CapturedOutput output = new CapturedOutput("test", 1, 1, 1024);
+    for (int i = 1; i <= 3; i++)
+      output.addLine("line " + i);
+
+    assertEquals("line 1\n... 1 lines omitted ...\nline 3\n", output.toString());
+    assertNull(output.getLogFile());
+  }
+
+  private String readLogFile(String logFile) throws IOException {
+    try (InputStream input = CapturedOutput.openLogFile(new File(directory, logFile))) {
+      return FileUtil.toString(input);
+    }
+  }
+}
@@ -94,6 +94,23 @@ public class HistoryPurgerTest {
     assertNotNull(pageHistory.get(makeDate("20090614000000")));
   }
 
+  @Test
+  public void shouldDeleteLogFilesWithTheirTestHistory() throws Exception {
+    File pageDirectory = addPageDirectory("SomePage");
+    addTestResult(pageDirectory, "20090614000000_1_0_0_0");
+    new File(pageDirectory, "20090614000000_stdout_1.log").createNewFile();
+    new File(pageDirectory, "20090614000000_stdout_1.log.1").createNewFile();
+    addTestResult(pageDirectory, "20090615000000_1_0_0_0");
+    new File(pageDirectory, "20090615000000_stdout_2.log").createNewFile();
+
+    historyPurger.deleteTestHistoryOlderThanDays();
+
+    List<String> files = Arrays.asList(pageDirectory.list());
+    assertEquals(2, files.size());
+    assertTrue(files.contains("20090615000000_1_0_0_0.xml"));
+    assertTrue(files.contains("20090615000000_stdout_2.log"));
+  }
+
   @Test
   public void shouldDeletePageHistoryDirectoryIfEmptiedByPurge() throws Exception {
     File pageDirectory = addPageDirectory("SomePage");
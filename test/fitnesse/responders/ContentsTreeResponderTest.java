@@ -0,0 +1,63 @@
+package fitnesse.responders;
+
+import fitnesse.Responder;
+import fitnesse.http.Response;
+import fitnesse.http.SimpleResponse;
+import fitnesse.wiki.PathParser;
+import fitnesse.wiki.WikiPage;
+import fitnesse.wiki.WikiPageUtil;
+import fitnesse.wikitext.shared.ContentsItemBuilder;
+import org.json.JSONObject;
+import org.junit.Test;
+
+import static org.junit.Assert.assertEquals;
+import static util.RegexTestCase.assertNotSubString;
+import static util.RegexTestCase.assertSubString;
+
+public class ContentsTreeResponderTest extends ResponderTestCase {
+  @Override
+  protected Responder responderInstance() {
+    return new ContentsTreeResponder();
+  }
+
+  @Test
+  public void returnsLevelOfContentsAsJson() throws Exception {
+    WikiPage parent = WikiPageUtil.addPage(root, PathParser.parse("ParentPage"));
+    WikiPage child = WikiPageUtil.addPage(parent, PathParser.parse("ChildPage"));
+    WikiPageUtil.addPage(child, PathParser.parse("GrandChild"));
+    request.setResource("ParentPage");
+    request.addInput(ContentsItemBuilder.LEVEL_INPUT, "2");
+    request.addInput("-R", "2");
+    request.addInput("-g", "");
+
+    String html = getHtml();
+
+    assertSubString("<ul class=\"toc2\">", html);
+    assertSubString("<a href=\"ParentPage.ChildPage\" class=\"static\">Child Page</a>", html);
+    assertSubString(" ...", html);
+    assertNotSubString("GrandChild", html);
+  }
+
+  @Test
+  public void deeperLevelsOfBigTreesAreFetchedOnDemand() throws Exception {
+    WikiPage parent = WikiPageUtil.addPage(root, PathParser.parse("ParentPage"));
+    for (int i = 0; i <= ContentsItemBuilder.EAGER_ITEMS; i++) {
+      WikiPage child = WikiPageUtil.addPage(parent, PathParser.parse("ChildPage" + (10000 + i)));
+      WikiPageUtil.addPage(child, PathParser.parse("GrandChild"));
+    }
+    request.setResource("ParentPage");
+    request.addInput("-R", String.valueOf(Integer.MAX_VALUE));
+
+    String html = getHtml();
+
+    assertSubString("ParentPage.ChildPage10000.GrandChild", html);
+    assertSubString("<ul class=\"toc2 lazy\" data-subtree=\"ParentPage.ChildPage11000?contentsTree&level=2&-R=2147483647\">", html);
+    assertNotSubString("ParentPage.ChildPage11000.GrandChild", html);
+  }
+
+  private String getHtml() throws Exception {
+    Response response = responder.makeResponse(context, request);
+    assertEquals(Response.Format.JSON.getContentType(), response.getContentType());
+    return new JSONObject(((SimpleResponse) response).getContent()).getString("html");
+  }
+}
@@ -20,6 +20,9 @@ import org.junit.Before;
 import org.junit.Test;
 import org.w3c.dom.Document;
 
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Date;
 import java.util.LinkedList;
 import java.util.List;
@@ -190,6 +193,50 @@ public class WikiImporterTest implements WikiImporterClient {
     assertEquals(0, errors.size());
   }
 
+  @Test
+  public void testImportedPagesAreReportedInTreeOrder() throws Exception {
+    localRoot = InMemoryPage.makeRoot("LocalRoot");
+    importer.setConcurrentFetches(3);
+    importer.importWiki(localRoot);
+
+    assertEquals(3, imports.size());
+    assertEquals("PageOne", imports.get(0).getName());
+    assertEquals("ChildOne", imports.get(1).getName());
+    assertEquals("PageTwo", imports.get(2).getName());
+    assertEquals("child one", localRoot.getChildPage("PageOne").getChildPage("ChildOne").getData().getContent());
+  }
+
+  @Test
+  public void testImportRemotePageContentIsCalledForEachImportedPage() throws Exception {
+    final List<String> remotePaths = new ArrayList<>();
+    importer = new WikiImporter() {
+      @Override
+      protected void importRemotePageContent(WikiPage localPage) throws IOException {
+        remotePaths.add(PathParser.render(getRemotePath()));
+        super.importRemotePageContent(localPage);
+      }
+    };
+    importer.setWikiImporterClient(this);
+    importer.parseUrl("http://localhost:" + FitNesseUtil.PORT);
+    localRoot = InMemoryPage.makeRoot("LocalRoot");
+    importer.importWiki(localRoot);
+
+    assertEquals(Arrays.asList("PageOne", "PageOne.ChildOne", "PageTwo"), remotePaths);
+    assertEquals(3, imports.size());
+  }
+
+  @Test
+  public void testOnlyModifiedPagesAreFetchedAgain() throws Exception {
+    localRoot = InMemoryPage.makeRoot("LocalRoot");
+    importer.importWiki(localRoot);
+    imports.clear();
+
+    importer.importWiki(localRoot);
+
+    assertEquals(0, imports.size());
+    assertEquals(0, errors.size());
+  }
+
   @Test
   public void testFindsOrphansOnLocalWiki() throws Exception {
     performImportWithExtraLocalPages();
@@ -12,8 +12,11 @@ import fitnesse.Responder;
 import fitnesse.authentication.SecureOperation;
 import fitnesse.authentication.SecureReadOperation;
 import fitnesse.authentication.SecureResponder;
+import fitnesse.http.ChunkedResponse;
 import fitnesse.http.MockRequest;
-import fitnesse.http.SimpleResponse;
+import fitnesse.http.MockResponseSender;
+import fitnesse.http.Request;
+import fitnesse.http.Response;
 import fitnesse.testutil.FitNesseUtil;
 import fitnesse.wiki.*;
 
@@ -22,6 +25,9 @@ import static org.junit.Assert.assertTrue;
 import static util.RegexTestCase.assertDoesntHaveRegexp;
 import static util.RegexTestCase.assertHasRegexp;
 import static util.RegexTestCase.assertNotSubString;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.spy;
 import static util.RegexTestCase.assertSubString;
 
 public class WikiPageResponderTest {
@@ -44,19 +50,21 @@ public class WikiPageResponderTest {
 
     final MockRequest request = new MockRequest();
     request.setResource("ChildPage");
+    request.addInput(Request.NOCHUNK, "");
 
     final Responder responder = new WikiPageResponder();
-    final SimpleResponse response = (SimpleResponse) responder.makeResponse(context, request);
+    final Response response = responder.makeResponse(context, request);
 
     assertEquals(200, response.getStatus());
+    assertTrue(response instanceof ChunkedResponse);
 
-    final String body = response.getContent();
+    final String body = send(response);
 
     assertSubString("<html>", body);
     assertSubString("<body", body);
     assertSubString("child content", body);
     assertSubString("href=\"ChildPage?whereUsed\"", body);
-    assertSubString("Cache-Control: max-age=0", response.makeHttpHeaders());
+    assertSubString("Cache-Control: max-age=0", body);
     assertSubString("<span class=\"tag\">Wiki Page tags</span>", body);
   }
 
@@ -67,17 +75,52 @@ public class WikiPageResponderTest {
 
     final MockRequest request = new MockRequest();
     request.setResource("page.child_page");
+    request.addInput(Request.NOCHUNK, "");
 
     final Responder responder = new WikiPageResponder();
-    final SimpleResponse response = (SimpleResponse) responder.makeResponse(context, request);
+    final Response response = responder.makeResponse(context, request);
 
     assertEquals(200, response.getStatus());
 
-    final String body = response.getContent();
+    final String body = send(response);
 
     assertSubString("child content", body);
   }
 
+  @Test
+  public void pageIsSentInChunks() throws Exception {
+    WikiPageUtil.addPage(root, PathParser.parse("ChildPage"), "child content");
+
+    final MockRequest request = new MockRequest();
+    request.setResource("ChildPage");
+
+    final String sent = send(new WikiPageResponder().makeResponse(context, request));
+
+    assertSubString("Transfer-Encoding: chunked", sent);
+    assertSubString("child content", sent);
+    assertTrue(sent.endsWith("0\r\n\r\n"));
+  }
+
+  @Test
+  public void errorWhileSendingContentIsShownOnPage() throws Exception {
+    WikiPage page = spy(WikiPageUtil.addPage(root, PathParser.parse("BrokenPage"), "broken content"));
+    doThrow(new IllegalStateException("cannot render <page>")).when(page).writeHtml(any(Appendable.class));
+
+    final MockRequest request = new MockRequest();
+    request.setResource("BrokenPage");
+    request.addInput(Request.NOCHUNK, "");
+
+    final Responder responder = new WikiPageResponder() {
+      @Override
+      protected WikiPage loadPage(FitNesseContext context, String pageName, Map<String, String> inputs) {
+        return page;
+      }
+    };
+    final String body = send(responder.makeResponse(context, request));
+
+    assertSubString("<pre class=\"error\">java.lang.IllegalStateException: cannot render &lt;page&gt;", body);
+  }
+
   @Test
   public void testAttributeButtons() throws Exception {
     WikiPageUtil.addPage(root, PathParser.parse("NormalPage"), "");
@@ -88,19 +131,19 @@ public class WikiPageResponderTest {
       noButtonsPage.commit(data);
     }
 
-    SimpleResponse response = requestPage("NormalPage");
-    assertSubString(">Edit</a>", response.getContent());
-    assertSubString(">Search</a>", response.getContent());
-    assertSubString(">Versions</a>", response.getContent());
-    assertNotSubString(">Suite</a>", response.getContent());
-    assertNotSubString(">Test</a>", response.getContent());
-
-    response = requestPage("NoButtonPage");
-    assertNotSubString(">Edit</a>", response.getContent());
-    assertNotSubString(">Search</a>", response.getContent());
-    assertNotSubString(">Versions</a>", response.getContent());
-    assertNotSubString(">Suite</a>", response.getContent());
-    assertNotSubString(">Test</a>", response.getContent());
+    String content = requestPage("NormalPage");
+    assertSubString(">Edit</a>", content);
+    assertSubString(">Search</a>", content);
+    assertSubString(">Versions</a>", content);
+    assertNotSubString(">Suite</a>", content);
+    assertNotSubString(">Test</a>", content);
+
+    content = requestPage("NoButtonPage");
+    assertNotSubString(">Edit</a>", content);
+    assertNotSubString(">Search</a>", content);
+    assertNotSubString(">Versions</a>", content);
+    assertNotSubString(">Suite</a>", content);
+    assertNotSubString(">Test</a>", content);
   }
 
   @Test
@@ -114,8 +157,7 @@ public class WikiPageResponderTest {
     WikiPageUtil.addPage(root, PathParser.parse("SuiteSetUp"), "suite setup");
     WikiPageUtil.addPage(root, PathParser.parse("SuiteTearDown"), "suite teardown");
 
-    SimpleResponse response = requestPage("NormalPage");
-    String content = response.getContent();
+    String content = requestPage("NormalPage");
     assertHasRegexp("header", content);
     assertHasRegexp("normal", content);
     assertHasRegexp("footer", content);
@@ -124,8 +166,7 @@ public class WikiPageResponderTest {
     assertDoesntHaveRegexp("suite setup", content);
     assertDoesntHaveRegexp("suite teardown", content);
 
-    response = requestPage("TestPage");
-    content = response.getContent();
+    content = requestPage("TestPage");
     assertHasRegexp("header", content);
     assertHasRegexp("test page", content);
     assertHasRegexp("footer", content);
@@ -151,8 +192,7 @@ public class WikiPageResponderTest {
     urlInputValues.put("headerParam", "headerValue");
     urlInputValues.put("footerParam", "footerValue");
 
-    SimpleResponse response = requestPage("NormalPage", urlInputValues);
-    String content = response.getContent();
+    String content = requestPage("NormalPage", urlInputValues);
     assertHasRegexp("header headerValue", content);
     assertHasRegexp("normal normalValue", content);
     assertHasRegexp("footer footerValue", content);
@@ -169,8 +209,7 @@ public class WikiPageResponderTest {
     urlInputValues.put("suiteTeardownParam", "suiteTeardownValue");
 
 
-    response = requestPage("TestPage", urlInputValues);
-    content = response.getContent();
+    content = requestPage("TestPage", urlInputValues);
     assertHasRegexp("header headerValue", content);
     assertHasRegexp("test page testPageValue", content);
     assertHasRegexp("footer footerValue", content);
@@ -180,19 +219,26 @@ public class WikiPageResponderTest {
     assertHasRegexp("suite teardown suiteTeardownValue", content);
   }
 
-  private SimpleResponse requestPage(String name) throws Exception {
+  private String requestPage(String name) throws Exception {
       return requestPage(name, new HashMap<String,String>());
   }
 
-  private SimpleResponse requestPage(String name, Map<String, String> inputs) throws Exception {
+  private String requestPage(String name, Map<String, String> inputs) throws Exception {
     final MockRequest request = new MockRequest();
     request.setResource(name);
+    request.addInput(Request.NOCHUNK, "");
 
     for(Map.Entry<String, String> entry : inputs.entrySet()){
         request.addInput(entry.getKey(), entry.getValue());
     }
     final Responder responder = new WikiPageResponder();
-    return (SimpleResponse) responder.makeResponse(context, request);
+    return send(responder.makeResponse(context, request));
+  }
+
+  private String send(Response response) throws Exception {
+    MockResponseSender sender = new MockResponseSender();
+    sender.doSending(response);
+    return sender.sentData();
   }
 
   @Test
@@ -203,7 +249,7 @@ public class WikiPageResponderTest {
     importProperty.addTo(data.getProperties());
     page.commit(data);
 
-    final String content = requestPage("SamplePage").getContent();
+    final String content = requestPage("SamplePage");
 
     assertSubString("<body class=\"imported\">", content);
   }
@@ -217,7 +263,7 @@ public class WikiPageResponderTest {
     importProperty.addTo(data.getProperties());
     page.commit(data);
 
-    final String content = requestPage("SamplePage").getContent();
+    final String content = requestPage("SamplePage");
 
     assertNotSubString("<body class=\"imported\">", content);
   }
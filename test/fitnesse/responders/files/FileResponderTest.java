@@ -61,6 +61,53 @@ public class FileResponderTest {
     assertSubString("file1 content", sender.sentData());
   }
 
+  @Test
+  public void testFileContentRange() throws Exception {
+    request.setResource("files/testFile1");
+    request.addHeader("Range", "bytes=6-12");
+    response = responder.makeResponse(context, request);
+    assertEquals(206, response.getStatus());
+    assertEquals("bytes", response.getHeader("Accept-Ranges"));
+    assertEquals("bytes 6-12/13", response.getHeader("Content-Range"));
+    MockResponseSender sender = new MockResponseSender();
+    sender.doSending(response);
+    assertSubString("Content-Length: 7", sender.sentData());
+    assertTrue(sender.sentData().endsWith("\r\ncontent"));
+  }
+
+  @Test
+  public void testRangeIsIgnoredWhenIfRangeDoesNotMatch() throws Exception {
+    Locale.setDefault(Locale.US);
+    request.setResource("files/testFile1");
+    request.addHeader("Range", "bytes=6-12");
+    request.addHeader("If-Range", "Tue, 01 Apr 2003 22:18:49 GMT");
+    response = responder.makeResponse(context, request);
+    assertEquals(200, response.getStatus());
+    assertNull(response.getHeader("Content-Range"));
+  }
+
+  @Test
+  public void testRangeIsHonouredWhenIfRangeMatches() throws Exception {
+    Locale.setDefault(Locale.US);
+    request.setResource("files/testFile1");
+    response = responder.makeResponse(context, request);
+    String lastModified = response.getHeader("Last-Modified");
+
+    request.addHeader("Range", "bytes=6-");
+    request.addHeader("If-Range", lastModified);
+    response = responder.makeResponse(context, request);
+    assertEquals(206, response.getStatus());
+  }
+
+  @Test
+  public void testUnsatisfiableRange() throws Exception {
+    request.setResource("files/testFile1");
+    request.addHeader("Range", "bytes=100-");
+    response = responder.makeResponse(context, request);
+    assertEquals(416, response.getStatus());
+    assertEquals("bytes */13", response.getHeader("Content-Range"));
+  }
+
   @Test
   public void testClasspathResourceContent() throws Exception {
     request.setResource("files/fitnesse/testresource.txt");
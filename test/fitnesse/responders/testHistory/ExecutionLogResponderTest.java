@@ -5,6 +5,8 @@ import java.io.IOException;
 
 import fitnesse.FitNesseContext;
 import fitnesse.http.MockRequest;
+import fitnesse.http.MockResponseSender;
+import fitnesse.http.Response;
 import fitnesse.http.SimpleResponse;
 import fitnesse.testutil.FitNesseUtil;
 import org.junit.After;
@@ -13,6 +15,7 @@ import org.junit.Test;
 import util.FileUtil;
 
 import static org.hamcrest.CoreMatchers.containsString;
+import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertThat;
 
 public class ExecutionLogResponderTest {
@@ -52,6 +55,59 @@ public class ExecutionLogResponderTest {
     return testResultFile;
   }
 
+  private void addTestResultWithLogFile(File pageDirectory, String logFileName) throws IOException {
+    File testResultFile = new File(pageDirectory, "20090418123103_1_2_3_4.xml");
+    FileUtil.createFile(testResultFile, "<?xml version=\"1.0\"?>\n" +
+            "<testResults><executionLog><command>java</command><stdOut>head</stdOut>" +
+            "<stdOutFile>" + logFileName + "</stdOutFile></executionLog></testResults>");
+  }
+
+  private Response requestOutput(String log, String output) throws Exception {
+    ExecutionLogResponder responder = new ExecutionLogResponder();
+    responder.setResultsDirectory(resultsDirectory);
+    MockRequest request = new MockRequest();
+    request.setResource("TestPage");
+    request.addInput("log", log);
+    request.addInput("output", output);
+    return responder.makeResponse(context, request);
+  }
+
+  @Test
+  public void servesCompleteOutputFromLogFileNextToResult() throws Exception {
+    File pageDirectory = addPageDirectory("TestPage");
+    addTestResultWithLogFile(pageDirectory, "20090418123103_stdout_1.log");
+    FileUtil.createFile(new File(pageDirectory, "20090418123103_stdout_1.log"), "complete output\n");
+
+    Response response = requestOutput("0", "stdOut");
+    MockResponseSender sender = new MockResponseSender();
+    sender.doSending(response);
+
+    assertEquals(200, response.getStatus());
+    assertThat(sender.sentData(), containsString("complete output"));
+  }
+
+  @Test
+  public void rejectsInvalidRequestsForCompleteOutput() throws Exception {
+    File pageDirectory = addPageDirectory("TestPage");
+    addTestResultWithLogFile(pageDirectory, "20090418123103_stdout_1.log");
+    FileUtil.createFile(new File(pageDirectory, "20090418123103_stdout_1.log"), "complete output\n");
+
+    assertEquals(400, requestOutput("first", "stdOut").getStatus());
+    assertEquals(400, requestOutput("0", "other").getStatus());
+    assertEquals(404, requestOutput("1", "stdOut").getStatus());
+    assertEquals(404, requestOutput("-1", "stdOut").getStatus());
+    assertEquals(404, requestOutput("0", "stdErr").getStatus());
+  }
+
+  @Test
+  public void doesNotServeFilesOutsideResultDirectory() throws Exception {
+    File pageDirectory = addPageDirectory("TestPage");
+    addTestResultWithLogFile(pageDirectory, "../secret.log");
+    FileUtil.createFile(new File(resultsDirectory, "secret.log"), "secret\n");
+
+    assertEquals(404, requestOutput("0", "stdOut").getStatus());
+  }
+
   @Test
   public void provideMessageInAbsenceOfLogs() throws Exception {
     File pageDirectory = addPageDirectory("TestPage");
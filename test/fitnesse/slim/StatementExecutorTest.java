@@ -1,6 +1,11 @@
 package fitnesse.slim;
 
 import org.junit.Before;
+import org.junit.Test;
+
+import fitnesse.slim.fixtureInteraction.SimpleInteraction;
+
+import static org.junit.Assert.assertTrue;
 
 public class StatementExecutorTest extends StatementExecutorTestBase {
 
@@ -136,6 +141,35 @@ public class StatementExecutorTest extends StatementExecutorTestBase {
     statementExecutor = new StatementExecutor();
   }
 
+  @Test
+  public void shouldPreferLibraryCreatedAfterAnEarlierCall() throws Exception {
+    createSimpleFixture();
+    EchoSupport echoLibrary1 = createEchoLibrary();
+    statementExecutor.call(INSTANCE_NAME, "speak");
+    assertTrue(echoLibrary1.speakCalled());
+
+    EchoSupport echoLibrary2 = createEchoLibrary();
+    FileSupport fileLibrary = createFileSupportLibrary();
+    statementExecutor.call(INSTANCE_NAME, "speak");
+    statementExecutor.call(INSTANCE_NAME, "delete", "filename.txt");
+    assertTrue(echoLibrary2.speakCalled());
+    assertTrue(fileLibrary.deleteCalled());
+  }
+
+  @Test
+  public void shouldLetCustomInteractionFindLibraryMethods() throws Exception {
+    statementExecutor = new StatementExecutor(new SlimExecutionContext(new SimpleInteraction() {
+      @Override
+      public MethodExecutionResult findAndInvoke(String methodName, Object instance, Object... args) throws Throwable {
+        return super.findAndInvoke("talk".equals(methodName) ? "speak" : methodName, instance, args);
+      }
+    }));
+    createSimpleFixture();
+    EchoSupport echoLibrary = createEchoLibrary();
+    statementExecutor.call(INSTANCE_NAME, "talk");
+    assertTrue(echoLibrary.speakCalled());
+  }
+
   @Override
   protected String annotatedFixtureName() {
     return MyAnnotatedSystemUnderTestFixtureJava.class.getName();
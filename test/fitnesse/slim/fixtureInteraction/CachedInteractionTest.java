@@ -2,7 +2,9 @@ package fitnesse.slim.fixtureInteraction;
 
 import java.lang.reflect.Constructor;
 import java.lang.reflect.Method;
+import java.util.ArrayList;
 import java.util.Collections;
+import java.util.List;
 
 import fitnesse.slim.test.TableTableIncFirstCol;
 import fitnesse.testsystems.slim.SlimTestContext;
@@ -53,6 +55,29 @@ public class CachedInteractionTest {
     verify(interaction, times(1)).handleClassCacheMiss(className);
   }
 
+  @Test
+  public void resolvesClassInPathsOnce() {
+    List<String> paths = new ArrayList<>(Collections.singletonList("fitnesse.slim.fixtureInteraction"));
+
+    assertEquals(CachedInteractionTest.class, interaction.searchPathsForClass(paths, "cachedInteractionTest"));
+    assertNull(interaction.resolveClass(paths, "IDontExist"));
+    clearInvocations(interaction);
+
+    assertEquals(CachedInteractionTest.class, interaction.searchPathsForClass(paths, "cachedInteractionTest"));
+    assertNull(interaction.resolveClass(paths, "IDontExist"));
+    verify(interaction, never()).getClass(anyString());
+  }
+
+  @Test
+  public void resolvesClassAgainWhenPathIsAdded() {
+    List<String> paths = new ArrayList<>(Collections.singletonList("fitnesse.slim"));
+    assertNull(interaction.resolveClass(paths, "CachedInteractionTest"));
+
+    paths.add(0, "fitnesse.slim.fixtureInteraction");
+
+    assertEquals(CachedInteractionTest.class, interaction.resolveClass(paths, "CachedInteractionTest"));
+  }
+
   @Test
   public void canFindConstructor() throws NoSuchMethodException {
     Class<? extends CachedInteractionTest> myClass = this.getClass();
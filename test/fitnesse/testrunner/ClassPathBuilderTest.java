@@ -9,12 +9,14 @@ import org.junit.Before;
 import org.junit.Test;
 import util.FileUtil;
 
+import java.io.File;
 import java.io.IOException;
 import java.util.List;
 
 import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertTrue;
 import static util.RegexTestCase.assertHasRegexp;
+import static util.RegexTestCase.assertNotSubString;
 import static util.RegexTestCase.assertSubString;
 
 public class ClassPathBuilderTest {
@@ -122,6 +124,28 @@ public class ClassPathBuilderTest {
     }
   }
 
+  @Test
+  public void cachedWildCardExpansionIsReusedUntilDirectoryIsModified() throws Exception {
+    try {
+      makeSampleFiles();
+      builder = new ClassPathBuilder(new ClassPathCache());
+      File subdir = new File(TEST_DIR, "subdir");
+      long modified = subdir.lastModified();
+
+      String classPath = makeClassPathFromSimpleStructure("testDir/**.jar");
+      assertNotSubString("sub3.jar", classPath);
+
+      FileUtil.createFile(TEST_DIR + "/subdir/sub3.jar", "");
+      subdir.setLastModified(modified);
+      assertEquals(classPath, makeClassPathFromSimpleStructure("testDir/**.jar"));
+
+      subdir.setLastModified(modified + 2000);
+      assertHasRegexp("subdir(?:\\\\|/)sub3\\.jar", makeClassPathFromSimpleStructure("testDir/**.jar"));
+    }
+    finally {
+      deleteSampleFiles();
+    }
+  }
 
   @Test
   public void testClasspath() throws Exception {
@@ -135,4 +135,44 @@ public class SuiteContentsFinderTest {
 
     assertEquals(1, testPages.size());
   }
+
+  @Test
+  public void shouldListSortedTestPagesBeforeXRefsOfPrunedPages() throws Exception {
+    WikiPage subSuite = WikiPageUtil.addPage(suite, PathParser.parse("SubSuite"), "!see .PageB");
+    WikiPage testThree = addTestPage(subSuite, "TestThree", "!see .PageA");
+    WikiPage testTwo = addTestPage(suite, "TestTwo", "test two");
+    PageData data = subSuite.getData();
+    data.setAttribute(PageData.PropertyPRUNE);
+    subSuite.commit(data);
+    WikiPage pageA = WikiPageUtil.addPage(root, PathParser.parse("PageA"), "");
+    WikiPage pageB = WikiPageUtil.addPage(root, PathParser.parse("PageB"), "");
+
+    SuiteContentsFinder finder = new SuiteContentsFinder(suite, null, root);
+    List<WikiPage> testPages = finder.getAllPagesToRunForThisSuite();
+
+    assertEquals(4, testPages.size());
+    assertEquals(testPage, testPages.get(0));
+    assertEquals(testTwo, testPages.get(1));
+    assertEquals(pageB, testPages.get(2));
+    assertEquals(pageA, testPages.get(3));
+    assertTrue(!testPages.contains(testThree));
+  }
+
+  @Test
+  public void shouldFindXRefsOfSiblingsUsingVariablesOfTheirParent() throws Exception {
+    WikiPage subSuite = WikiPageUtil.addPage(suite, PathParser.parse("SubSuite"), "!define SUBJECT {page A}\n");
+    for (int i = 0; i < 20; i++)
+      WikiPageUtil.addPage(subSuite, PathParser.parse("SeeAlso" + i), "About ${SUBJECT}\n!see .PageA\n!see .PageB");
+    WikiPage pageA = WikiPageUtil.addPage(root, PathParser.parse("PageA"), "");
+    WikiPage pageB = WikiPageUtil.addPage(root, PathParser.parse("PageB"), "");
+
+    SuiteContentsFinder finder = new SuiteContentsFinder(suite, null, root);
+    List<WikiPage> xrefTestPages = finder.gatherCrossReferencedTestPages();
+
+    assertEquals(40, xrefTestPages.size());
+    for (int i = 0; i < 40; i += 2) {
+      assertEquals(pageA, xrefTestPages.get(i));
+      assertEquals(pageB, xrefTestPages.get(i + 1));
+    }
+  }
 }
@@ -205,4 +205,17 @@ public class WikiTestPageTest {
     assertEquals(expected, new WikiTestPage(page).getClassPath().toString());
   }
 
+
+  @Test
+  public void preparedHtmlIsUsedOnce() throws Exception {
+    WikiTestPage testPage = new WikiTestPage(wikiPage);
+    testPage.prepare();
+    PageData data = wikiPage.getData();
+    data.setContent("changed content");
+    wikiPage.commit(data);
+
+    assertSubString("the content", testPage.getHtml());
+    testPage.prepare();
+    assertSubString("changed content", testPage.getHtml());
+  }
 }
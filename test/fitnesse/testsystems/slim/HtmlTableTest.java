@@ -136,6 +136,28 @@ public class HtmlTableTest {
     assertThat(cell.formatTestResult(), is("<span class=\"ignore\">a message</span>"));
   }
 
+  @Test
+  public void compiledTemplateGivesSameTableAsTemplate() throws Exception {
+    HtmlTable table = new HtmlTableScanner("<table><tr><td>scenario</td><td>say @x</td></tr>"
+      + "<tr><td><b>@{x}</b> and @y</td><td class=\"plain\">text</td></tr></table>").getTable(0);
+    Table.CellContentSubstitution substitution = content ->
+      content.replace("@{x}", "one").replace("@x", "one").replace("@y", "two");
+
+    String expected = table.asTemplate(substitution).toHtml();
+
+    assertThat(table.asCompiledTemplate(substitution).toHtml(), is(expected));
+    assertThat(table.asCompiledTemplate(substitution).toHtml(), is(expected));
+  }
+
+  @Test
+  public void placeholderInMarkupIsNotCompiled() throws Exception {
+    HtmlTable table = new HtmlTableScanner("<table><tr><td class=\"@x\">@x</td></tr></table>").getTable(0);
+
+    assertThat(table.asCompiledTemplate(content -> content.replace("@x", "one")).toHtml(),
+      is(table.asTemplate(content -> content.replace("@x", "one")).toHtml()));
+    assertTrue(table.asCompiledTemplate(content -> content.replace("@x", "one")).toHtml().contains("class=\"one\""));
+  }
+
   private HtmlTable getDummyTable() {
     TableTag tbl = new TableTag();
     TableRow row = new TableRow();
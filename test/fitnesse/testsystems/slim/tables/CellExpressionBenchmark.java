@@ -0,0 +1,74 @@
+package fitnesse.testsystems.slim.tables;
+
+import fitnesse.testrunner.WikiTestPage;
+import fitnesse.testsystems.ExecutionResult;
+import fitnesse.testsystems.slim.CustomComparatorRegistry;
+import fitnesse.testsystems.slim.GlobComparator;
+import fitnesse.testsystems.slim.HtmlTableScanner;
+import fitnesse.testsystems.slim.SlimTestContextImpl;
+import fitnesse.testsystems.slim.Table;
+import fitnesse.testsystems.slim.results.SlimTestResult;
+import fitnesse.wiki.WikiPageDummy;
+import org.junit.Before;
+import org.junit.Ignore;
+import org.junit.Test;
+
+import static org.junit.Assert.assertEquals;
+
+/**
+ * Evaluates one expected cell of each kind many times, as a large decision table would.
+ */
+@Ignore("Don't run unless you have some time to kill.")
+public class CellExpressionBenchmark {
+  private static final int ROWS = 100_000;
+
+  private SlimTable slimTable;
+
+  @Before
+  public void setUp() throws Exception {
+    Table table = new HtmlTableScanner("<table><tr><td>x</td></tr></table>").getTable(0);
+    slimTable = new DecisionTable(table, "id", new SlimTestContextImpl(new WikiTestPage(new WikiPageDummy())));
+    CustomComparatorRegistry registry = new CustomComparatorRegistry();
+    registry.addCustomComparator("glob", new GlobComparator());
+    slimTable.setCustomComparatorRegistry(registry);
+  }
+
+  @Test
+  public void timeLiteral() {
+    measure("literal", "expected value", "actual value", ExecutionResult.FAIL);
+  }
+
+  @Test
+  public void timeComparison() {
+    measure("comparison", " < 1000", "12.5", ExecutionResult.PASS);
+  }
+
+  @Test
+  public void timeRange() {
+    measure("range", "10 < _ <= 20", "15", ExecutionResult.PASS);
+  }
+
+  @Test
+  public void timeRegularExpression() {
+    measure("regex", "=~/\\d+ items?/", "there are 12 items", ExecutionResult.PASS);
+  }
+
+  @Test
+  public void timeGlob() {
+    measure("glob", "glob:there are * items", "there are 12 items", ExecutionResult.PASS);
+  }
+
+  private void measure(String name, String expected, String actual, ExecutionResult outcome) {
+    SlimTable.RowExpectation expectation = slimTable.new ReturnedValueExpectation(0, 0, expected);
+    long best = Long.MAX_VALUE;
+    for (int round = 0; round < 5; round++) {
+      long start = System.nanoTime();
+      for (int i = 0; i < ROWS; i++) {
+        SlimTestResult result = expectation.evaluationMessage(actual, expected);
+        assertEquals(outcome, result.getExecutionResult());
+      }
+      best = Math.min(best, System.nanoTime() - start);
+    }
+    System.out.printf("%s: %d ns per cell%n", name, best / ROWS);
+  }
+}
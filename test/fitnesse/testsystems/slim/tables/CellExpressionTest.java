@@ -0,0 +1,69 @@
+package fitnesse.testsystems.slim.tables;
+
+import org.junit.Test;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+public class CellExpressionTest {
+
+  @Test
+  public void classifiesLiterals() {
+    assertEquals(CellExpression.Kind.LITERAL, CellExpression.compile("hello").getKind());
+    assertEquals(CellExpression.Kind.LITERAL, CellExpression.compile("< five").getKind());
+  }
+
+  @Test
+  public void classifiesRegularExpressions() {
+    CellExpression expression = CellExpression.compile("=~/a.c/");
+    assertEquals(CellExpression.Kind.REGEX, expression.getKind());
+    assertEquals("a.c", expression.getArgument());
+    assertTrue(expression.getPattern().matcher("xabcx").find());
+    assertSame(expression.getPattern(), expression.getPattern());
+  }
+
+  @Test
+  public void classifiesCustomComparators() {
+    CellExpression expression = CellExpression.compile("glob:a*");
+    assertEquals(CellExpression.Kind.CUSTOM, expression.getKind());
+    assertEquals("glob", expression.getPrefix());
+    assertEquals("a*", expression.getArgument());
+  }
+
+  @Test
+  public void classifiesComparisons() {
+    CellExpression expression = CellExpression.compile(" _ <= 5");
+    assertEquals(CellExpression.Kind.COMPARISON, expression.getKind());
+    assertTrue(expression.compare(5, "5"));
+    assertFalse(expression.compare(6, "6"));
+
+    assertTrue(CellExpression.compile("!<3").compare(3, "3"));
+    assertTrue(CellExpression.compile("~=3.1").compare(3.14, "3.14"));
+    assertFalse(CellExpression.compile("!~=3.1").compare(3.14, "3.14"));
+  }
+
+  @Test
+  public void classifiesRanges() {
+    CellExpression expression = CellExpression.compile("3 < _ <= 7");
+    assertEquals(CellExpression.Kind.RANGE, expression.getKind());
+    assertFalse(expression.inRange(3));
+    assertTrue(expression.inRange(7));
+    assertNull(expression.getArgument());
+  }
+
+  @Test
+  public void sameExpressionIsSharedFromCache() {
+    assertSame(CellExpression.compile("=~/shared/"), CellExpression.compile("=~/shared/"));
+  }
+
+  @Test
+  public void literalsAreNotCached() {
+    assertNotSame(CellExpression.compile("plain text"), CellExpression.compile("plain text"));
+    assertEquals(CellExpression.Kind.LITERAL, CellExpression.compile("a = b").getKind());
+    assertNotSame(CellExpression.compile("a = b"), CellExpression.compile("a = b"));
+  }
+}
@@ -203,4 +203,41 @@ public class ScenarioTableTest {
         assertTrue(inputs.contains("name"));
         assertFalse(st.isParameterized());
     }
+
+    @Test
+    public void invocationPrefixIsLiteralTextBeforeFirstArgument() throws Exception {
+        makeScenarioTable("|scenario|login user _ password _|name,password|\n");
+        assertEquals("login user ", st.getInvocationPrefix());
+
+        makeScenarioTable("|scenario|myScenario|input|\n");
+        assertEquals("myScenario ", st.getInvocationPrefix());
+
+        makeScenarioTable("|scenario|myScenario|\n");
+        assertNull(st.getInvocationPrefix());
+    }
+
+    @Test
+    public void scenarioByPatternPrefersMostArguments() throws Exception {
+        SlimTestContextImpl testContext = new SlimTestContextImpl(new WikiTestPage(root));
+        ScenarioTable login = addScenario(testContext, "|scenario|login user _|name|\n");
+        ScenarioTable loginWithPassword = addScenario(testContext, "|scenario|login user _ password _|name,password|\n");
+        ScenarioTable anything = addScenario(testContext, "|scenario|_ and _|first,second|\n");
+        addScenario(testContext, "|scenario|logout user _|name|\n");
+
+        assertSame(loginWithPassword, testContext.getScenarioByPattern("login user Bob password xyzzy"));
+        assertSame(login, testContext.getScenarioByPattern("login user Bob"));
+        assertSame(anything, testContext.getScenarioByPattern("login user Bob and Alice"));
+        assertNull(testContext.getScenarioByPattern("register user Bob"));
+
+        ScenarioTable register = addScenario(testContext, "|scenario|register user _|name|\n");
+        assertSame(register, testContext.getScenarioByPattern("register user Bob"));
+    }
+
+    private ScenarioTable addScenario(SlimTestContextImpl testContext, String pageContents) throws Exception {
+        WikiPageUtil.setPageContents(root, pageContents);
+        Table t = new HtmlTableScanner(root.getHtml()).getTable(0);
+        ScenarioTable scenario = new ScenarioTable(t, "id", testContext);
+        scenario.getAssertions();
+        return scenario;
+    }
 }
@@ -63,4 +63,21 @@ public class ReplacingFileUpdateTest extends UpdateTestCase {
 
     assertEquals("hello", FileUtil.getFileContent(destFile));
   }
+
+  @Test
+  public void testFileDiffersWithSameLengthAndBytes() throws Exception {
+    FileOutputStream output = new FileOutputStream(sourceFile);
+    output.write("hello".getBytes());
+    output.close();
+    update.doUpdate();
+
+    output = new FileOutputStream(sourceFile);
+    output.write("olleh".getBytes());
+    output.close();
+
+    assertTrue(update.shouldBeApplied());
+    update.doUpdate();
+
+    assertEquals("olleh", FileUtil.getFileContent(destFile));
+  }
 }
@@ -0,0 +1,35 @@
+package fitnesse.util;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.Test;
+
+import static org.junit.Assert.assertEquals;
+
+public class BoundedCacheTest {
+
+  @Test
+  public void loadsEachKeyOnce() {
+    AtomicInteger loads = new AtomicInteger();
+    BoundedCache<String, String> cache = new BoundedCache<>(10, key -> key + loads.incrementAndGet());
+
+    assertEquals("a1", cache.get("a"));
+    assertEquals("a1", cache.get("a"));
+    assertEquals(1, loads.get());
+  }
+
+  @Test
+  public void dropsLeastRecentlyUsedEntry() {
+    AtomicInteger loads = new AtomicInteger();
+    BoundedCache<String, String> cache = new BoundedCache<>(2, key -> key + loads.incrementAndGet());
+
+    cache.get("a");
+    cache.get("b");
+    cache.get("a");
+    cache.get("c");
+
+    assertEquals(2, cache.size());
+    assertEquals("a1", cache.get("a"));
+    assertEquals("b4", cache.get("b"));
+  }
+}
@@ -0,0 +1,74 @@
+package fitnesse.wiki;
+
+import org.junit.Before;
+import org.junit.Ignore;
+import org.junit.Test;
+
+import fitnesse.wiki.fs.InMemoryPage;
+
+import static org.junit.Assert.assertEquals;
+
+/**
+ * Variable lookups as done when starting a suite (TEST_SYSTEM, COMMAND_PATTERN, ... per test page)
+ * and when rendering pages, with page objects created anew for every lookup.
+ */
+@Ignore("Don't run unless you have some time to kill.")
+public class DefinedVariablesBenchmark {
+  private static final int DEPTH = 6;
+  private static final int PAGES = 500;
+  private static final String[] VARIABLES = {"TEST_SYSTEM", "COMMAND_PATTERN", "SLIM_PORT", "MANUALLY_START_TEST_RUNNER_ON_DEBUG", "UNDEFINED"};
+
+  private WikiPage root;
+  private String suitePath;
+
+  @Before
+  public void setUp() {
+    root = InMemoryPage.makeRoot("RooT");
+    StringBuilder path = new StringBuilder();
+    for (int level = 0; level < DEPTH; level++) {
+      path.append(level == 0 ? "" : ".").append("LevelPage").append(level);
+      StringBuilder content = new StringBuilder();
+      for (int i = 0; i < 50; i++)
+        content.append("!define VAR_").append(level).append('_').append(i).append(" {value ").append(i).append("}\n");
+      content.append("!define TEST_SYSTEM {slim}\n");
+      for (int i = 0; i < 100; i++)
+        content.append("|table|row ").append(i).append("|''italic''|[[link][SomePage]]|\n");
+      WikiPageUtil.addPage(root, PathParser.parse(path.toString()), content.toString());
+    }
+    suitePath = path.toString();
+    for (int i = 0; i < PAGES; i++)
+      WikiPageUtil.addPage(root, PathParser.parse(suitePath + ".TestPage" + i), "|script|\n|check|x|1|\n");
+  }
+
+  @Test
+  public void timeSuiteStartUp() {
+    long best = Long.MAX_VALUE;
+    for (int round = 0; round < 5; round++) {
+      long start = System.nanoTime();
+      for (int i = 0; i < PAGES; i++) {
+        for (String variable : VARIABLES) {
+          WikiPage page = root.getPageCrawler().getPage(PathParser.parse(suitePath + ".TestPage" + i));
+          page.getVariable(variable);
+        }
+      }
+      best = Math.min(best, System.nanoTime() - start);
+    }
+    assertEquals("slim", root.getPageCrawler().getPage(PathParser.parse(suitePath + ".TestPage0")).getVariable("TEST_SYSTEM"));
+    System.out.printf("suite start up: %.1f ms for %d pages%n", best / 1e6, PAGES);
+  }
+
+  @Test
+  public void timePageRendering() {
+    WikiPageUtil.addPage(root, PathParser.parse(suitePath + ".RenderPage"), "${VAR_0_1} ${VAR_3_7} ${UNDEFINED}\n");
+    long best = Long.MAX_VALUE;
+    for (int round = 0; round < 5; round++) {
+      long start = System.nanoTime();
+      for (int i = 0; i < 100; i++) {
+        WikiPage page = root.getPageCrawler().getPage(PathParser.parse(suitePath + ".RenderPage"));
+        page.getHtml();
+      }
+      best = Math.min(best, System.nanoTime() - start);
+    }
+    System.out.printf("page rendering: %.2f ms per page%n", best / 1e6 / 100);
+  }
+}
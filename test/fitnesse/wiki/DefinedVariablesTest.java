@@ -0,0 +1,89 @@
+package fitnesse.wiki;
+
+import java.util.Map;
+
+import org.junit.Before;
+import org.junit.Test;
+
+import fitnesse.wiki.fs.InMemoryPage;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertSame;
+
+public class DefinedVariablesTest {
+  private WikiPage root;
+
+  @Before
+  public void setUp() {
+    root = InMemoryPage.makeRoot("RooT");
+    WikiPageUtil.addPage(root, PathParser.parse("ParentPage"), "!define X {parent}\n");
+    WikiPageUtil.addPage(root, PathParser.parse("ParentPage.ChildPage"), "!define Y {child}\n");
+  }
+
+  @Test
+  public void definitionsAreSharedBetweenPageInstances() {
+    Map<String, String> first = DefinedVariables.of(getPage("ParentPage"));
+    Map<String, String> second = DefinedVariables.of(getPage("ParentPage"));
+
+    assertEquals("parent", first.get("X"));
+    assertSame(first, second);
+  }
+
+  @Test
+  public void commitInvalidatesDefinitions() {
+    Map<String, String> before = DefinedVariables.of(getPage("ParentPage"));
+
+    BaseWikitextPage parent = getPage("ParentPage");
+    PageData data = parent.getData();
+    data.setContent("!define X {changed}\n");
+    parent.commit(data);
+
+    Map<String, String> after = DefinedVariables.of(getPage("ParentPage"));
+    assertNotSame(before, after);
+    assertEquals("changed", after.get("X"));
+    assertEquals("changed", getPage("ParentPage.ChildPage").getVariable("X"));
+  }
+
+  @Test
+  public void definitionsOfIncludedPagesAreNotCached() {
+    WikiPageUtil.addPage(root, PathParser.parse("IncludedPage"), "!define Z {old}\n");
+    WikiPageUtil.addPage(root, PathParser.parse("IncludingPage"), "!include -seamless .IncludedPage\n");
+    WikiPageUtil.addPage(root, PathParser.parse("IncludingPage.ChildPage"), "child\n");
+    assertEquals("old", getPage("IncludingPage.ChildPage").getVariable("Z"));
+
+    BaseWikitextPage included = getPage("IncludedPage");
+    PageData data = included.getData();
+    data.setContent("!define Z {new}\n");
+    included.commit(data);
+
+    assertEquals("new", getPage("IncludingPage.ChildPage").getVariable("Z"));
+    assertNotSame(DefinedVariables.of(getPage("IncludingPage")), DefinedVariables.of(getPage("IncludingPage")));
+  }
+
+  @Test
+  public void copiedVariablesFollowTheirAncestor() {
+    WikiPageUtil.addPage(root, PathParser.parse("ParentPage.CopyingPage"), "!define COPY X\n");
+    assertEquals("parent", getPage("ParentPage.CopyingPage").getVariable("COPY"));
+
+    BaseWikitextPage parent = getPage("ParentPage");
+    PageData data = parent.getData();
+    data.setContent("!define X {changed}\n");
+    parent.commit(data);
+
+    assertEquals("changed", getPage("ParentPage.CopyingPage").getVariable("COPY"));
+    assertNotSame(DefinedVariables.of(getPage("ParentPage.CopyingPage")),
+      DefinedVariables.of(getPage("ParentPage.CopyingPage")));
+  }
+
+  @Test
+  public void childSeesInheritedAndOwnVariables() {
+    BaseWikitextPage child = getPage("ParentPage.ChildPage");
+    assertEquals("parent", child.getVariable("X"));
+    assertEquals("child", child.getVariable("Y"));
+  }
+
+  private BaseWikitextPage getPage(String path) {
+    return (BaseWikitextPage) root.getPageCrawler().getPage(PathParser.parse(path));
+  }
+}
@@ -26,6 +26,7 @@ import fitnesse.wiki.WikiPage;
 import fitnesse.wiki.WikiPagePath;
 import fitnesse.wiki.WikiPageProperty;
 import fitnesse.wiki.WikiPageUtil;
+import util.FileUtil;
 import org.junit.Before;
 import org.junit.Test;
 
@@ -89,6 +90,19 @@ public class FileSystemPageZipFileVersioningTest {
     assertTrue(versionNames.contains(secondVersion));
   }
 
+  @Test
+  public void versionsAreListedWithoutReadingTheZipFiles() throws Exception {
+    File dir = page.getFileSystemPath().getParentFile();
+    File manifest = new File(dir, ZipVersionsManifest.FILE_NAME);
+    assertTrue(manifest.delete());
+    assertTrue(page.getVersions().contains(firstVersion));
+    assertTrue(manifest.exists());
+
+    // not a zip any more, but still listed in the manifest
+    FileUtil.createFile(new File(dir, firstVersion + ".zip"), "not a zip");
+    assertTrue(page.getVersions().contains(firstVersion));
+  }
+
   public DateFormat dateFormat() {
     return WikiImportProperty.getTimeFormat();
   }
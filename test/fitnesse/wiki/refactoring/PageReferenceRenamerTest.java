@@ -12,6 +12,8 @@ import java.util.HashMap;
 import java.util.Map;
 
 import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
 
 public class PageReferenceRenamerTest {
   WikiPage root;
@@ -160,6 +162,16 @@ public class PageReferenceRenamerTest {
     assertEquals("gunk >RenamedPage gunk", updatedSourceContent);
   }
 
+  @Test
+  public void testOnlyPagesMentioningTheSubjectOrInsideItMayChange() {
+    WikiPage pageOne = WikiPageUtil.addPage(subWiki, PathParser.parse("PageOne"), "");
+    renamer = new PageReferenceRenamer(subWiki_pageTwo, "PageThree");
+
+    assertFalse(renamer.mayChangeReferencesIn(pageOne, "gunk PageFive gunk"));
+    assertTrue(renamer.mayChangeReferencesIn(pageOne, "gunk .SubWiki.PageTwo gunk"));
+    assertTrue(renamer.mayChangeReferencesIn(subWiki_pageTwo_pageTwoChild, "gunk <SubWiki gunk"));
+  }
+
   @Test
   public void testImageNotChanged() {
     final String IMAGE_WIDGET = "!img http://PageTwo.jpg";
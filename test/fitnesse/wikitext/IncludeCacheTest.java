@@ -0,0 +1,59 @@
+package fitnesse.wikitext;
+
+import fitnesse.wiki.BaseWikitextPage;
+import fitnesse.wiki.WikiPage;
+import fitnesse.wikitext.parser.TestRoot;
+import org.junit.Before;
+import org.junit.Test;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+public class IncludeCacheTest {
+  private TestRoot root;
+  private IncludeCache cache;
+
+  @Before
+  public void setUp() {
+    root = new TestRoot();
+    root.makePage("SetUp", "!define greeting {hello ${who}}\n|set up|${who}|\n");
+    cache = new IncludeCache();
+  }
+
+  @Test
+  public void reusesTreeInSameScope() {
+    String first = render(root.makePage("TestOne", "!define who {Bob}\n!include -setup .SetUp\n${greeting}"));
+    String second = render(root.makePage("TestTwo", "!define who {Bob}\n!include -setup .SetUp\n${greeting}"));
+
+    assertEquals(1, cache.getMisses());
+    assertEquals(1, cache.getHits());
+    assertEquals(first, second);
+    assertTrue(second, second.contains("hello Bob"));
+  }
+
+  @Test
+  public void parsesAgainWhenVariableDiffers() {
+    render(root.makePage("TestOne", "!define who {Bob}\n!include -setup .SetUp\n${greeting}"));
+    String second = render(root.makePage("TestTwo", "!define who {Alice}\n!include -setup .SetUp\n${greeting}"));
+
+    assertEquals(2, cache.getMisses());
+    assertEquals(0, cache.getHits());
+    assertTrue(second, second.contains("hello Alice"));
+    assertTrue(second, second.contains("Alice</td>"));
+  }
+
+  @Test
+  public void doesNotShareTreesBetweenSuites() {
+    WikiPage suite = root.makePage("SuitePage");
+    render(root.makePage("TestOne", "!define who {Bob}\n!include -setup .SetUp\n"));
+    render(root.makePage(suite, "TestTwo", "!define who {Bob}\n!include -setup .SetUp\n"));
+
+    assertEquals(2, cache.getMisses());
+  }
+
+  private String render(WikiPage page) {
+    ParsingPage parsingPage = BaseWikitextPage.makeParsingPage((BaseWikitextPage) page);
+    parsingPage.setIncludeCache(cache);
+    return MarkUpSystem.make().parse(parsingPage, page.getData().getContent()).translateToHtml();
+  }
+}